@@ -32,12 +32,66 @@ import java.util.concurrent.ExecutionException;
  *
  * The main class of the model should be named "Classifier" and be located on a file named "classifier.py" in the root
  * of the folder that contains the model implementation (passed in {@code modelPath}).
+ * <p>
+ * Each model is imported under its own module names, so that models sharing an interpreter (see
+ * {@link PythonModelConfig.Builder#withSharedInterpreters(com.feedzai.openml.python.jep.instance.SharedInterpreterHost)})
+ * do not get each other's {@code Classifier}: "classifier.py" is imported as {@code <id>_classifier} and the other
+ * modules it imports from its folder are renamed to {@code <id>_module_<name>} once it is loaded. The folder stays
+ * in {@code sys.path} until the model is released, so modules of the folder that are only imported while scoring may
+ * resolve to the folder of another model with modules of the same names.
  *
  * @author Luis Reis (luis.reis@feedzai.com)
  * @since 0.1.0
  */
 public class ClassificationPythonModelLoader extends AbstractClassificationPythonModelLoaderImpl {
 
+    /**
+     * Python code that defines a function that imports the "classifier.py" of a folder under a module name of its own
+     * and returns a new instance of its {@code Classifier}.
+     * <p>
+     * The folder is put first in {@code sys.path} while the module is imported, so that its own modules take
+     * precedence, and then appended to it. The modules imported from the folder are moved to names prefixed by the
+     * id of the model, so that the next model imports its own modules and the release of the model removes them.
+     */
+    private static final String IMPORT_CLASSIFIER_FUNCTION = "exec('''\n"
+            + "def _openml_import_classifier(model_id, directory):\n"
+            + "    import importlib.util, os, sys\n"
+            + "    known = set(sys.modules)\n"
+            + "    name = model_id + '_classifier'\n"
+            + "    spec = importlib.util.spec_from_file_location(name, os.path.join(directory, 'classifier.py'))\n"
+            + "    module = importlib.util.module_from_spec(spec)\n"
+            + "    sys.modules[name] = module\n"
+            + "    sys.path.insert(0, directory)\n"
+            + "    try:\n"
+            + "        spec.loader.exec_module(module)\n"
+            + "    finally:\n"
+            + "        sys.path.remove(directory)\n"
+            + "    if directory not in sys.path:\n"
+            + "        sys.path.append(directory)\n"
+            + "    root = os.path.join(os.path.abspath(directory), '')\n"
+            + "    for imported in [imported for imported in sys.modules if imported not in known and imported != name]:\n"
+            + "        path = getattr(sys.modules[imported], '__file__', None)\n"
+            + "        if path and os.path.abspath(path).startswith(root):\n"
+            + "            sys.modules[model_id + '_module_' + imported] = sys.modules.pop(imported)\n"
+            + "    return module.Classifier()\n"
+            + "''')";
+
+    /**
+     * Constructor with the {@link PythonModelConfig#DEFAULT default configuration}.
+     */
+    public ClassificationPythonModelLoader() {
+        super();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param config The configuration of the models loaded by this loader.
+     */
+    public ClassificationPythonModelLoader(final PythonModelConfig config) {
+        super(config);
+    }
+
     @Override
     protected void modelLoadLogic(final JepInstance jepInstance,
                                   final String id,
@@ -46,13 +100,12 @@ public class ClassificationPythonModelLoader extends AbstractClassificationPytho
 
         jepInstance.submitEvaluation((jep) -> {
 
-            // Add the model folder to the python import path
-            jep.eval("import sys");
-            jep.eval(String.format("sys.path.append(\"%s\")", modelPath.toAbsolutePath()));
+            // Remember the model folder, which is added to the python import path, so that it is removed on release
+            jep.eval(String.format("%s_sys_path = \"%s\"", id, modelPath.toAbsolutePath()));
 
             // Import the Classifier custom class and store an instance of it in a variable with the name passed in "id"
-            jep.eval("from classifier import Classifier");
-            jep.eval(String.format("%s = Classifier()", id));
+            jep.eval(IMPORT_CLASSIFIER_FUNCTION);
+            jep.eval(String.format("%s = _openml_import_classifier('%s', %s_sys_path)", id, id, id));
 
             return null;
         }).get();
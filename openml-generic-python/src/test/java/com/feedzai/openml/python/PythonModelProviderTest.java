@@ -21,19 +21,27 @@ import com.feedzai.openml.data.schema.DatasetSchema;
 import com.feedzai.openml.mocks.MockDataset;
 import com.feedzai.openml.model.ClassificationMLModel;
 import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.python.jep.instance.SharedInterpreterHost;
 import com.feedzai.openml.util.algorithm.GenericAlgorithm;
 import com.feedzai.openml.util.algorithm.MLAlgorithmEnum;
 import com.feedzai.openml.util.provider.AbstractProviderModelLoadTest;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Tests for the {@link PythonModelProvider}.
  *
@@ -183,6 +191,151 @@ public class PythonModelProviderTest extends AbstractProviderModelLoadTest<Class
         loadModel(getValidAlgorithm(), NO_PROBABILITY_IMPLEMENTED_MODEL_FILE, TARGET_VALUES);
     }
 
+    /**
+     * Tests that models loaded in parallel can score instances and report the time spent in each loading phase.
+     *
+     * @throws Exception If the models cannot be loaded.
+     */
+    @Test
+    public void canLoadModelsInParallel() throws Exception {
+        final Path firstModel = Paths.get(getClass().getResource("/" + FIRST_MODEL_FILE).toURI());
+        final Path secondModel = Paths.get(getClass().getResource("/" + SECOND_MODEL_FILE).toURI());
+
+        final Map<Path, CompletableFuture<ClassificationPythonModel>> models = getFirstMachineLearningModelLoader()
+                .loadModelsAsync(ImmutableMap.of(firstModel, TEST_SCHEMA, secondModel, TEST_SCHEMA), 2);
+
+        assertThat(models).containsOnlyKeys(firstModel, secondModel);
+        for (final CompletableFuture<ClassificationPythonModel> future : models.values()) {
+            final ClassificationPythonModel model = future.get();
+            try {
+                assertThat(model.getClassDistribution(getDummyInstance()))
+                        .as("The class distribution of a model loaded in parallel")
+                        .hasSize(TARGET_VALUES.size());
+                assertThat(model.getLoadTimings())
+                        .as("The time spent loading the model")
+                        .isPresent();
+            } finally {
+                model.close();
+            }
+        }
+    }
+
+    /**
+     * Tests that a swappable model keeps scoring while it is replaced by a new version.
+     *
+     * @throws Exception If the models cannot be loaded.
+     */
+    @Test
+    public void canSwapModels() throws Exception {
+        final Path firstModel = Paths.get(getClass().getResource("/" + FIRST_MODEL_FILE).toURI());
+        final Path secondModel = Paths.get(getClass().getResource("/" + SECOND_MODEL_FILE).toURI());
+
+        try (SwappableClassificationModel model = new SwappableClassificationModel(
+                getFirstMachineLearningModelLoader(),
+                firstModel,
+                TEST_SCHEMA
+        )) {
+            final ClassificationPythonModel firstVersion = model.getCurrentModel();
+            final CompletableFuture<double[]> inFlight = model.getClassDistributionAsync(getDummyInstance());
+
+            model.swap(secondModel);
+
+            assertThat(inFlight.get())
+                    .as("The class distribution of a call scored by the replaced version")
+                    .hasSize(TARGET_VALUES.size());
+            assertThat(model.getCurrentModel())
+                    .as("The current version after a swap")
+                    .isNotSameAs(firstVersion);
+            assertThat(model.getClassDistribution(getDummyInstance()))
+                    .as("The class distribution of a call scored by the new version")
+                    .hasSize(TARGET_VALUES.size());
+        }
+    }
+
+    /**
+     * Tests that loading the same model twice through a cache shares the loaded model, which is only closed once it
+     * has no handles and is evicted.
+     *
+     * @throws Exception If the models cannot be loaded.
+     */
+    @Test
+    public void canShareCachedModels() throws Exception {
+        final Path firstModel = Paths.get(getClass().getResource("/" + FIRST_MODEL_FILE).toURI());
+        final Path secondModel = Paths.get(getClass().getResource("/" + SECOND_MODEL_FILE).toURI());
+
+        try (LoadedModelCache cache = new LoadedModelCache(getFirstMachineLearningModelLoader(), 1)) {
+            final LoadedModelCache.Handle first = cache.acquire(firstModel, TEST_SCHEMA);
+            final LoadedModelCache.Handle sameAsFirst = cache.acquire(firstModel, TEST_SCHEMA);
+            final LoadedModelCache.Handle second = cache.acquire(secondModel, TEST_SCHEMA);
+
+            assertThat(sameAsFirst.getModel())
+                    .as("The model of a directory with the same content")
+                    .isSameAs(first.getModel());
+            assertThat(second.getModel())
+                    .as("The model of a directory with another content")
+                    .isNotSameAs(first.getModel());
+
+            first.close();
+            assertThat(sameAsFirst.getClassDistribution(getDummyInstance()))
+                    .as("The class distribution of a model with another open handle")
+                    .hasSize(TARGET_VALUES.size());
+
+            sameAsFirst.close();
+            second.close();
+            assertThat(cache.size())
+                    .as("The number of cached models after the least recently used one without handles is evicted")
+                    .isEqualTo(1);
+        }
+    }
+
+    /**
+     * Tests that two different models loaded into the same shared interpreter each score with their own
+     * {@code Classifier}, and that releasing one of them leaves the other one scoring.
+     *
+     * @throws Exception If the models cannot be loaded.
+     */
+    @Test
+    public void canShareInterpretersBetweenModels() throws Exception {
+        final Path firstModel = Paths.get(getClass().getResource("/" + FIRST_MODEL_FILE).toURI());
+        final Path secondModel = Paths.get(getClass().getResource("/" + SECOND_MODEL_FILE).toURI());
+
+        try (SharedInterpreterHost host = new SharedInterpreterHost(1)) {
+            final ClassificationPythonModelLoader loader = new ClassificationPythonModelLoader(
+                    PythonModelConfig.builder().withSharedInterpreters(host).build()
+            );
+            final ClassificationPythonModel sharedFirst = loader.loadModel(firstModel, TEST_SCHEMA);
+            final ClassificationPythonModel sharedSecond = loader.loadModel(secondModel, TEST_SCHEMA);
+            final ClassificationPythonModel dedicatedFirst = getFirstModel();
+            final ClassificationPythonModel dedicatedSecond = getSecondModel();
+            try {
+                assertThat(host.getHostedModelCounts())
+                        .as("The number of models hosted by the shared interpreter")
+                        .containsExactly(2);
+
+                final Iterator<Instance> instances = TEST_DATA_SET.getInstances();
+                while (instances.hasNext()) {
+                    final Instance instance = instances.next();
+                    assertThat(sharedFirst.classify(instance))
+                            .as("The class given by the first model in a shared interpreter")
+                            .isEqualTo(dedicatedFirst.classify(instance));
+                    assertThat(sharedSecond.classify(instance))
+                            .as("The class given by the second model in a shared interpreter")
+                            .isEqualTo(dedicatedSecond.classify(instance));
+                }
+
+                sharedFirst.close();
+                assertThat(sharedSecond.classify(getDummyInstance()))
+                        .as("The class given by a model after another model in its interpreter was released")
+                        .isEqualTo(dedicatedSecond.classify(getDummyInstance()));
+            } finally {
+                sharedFirst.close();
+                sharedSecond.close();
+                dedicatedFirst.close();
+                dedicatedSecond.close();
+            }
+        }
+    }
+
     @Override
     public ClassificationPythonModel getFirstModel() throws ModelLoadingException {
         return loadModel(getValidAlgorithm(), getValidModelDirName(), TARGET_VALUES);
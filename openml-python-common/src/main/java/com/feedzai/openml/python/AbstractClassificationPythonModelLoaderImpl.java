@@ -21,29 +21,52 @@ import com.feedzai.openml.model.MachineLearningModel;
 import com.feedzai.openml.provider.descriptor.fieldtype.ParamValidationError;
 import com.feedzai.openml.provider.exception.ModelLoadingException;
 import com.feedzai.openml.provider.model.MachineLearningModelLoader;
+import com.feedzai.openml.python.jep.instance.AbstractJepEvaluation;
+import com.feedzai.openml.python.jep.instance.EvaluationDispatcher;
 import com.feedzai.openml.python.jep.instance.JepInstance;
+import com.feedzai.openml.python.jep.instance.JepInstancePool;
+import com.feedzai.openml.python.jep.instance.LinkedQueueDispatcher;
+import com.feedzai.openml.python.jep.instance.RingBufferDispatcher;
+import com.feedzai.openml.python.jep.instance.ThreadBoundJepInstance;
 import com.feedzai.openml.util.load.LoadSchemaUtils;
 import com.feedzai.openml.util.validate.ClassificationValidationUtils;
 import com.feedzai.openml.util.validate.ValidationUtils;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 /**
  * Abstract implementation of a model loader for classification models implemented in Python.
  * Any model loader that loads python models should extend this class.
  * In theory the only thing a python model loader should need to implement is the
- * {@link #getModelImpl(DatasetSchema, JepInstance, String)} method, and even then it can be made very easy if the
+ * {@link #getModelImpl(DatasetSchema, JepInstancePool, String)} method, and even then it can be made very easy if the
  * {@link ClassificationPythonModel} can be reused.
+ * <p>
+ * Each model is loaded into a {@link JepInstancePool pool} of {@link PythonModelConfig#getInterpreterPoolSize()}
+ * Jep instances, so that the model can score concurrent calls in more than one core. With
+ * {@link PythonModelConfig.Builder#withSharedInterpreters(com.feedzai.openml.python.jep.instance.SharedInterpreterHost)
+ * interpreter sharing}, those instances are instead taken from a bounded set that hosts many models.
+ * <p>
+ * The model is deserialized into all the Jep instances of its pool in parallel, and many models can be loaded in
+ * parallel with {@link #loadModelsAsync(Map, int)}, so that loading scales with the number of cores instead of the
+ * number of models and Jep instances.
  *
  * @author Luis Reis (luis.reis@feedzai.com)
  * @since 0.1.0
@@ -55,6 +78,44 @@ public abstract class AbstractClassificationPythonModelLoaderImpl implements Mac
      */
     private static final Logger logger = LoggerFactory.getLogger(AbstractClassificationPythonModelLoaderImpl.class);
 
+    /**
+     * Threads that wait for a model to be deserialized into each of its Jep instances, which runs in the threads of
+     * the Jep instances themselves.
+     */
+    private static final ExecutorService INSTANCE_LOADING_THREADS = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("openml-python-instance-loader-%d").setDaemon(true).build()
+    );
+
+    /**
+     * The configuration of the models loaded by this loader.
+     */
+    private final PythonModelConfig config;
+
+    /**
+     * Constructor with the {@link PythonModelConfig#DEFAULT default configuration}.
+     */
+    protected AbstractClassificationPythonModelLoaderImpl() {
+        this(PythonModelConfig.DEFAULT);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param config The configuration of the models loaded by this loader.
+     */
+    protected AbstractClassificationPythonModelLoaderImpl(final PythonModelConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Gets the configuration of the models loaded by this loader.
+     *
+     * @return The configuration.
+     */
+    public PythonModelConfig getConfig() {
+        return this.config;
+    }
+
     @Override
     public ClassificationPythonModel loadModel(final Path modelPath,
                                                final DatasetSchema schema) throws ModelLoadingException {
@@ -63,13 +124,230 @@ public abstract class AbstractClassificationPythonModelLoaderImpl implements Mac
 
         ClassificationValidationUtils.validateParamsModelToLoad(this, modelPath, schema, ImmutableMap.of());
 
-        final JepInstance jepInstance = new JepInstance();
+        // Since only classification is supported, we need to validate that the target variable is compatible
+        final Optional<ParamValidationError> validationError = ValidationUtils.validateCategoricalSchema(schema);
+
+        Preconditions.checkArgument(!validationError.isPresent(), "Target variable must be categorical: %s", validationError);
+
+        final long startNanos = System.nanoTime();
         final String id = generateNamesafeId();
+        final JepInstancePool jepInstancePool = createJepInstancePool(id);
+        final long deserializeNanos;
+        final long validateNanos;
+        ClassificationPythonModel model = null;
+
+        try {
+            // Start the Jep instance threads, which create their interpreters once running, so wait for each one to
+            // run an evaluation before timing the deserialization
+            jepInstancePool.start();
+            for (final AbstractJepEvaluation<Object> ready : jepInstancePool.submitEvaluationToAll(jep -> null)) {
+                ready.get();
+            }
+            deserializeNanos = System.nanoTime();
+
+            final CompletableFuture<?>[] instanceLoads = jepInstancePool.getInstances().stream()
+                    .map(jepInstance -> CompletableFuture.runAsync(
+                            () -> loadIntoInstance(jepInstance, id, modelPath),
+                            INSTANCE_LOADING_THREADS
+                    ))
+                    .toArray(CompletableFuture<?>[]::new);
+            CompletableFuture.allOf(instanceLoads).get();
+            validateNanos = System.nanoTime();
+
+            // Only the deserialization is replayed into the interpreters of thread-bound instances
+            markThreadBoundInstances(jepInstancePool, ThreadBoundJepInstance::markDeserialized);
+
+            // Creates the model object giving it the jep instances containing the imported model
+            model = getModelImpl(schema, jepInstancePool, id);
+
+            validateLoadedModel(schema, jepInstancePool, id, model);
+
+            if (this.config.isInterpreterSharingEnabled()) {
+                measureSharedModel(jepInstancePool, id, modelPath);
+            }
+
+            postLoadLogic(model, jepInstancePool, id);
+
+        } catch (final InterruptedException | ExecutionException e) {
+            logger.error("Could not load the model [{}].", modelPath, e);
+            closeFailedModel(model, jepInstancePool);
+            if (e.getCause() instanceof ModelLoadingException) {
+                throw (ModelLoadingException) e.getCause();
+            }
+            throw new ModelLoadingException("Error while loading the model.", e);
+        } catch (final ModelLoadingException | RuntimeException e) {
+            logger.error("Could not load the model [{}].", modelPath, e);
+            closeFailedModel(model, jepInstancePool);
+            throw e;
+        }
+
+        // Warms up before the thread-bound instances are marked as loaded, so that the warm-up runs on their dedicated
+        // interpreters instead of binding the loading thread to one of them
+        final long warmUpNanos = System.nanoTime();
+        if (this.config.isWarmUpEnabled()) {
+            warmUp(model, modelPath);
+        }
+
+        // From now on, thread-bound instances run the evaluations on the threads that submit them
+        markThreadBoundInstances(jepInstancePool, ThreadBoundJepInstance::markLoaded);
+
+        final ModelLoadTimings timings = new ModelLoadTimings(
+                Duration.ofNanos(deserializeNanos - startNanos),
+                Duration.ofNanos(validateNanos - deserializeNanos),
+                Duration.ofNanos(warmUpNanos - validateNanos),
+                Duration.ofNanos(System.nanoTime() - warmUpNanos)
+        );
+        model.setLoadTimings(timings);
+
+        logger.info("Model loaded successfully: {}.", timings);
+
+        return model;
+    }
+
+    /**
+     * Measures the memory of a model placed in shared Jep instances. Failures are only logged, since the model can
+     * still be used.
+     *
+     * @param jepInstancePool The {@link JepInstancePool} where the model is loaded.
+     * @param id              Name of the variable on the Jep environment that holds the model.
+     * @param modelPath       The path to the model.
+     */
+    private void measureSharedModel(final JepInstancePool jepInstancePool, final String id, final Path modelPath) {
+        try {
+            this.config.getSharedInterpreterHost().measureModel(id, jepInstancePool);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while measuring the memory of the model [{}].", modelPath);
+        } catch (final ExecutionException e) {
+            logger.warn("Could not measure the memory of the model [{}].", modelPath, e);
+        }
+    }
+
+    /**
+     * Signals a step of the loading of a model to the thread-bound Jep instances of its pool.
+     *
+     * @param jepInstancePool The {@link JepInstancePool} of the model.
+     * @param mark            Signals the step to a thread-bound instance.
+     */
+    private static void markThreadBoundInstances(final JepInstancePool jepInstancePool,
+                                                 final Consumer<ThreadBoundJepInstance> mark) {
+        for (final JepInstance jepInstance : jepInstancePool.getInstances()) {
+            if (jepInstance instanceof ThreadBoundJepInstance) {
+                mark.accept((ThreadBoundJepInstance) jepInstance);
+            }
+        }
+    }
+
+    /**
+     * Releases the resources of a model that failed to load: the model itself if it was already created, which also
+     * stops its Jep instances, or only its Jep instances otherwise.
+     *
+     * @param model           The model, or {@code null} if it was not created yet.
+     * @param jepInstancePool The {@link JepInstancePool} of the model.
+     */
+    private static void closeFailedModel(final ClassificationPythonModel model, final JepInstancePool jepInstancePool) {
+        if (model != null) {
+            model.close();
+        } else {
+            jepInstancePool.stop();
+        }
+    }
+
+    /**
+     * Loads a model without blocking the caller.
+     *
+     * @param modelPath The path to the model.
+     * @param schema    The schema of the model.
+     * @param executor  The executor where the model is loaded.
+     * @return A future completed with the model once it is loaded and validated, or with the
+     * {@link ModelLoadingException} that prevented it from being loaded.
+     * @see #loadModel(Path, DatasetSchema)
+     * @since @@@feedzai.next.release@@@
+     */
+    public CompletableFuture<ClassificationPythonModel> loadModelAsync(final Path modelPath,
+                                                                       final DatasetSchema schema,
+                                                                       final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loadModel(modelPath, schema);
+            } catch (final ModelLoadingException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Loads many models in parallel, without blocking the caller.
+     * <p>
+     * The models are loaded by up to {@code maxConcurrentLoads} threads, which end once every model is loaded.
+     *
+     * @param models             The schema of each model, by the path to the model.
+     * @param maxConcurrentLoads The maximum number of models loaded at the same time.
+     * @return A future for each model, by the path to the model, in the iteration order of {@code models}.
+     * @see #loadModelAsync(Path, DatasetSchema, Executor)
+     * @since @@@feedzai.next.release@@@
+     */
+    public Map<Path, CompletableFuture<ClassificationPythonModel>> loadModelsAsync(final Map<Path, DatasetSchema> models,
+                                                                                  final int maxConcurrentLoads) {
+        Preconditions.checkArgument(maxConcurrentLoads > 0, "The maximum number of concurrent loads must be positive. Got %s", maxConcurrentLoads);
+
+        final ImmutableMap.Builder<Path, CompletableFuture<ClassificationPythonModel>> futures = ImmutableMap.builder();
+        if (models.isEmpty()) {
+            return futures.build();
+        }
 
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(maxConcurrentLoads, models.size()),
+                new ThreadFactoryBuilder().setNameFormat("openml-python-model-loader-%d").setDaemon(true).build()
+        );
         try {
-            // Start the Jep instance thread
-            jepInstance.start();
+            models.forEach((modelPath, schema) -> futures.put(modelPath, loadModelAsync(modelPath, schema, executor)));
+        } finally {
+            // The submitted models are still loaded, the threads end after the last one
+            executor.shutdown();
+        }
 
+        logger.info("Loading {} models with up to {} at the same time.", models.size(), maxConcurrentLoads);
+        return futures.build();
+    }
+
+    /**
+     * Warms up a loaded model and records its latency profile. A model that fails to score the synthetic instances
+     * of the warm-up is still returned, without a latency profile, since real instances may not fail.
+     * <p>
+     * The interpreters that thread-bound instances create on the threads that submit evaluations are not warmed up.
+     *
+     * @param model     The loaded model.
+     * @param modelPath The path to the model.
+     */
+    private void warmUp(final ClassificationPythonModel model, final Path modelPath) {
+        try {
+            final LatencyProfile profile = new ModelWarmUp(
+                    model,
+                    this.config.getWarmUpBatchSizes(),
+                    this.config.getWarmUpMaxRounds()
+            ).run();
+            model.setLatencyProfile(profile);
+            logger.info("Model [{}] warmed up: {}.", modelPath, profile);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while warming up the model [{}].", modelPath);
+        } catch (final ExecutionException | RuntimeException e) {
+            logger.warn("Could not warm up the model [{}].", modelPath, e);
+        }
+    }
+
+    /**
+     * Loads a model into one of the Jep instances of its pool.
+     *
+     * @param jepInstance The Jep instance.
+     * @param id          The name of the variable that will hold the model.
+     * @param modelPath   The path to the model.
+     * @throws CompletionException Wrapping the {@link InterruptedException}, {@link ExecutionException} or
+     *                             {@link ModelLoadingException} thrown while loading the model.
+     */
+    private void loadIntoInstance(final JepInstance jepInstance, final String id, final Path modelPath) {
+        try {
             // Run provider specific model loading logic
             modelLoadLogic(jepInstance, id, modelPath);
 
@@ -78,43 +356,82 @@ public abstract class AbstractClassificationPythonModelLoaderImpl implements Mac
                 jep.eval("import numpy");
                 return null;
             }).get();
-
-        } catch (final InterruptedException | ExecutionException e) {
-            logger.error("Could not load the model [{}].", modelPath, e);
-            throw new ModelLoadingException("Error while loading the model.", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (final ExecutionException | ModelLoadingException e) {
+            throw new CompletionException(e);
         }
+    }
 
-        // Since only classification is supported, we need to validate that the target variable is compatible
-        final Optional<ParamValidationError> validationError = ValidationUtils.validateCategoricalSchema(schema);
-
-        Preconditions.checkArgument(!validationError.isPresent(), "Target variable must be categorical: %s", validationError);
+    /**
+     * Creates the pool of Jep instances of a model, according to the configuration of this loader.
+     * <p>
+     * Unless the model is placed in shared Jep instances or takes warm ones, which are already started, the instances
+     * of the pool must still be started.
+     *
+     * @param id The name of the variable that will hold the model.
+     * @return The new pool of Jep instances.
+     */
+    private JepInstancePool createJepInstancePool(final String id) {
+        if (this.config.isInterpreterSharingEnabled()) {
+            return this.config.getSharedInterpreterHost().acquire(id, this.config.getInterpreterPoolSize());
+        }
 
-        // Creates the model object giving it the jep instance containing the imported model
-        final ClassificationPythonModel model = getModelImpl(schema, jepInstance, id);
+        if (this.config.isCallerRunsEnabled()) {
+            return new JepInstancePool(new ThreadBoundJepInstance(
+                    createEvaluationDispatcher(),
+                    this.config.getRejectionHandler(),
+                    this.config.getCallerRunsInterpreters()
+            ));
+        }
 
-        validateLoadedModel(schema, jepInstance, id, model);
+        if (this.config.isWarmInterpretersEnabled()) {
+            return this.config.getWarmInterpreterPool().acquire(
+                    this.config.getInterpreterPoolSize(),
+                    this.config.getRoutingStrategy()
+            );
+        }
 
-        logger.info("Model loaded successfully.");
+        return JepInstancePool.create(
+                this.config.getInterpreterPoolSize(),
+                this.config.getRoutingStrategy(),
+                this::createEvaluationDispatcher,
+                this.config.getRejectionHandler()
+        );
+    }
 
-        return model;
+    /**
+     * Creates the {@link EvaluationDispatcher} of a Jep instance, according to the configuration of this loader.
+     *
+     * @return The new evaluation dispatcher.
+     */
+    private EvaluationDispatcher createEvaluationDispatcher() {
+        if (this.config.isRingBufferDispatchEnabled()) {
+            return new RingBufferDispatcher(this.config.getRingBufferCapacity(), this.config.getWaitStrategy());
+        }
+        return this.config.getQueueCapacity() > 0
+                ? new LinkedQueueDispatcher(this.config.getQueueCapacity())
+                : new LinkedQueueDispatcher();
     }
 
     /**
      * Gets the actual instance of the {@link MachineLearningModel} to use.
      *
-     * @param schema The {@link DatasetSchema} of the incoming instances.
-     * @param jepInstance The {@link JepInstance} that provides access to the python environment.
-     * @param id The identifier that has been assigned to the model.
+     * @param schema          The {@link DatasetSchema} of the incoming instances.
+     * @param jepInstancePool The {@link JepInstancePool} that provides access to the python environments.
+     * @param id              The identifier that has been assigned to the model.
      * @return The concrete model implementation.
      */
     protected ClassificationPythonModel getModelImpl(final DatasetSchema schema,
-                                                     final JepInstance jepInstance,
+                                                     final JepInstancePool jepInstancePool,
                                                      final String id) {
-        return new ClassificationPythonModel(jepInstance, schema, id);
+        return new ClassificationPythonModel(jepInstancePool, schema, id, this.config);
     }
 
     /**
      * Specific implementation of python logic that loads the model.
+     * This is called once for each Jep instance of the {@link JepInstancePool pool} of the model.
      *
      * @param jepInstance Instance of Jep that will store and handle the model.
      * @param id          Name of the variable on the Jep environment that will hold the model.
@@ -129,6 +446,22 @@ public abstract class AbstractClassificationPythonModelLoaderImpl implements Mac
                                            final Path modelPath)
             throws InterruptedException, ExecutionException, ModelLoadingException;
 
+    /**
+     * Specific logic that runs once a model is loaded into all its Jep instances and validated, before it is warmed
+     * up, e.g. to compile the model into a faster representation. Does nothing by default.
+     * <p>
+     * Failures must not prevent the model from being used, since it was already validated.
+     *
+     * @param model           The loaded model.
+     * @param jepInstancePool The {@link JepInstancePool} where the model is loaded.
+     * @param id              Name of the variable on the Jep environment that holds the model.
+     * @since @@@feedzai.next.release@@@
+     */
+    protected void postLoadLogic(final ClassificationPythonModel model,
+                                 final JepInstancePool jepInstancePool,
+                                 final String id) {
+    }
+
     /**
      * Generates a unique id to use as a variable name to store the loaded model in a Jep instance.
      * This is a UUID encoded with an URL safe Base64 encoder.
@@ -146,20 +479,22 @@ public abstract class AbstractClassificationPythonModelLoaderImpl implements Mac
      * The model should be able to support calls to a classification and class distribution with a mocked instance based
      * on the provided model schema.
      *
-     * @param schema      Schema of the loaded model.
-     * @param jepInstance Instance of Jep where the model was loaded.
-     * @param id          Name of the variable inside the Jep instance where the model was stored.
-     * @param model       Loaded model.
+     * @param schema          Schema of the loaded model.
+     * @param jepInstancePool Pool of Jep instances where the model was loaded.
+     * @param id              Name of the variable inside the Jep instances where the model was stored.
+     * @param model           Loaded model.
      * @throws ModelLoadingException Exception thrown when the model has validation problems.
      */
     private void validateLoadedModel(final DatasetSchema schema,
-                                     final JepInstance jepInstance,
+                                     final JepInstancePool jepInstancePool,
                                      final String id,
                                      final ClassificationPythonModel model)
             throws ModelLoadingException {
 
         // Checks if functions exist
-        model.validate(jepInstance, id);
+        for (final JepInstance jepInstance : jepInstancePool.getInstances()) {
+            model.validate(jepInstance, id);
+        }
 
         ClassificationValidationUtils.validateClassificationModel(schema, model);
     }
@@ -23,30 +23,42 @@ import com.feedzai.openml.data.schema.DatasetSchema;
 import com.feedzai.openml.data.schema.FieldSchema;
 import com.feedzai.openml.model.ClassificationMLModel;
 import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.feedzai.openml.python.jep.instance.AbstractJepEvaluation;
+import com.feedzai.openml.python.jep.instance.JepFunction;
 import com.feedzai.openml.python.jep.instance.JepInstance;
-import com.feedzai.openml.util.data.ClassificationDatasetSchemaUtil;
-import com.feedzai.openml.util.data.encoding.EncodingHelper;
+import com.feedzai.openml.python.jep.instance.JepInstancePool;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import jep.DirectNDArray;
+import jep.Jep;
 import jep.JepException;
 import jep.NDArray;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.Serializable;
+import java.nio.Buffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.function.Function;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 /**
- * Representation of a Python classification model that has been loaded to the given Jep instance.
- * The model should be in a "global" variable in the Jep instance with name {@code id}.
+ * Representation of a Python classification model that has been loaded to the given Jep instances.
+ * The model should be in a "global" variable with name {@code id} in every Jep instance of the
+ * {@link JepInstancePool pool}, and each call is scored by one of those instances.
  * <p>
  * This representation is used for any Python based model including Scikit models and Generic user made models.
  * <p>
  * Some use cases can reuse this implementation and simply instantiate it with custom function names passed to
- * the {@link #ClassificationPythonModel(JepInstance, DatasetSchema, String, String, String) constructor}.
+ * the {@link #ClassificationPythonModel(JepInstancePool, DatasetSchema, String, String, String) constructor}.
  *
  * @author Luis Reis (luis.reis@feedzai.com)
  * @since 0.1.0
@@ -71,14 +83,138 @@ public class ClassificationPythonModel implements ClassificationMLModel {
     public static final String DEFAULT_GETCLASSDISTRIBUTION_FUNCTION_NAME = "getClassDistribution";
 
     /**
-     * Converter function that knows how to convert the class value into the class index (in the field's schema).
+     * Python code that defines a callable (named by the first argument) that calls a method (third argument) of the
+     * model (second argument) and wraps the resulting class distributions in a Numpy array.
+     * <p>
+     * The method is resolved once, when the callable is defined, instead of on every call.
      */
-    private final Function<Serializable, Integer> classToIndexConverter;
+    private static final String DISTRIBUTIONS_CALLABLE =
+            "%s = (lambda f: lambda instances: numpy.array(f(instances)))(%s.%s)";
 
     /**
-     * Jep instance where this model is loaded.
+     * Python code that defines a callable (named by the first argument) that calls a method (third argument) of the
+     * model (second argument), copies the resulting class distribution into the array passed in {@code out} and
+     * returns the number of values of the distribution.
      */
-    private final JepInstance jepInstance;
+    private static final String DISTRIBUTION_INTO_CALLABLE =
+            "%s = (lambda f: lambda instances, out: (lambda r: (numpy.copyto(out[:r.size], r.ravel()), r.size)[1])"
+                    + "(numpy.asarray(f(instances))))(%s.%s)";
+
+    /**
+     * Python code that defines a callable (named by the first argument) that converts a class value predicted by the
+     * model into the index of that class in the target field's schema, or -1 if the class is not in the schema.
+     * <p>
+     * The lookup table maps the string of each nominal value (third argument) to its index and, when the model
+     * exposes the labels it predicts (second argument), also maps each of those labels as is, so that the common case
+     * is a single dictionary lookup without converting the predicted value into a string.
+     */
+    private static final String CLASS_INDEX_CALLABLE =
+            "%s = (lambda table: lambda value: table[value] if value in table else table.get(str(value), -1))"
+                    + "((lambda values: dict([(label, values[str(label)]) for label in %s if str(label) in values]"
+                    + " + list(values.items())))(%s))";
+
+    /**
+     * Python code that defines a callable (named by the first argument) that calls a method (third argument) of the
+     * model (second argument) and converts the class predicted for the single instance sent into its index with the
+     * class index callable (fourth argument).
+     */
+    private static final String CLASS_CALLABLE =
+            "%s = (lambda f, index: lambda instances: index(f(instances)[0]))(%s.%s, %s)";
+
+    /**
+     * Python code that defines a callable (named by the first argument) that calls a method (third argument) of the
+     * model (second argument) and converts the classes predicted for a batch of instances into a Numpy array of their
+     * indexes with the class index callable (fourth argument).
+     */
+    private static final String CLASSES_CALLABLE =
+            "%s = (lambda f, index: lambda instances: numpy.fromiter(map(index, f(instances)), dtype=numpy.int32))"
+                    + "(%s.%s, %s)";
+
+    /**
+     * Python code that defines a callable (named by the first argument) that calls a method (third argument) of the
+     * model (second argument) to copy the class distribution of the single instance sent into the array passed in
+     * {@code out}, which fails if the distribution does not have the size of that array, and then calls another
+     * method (fifth argument) of the model (fourth argument) to return the index of its class with the class index
+     * callable (sixth argument).
+     */
+    private static final String CLASS_WITH_DISTRIBUTION_CALLABLE =
+            "%s = (lambda f, g, index: lambda instances, out: (numpy.copyto(out, numpy.asarray(f(instances))"
+                    + ".reshape(out.shape)), index(g(instances)[0]))[1])(%s.%s, %s.%s, %s)";
+
+    /**
+     * Python code that defines a callable (named by the first argument) that builds a
+     * {@code scipy.sparse.csr_matrix} with the given number of columns (second argument) from its CSR arrays and calls
+     * another callable, named by its first argument, with that matrix followed by any remaining arguments.
+     */
+    private static final String SPARSE_CALLABLE =
+            "%s = (lambda columns, csr: lambda name, data, indices, indptr, *args: globals()[name]"
+                    + "(csr((data, indices, indptr), shape=(indptr.size - 1, columns)), *args))"
+                    + "(%d, scipy.sparse.csr_matrix)";
+
+    /**
+     * Name of the Python function that creates the function that turns matrices of features into data frames.
+     */
+    private static final String DATA_FRAME_BUILDER_FUNCTION = "_openml_data_frame_builder";
+
+    /**
+     * Python code that defines the function that, given the names of the columns and the nominal values of the
+     * categorical columns by position, creates a function that turns a matrix of features into a
+     * {@code pandas.DataFrame}. The column index and the categorical types are created once, and each column is a
+     * view of the matrix except for the categorical ones, which are built from the category codes of the matrix with
+     * missing values as the code -1.
+     */
+    private static final String DATA_FRAME_BUILDER_DEFINITION = "exec('''\n"
+            + "def " + DATA_FRAME_BUILDER_FUNCTION + "(names, categories):\n"
+            + "    import numpy, pandas\n"
+            + "    columns = pandas.Index(names)\n"
+            + "    dtypes = [pandas.CategoricalDtype(categories[position]) if position in categories else None"
+            + " for position in range(len(names))]\n"
+            + "    def build(matrix):\n"
+            + "        data = {}\n"
+            + "        for position, name in enumerate(names):\n"
+            + "            column = matrix[:, position]\n"
+            + "            if dtypes[position] is not None:\n"
+            + "                column = pandas.Categorical.from_codes("
+            + "numpy.where(column == column, column, -1).astype(numpy.int32), dtype=dtypes[position])\n"
+            + "            data[name] = column\n"
+            + "        return pandas.DataFrame(data, columns=columns, copy=False)\n"
+            + "    return build\n"
+            + "''')";
+
+    /**
+     * Python code that defines an object (named by the first argument) whose methods (second and third arguments)
+     * turn the matrix of features they receive into a data frame with a function (fifth argument) and call the method
+     * of the same name of the model (fourth argument) with it.
+     */
+    private static final String DATA_FRAME_MODEL =
+            "%s = (lambda model, frame: types.SimpleNamespace(**{name: (lambda f: lambda instances: f(frame(instances)))"
+                    + "(getattr(model, name)) for name in ('%s', '%s')}))(%s, %s)";
+
+    /**
+     * The maximum fraction of non-zero values of a matrix of features sent as a CSR matrix when the
+     * {@link PythonModelConfig.FeatureFormat#AUTO feature format is automatic}.
+     */
+    private static final double MAX_SPARSE_DENSITY = 0.25;
+
+    /**
+     * The index returned by the class index callable for a class that is not in the target field's schema.
+     */
+    private static final int UNKNOWN_CLASS_INDEX = -1;
+
+    /**
+     * The nominal values of the target variable, in the order of their indexes.
+     */
+    private final List<String> classValues;
+
+    /**
+     * Python dictionary literal that maps the nominal values of the target variable to their indexes.
+     */
+    private final String classIndexTable;
+
+    /**
+     * Pool of Jep instances where this model is loaded.
+     */
+    private final JepInstancePool jepInstancePool;
 
     /**
      * Translation structure that contains only the indexes of the predictive (i.e. non-target) fields of the incoming
@@ -106,25 +242,111 @@ public class ClassificationPythonModel implements ClassificationMLModel {
      */
     private final String getClassDistributionFunctionName;
 
+    /**
+     * The configuration of this model.
+     */
+    private final PythonModelConfig config;
+
+    /**
+     * The number of classes of the target variable, which is the length of each class distribution.
+     */
+    private final int numberClasses;
+
+    /**
+     * Name of the Python callable that returns the class distributions of a batch of instances.
+     */
+    private final String distributionsCallable;
+
+    /**
+     * Name of the Python callable that writes the class distribution of an instance into a given array.
+     */
+    private final String distributionIntoCallable;
+
+    /**
+     * Name of the Python callable that converts a class value into its index.
+     */
+    private final String classIndexCallable;
+
+    /**
+     * Name of the Python callable that returns the class index of an instance.
+     */
+    private final String classCallable;
+
+    /**
+     * Name of the Python callable that returns the class indexes of a batch of instances.
+     */
+    private final String classesCallable;
+
+    /**
+     * Name of the Python callable that writes the class distribution of an instance into a given array and returns
+     * its class index.
+     */
+    private final String classWithDistributionCallable;
+
+    /**
+     * Name of the Python callable that converts CSR arrays into a sparse matrix and calls another callable with it.
+     */
+    private final String sparseCallable;
+
+    /**
+     * Name of the Python object whose methods turn matrices of features into data frames before calling the model.
+     */
+    private final String dataFrameModel;
+
+    /**
+     * The {@link ScoringContext} of each Jep instance thread where this model has scored instances.
+     */
+    private final ThreadLocal<ScoringContext> scoringContexts;
+
+    /**
+     * The Jep instance that runs the scoring calls being sent by the {@link ModelWarmUp warm-up} of this model, or
+     * {@code null} to route them through the pool.
+     */
+    private volatile JepInstance warmUpInstance;
+
+    /**
+     * Coalesces concurrent class distribution calls into batches, or {@code null} if
+     * {@link PythonModelConfig#isMicroBatchingEnabled() micro-batching} is disabled.
+     */
+    private final MicroBatchScheduler<double[]> classDistributionScheduler;
+
+    /**
+     * Coalesces concurrent classify calls into batches, or {@code null} if
+     * {@link PythonModelConfig#isMicroBatchingEnabled() micro-batching} is disabled.
+     */
+    private final MicroBatchScheduler<Integer> classifyScheduler;
+
+    /**
+     * The time spent in each phase of loading this model, or {@code null} if it was not loaded by a loader.
+     */
+    private volatile ModelLoadTimings loadTimings;
+
+    /**
+     * The steady-state latency of the calls of this model, or {@code null} if it was not warmed up.
+     */
+    private volatile LatencyProfile latencyProfile;
+
     /**
      * Constructor for this model's representation.
      *
-     * @param jepInstance                      Jep instance where this model is loaded.
+     * @param jepInstancePool                  Pool of Jep instances where this model is loaded.
      * @param schema                           Schema of the instances this model receives.
-     * @param id                               Name of the variable that stores this model in the Jep instance.
+     * @param id                               Name of the variable that stores this model in the Jep instances.
      * @param classifyFunctionName             Name of the Python function in the loaded model that returns the index
      *                                         of the class for the prediction on a given instance.
      * @param getClassDistributionFunctionName Name of the Python function in the loaded model that returns the
      *                                         probability distribution array for the prediction on a given instance.
+     * @param config                           The configuration of this model.
      */
-    public ClassificationPythonModel(final JepInstance jepInstance,
+    public ClassificationPythonModel(final JepInstancePool jepInstancePool,
                                      final DatasetSchema schema,
                                      final String id,
                                      final String classifyFunctionName,
-                                     final String getClassDistributionFunctionName) {
+                                     final String getClassDistributionFunctionName,
+                                     final PythonModelConfig config) {
         final int targetIndex = schema.getTargetIndex()
                 .orElseThrow(() -> new IllegalArgumentException("Python classification models do not support datasets without schema."));
-        this.jepInstance = jepInstance;
+        this.jepInstancePool = jepInstancePool;
         this.schema = schema;
         this.predictiveFieldIndexes = IntStream.range(0, schema.getFieldSchemas().size())
                 .filter(index -> index != targetIndex)
@@ -133,13 +355,106 @@ public class ClassificationPythonModel implements ClassificationMLModel {
         this.id = id;
         this.classifyFunctionName = classifyFunctionName;
         this.getClassDistributionFunctionName = getClassDistributionFunctionName;
-        this.classToIndexConverter = getClassToIndexConverter(schema);
+        this.classValues = ImmutableList.copyOf(getTargetCategoricalSchema(schema).getNominalValues());
+        this.classIndexTable = toPythonDict(this.classValues);
+        this.numberClasses = this.classValues.size();
+        this.config = config;
+
+        this.distributionsCallable = id + "_class_distributions";
+        this.distributionIntoCallable = id + "_class_distribution_into";
+        this.classIndexCallable = id + "_class_index";
+        this.classCallable = id + "_class";
+        this.classesCallable = id + "_classes";
+        this.classWithDistributionCallable = id + "_class_with_distribution";
+        this.sparseCallable = id + "_sparse";
+        this.dataFrameModel = id + "_data_frame_model";
+        this.scoringContexts = new ThreadLocal<>();
+
+        if (config.isMicroBatchingEnabled()) {
+            this.classDistributionScheduler = new MicroBatchScheduler<>(
+                    jepInstancePool,
+                    (jep, instances) -> Arrays.asList(toDistributions(
+                            callFunction(jep, toMatrix(instances), this.distributionsCallable),
+                            instances.size()
+                    )),
+                    config.getMaxBatchSize(),
+                    config.getMaxBatchWaitMicros(),
+                    config.getEvaluationTimeoutMicros()
+            );
+            this.classifyScheduler = new MicroBatchScheduler<>(
+                    jepInstancePool,
+                    (jep, instances) -> Ints.asList(toClassIndexes(
+                            this.<NDArray<?>>callFunction(jep, toMatrix(instances), this.classesCallable)
+                    )),
+                    config.getMaxBatchSize(),
+                    config.getMaxBatchWaitMicros(),
+                    config.getEvaluationTimeoutMicros()
+            );
+        } else {
+            this.classDistributionScheduler = null;
+            this.classifyScheduler = null;
+        }
+    }
+
+    /**
+     * Constructor for this model's representation with the {@link PythonModelConfig#DEFAULT default configuration}.
+     *
+     * @param jepInstancePool                  Pool of Jep instances where this model is loaded.
+     * @param schema                           Schema of the instances this model receives.
+     * @param id                               Name of the variable that stores this model in the Jep instances.
+     * @param classifyFunctionName             Name of the Python function in the loaded model that returns the index
+     *                                         of the class for the prediction on a given instance.
+     * @param getClassDistributionFunctionName Name of the Python function in the loaded model that returns the
+     *                                         probability distribution array for the prediction on a given instance.
+     */
+    public ClassificationPythonModel(final JepInstancePool jepInstancePool,
+                                     final DatasetSchema schema,
+                                     final String id,
+                                     final String classifyFunctionName,
+                                     final String getClassDistributionFunctionName) {
+        this(jepInstancePool, schema, id, classifyFunctionName, getClassDistributionFunctionName, PythonModelConfig.DEFAULT);
+    }
+
+    /**
+     * Constructor for this model's representation when it is loaded in a single Jep instance.
+     *
+     * @param jepInstance                      Jep instance where this model is loaded.
+     * @param schema                           Schema of the instances this model receives.
+     * @param id                               Name of the variable that stores this model in the Jep instance.
+     * @param classifyFunctionName             Name of the Python function in the loaded model that returns the index
+     *                                         of the class for the prediction on a given instance.
+     * @param getClassDistributionFunctionName Name of the Python function in the loaded model that returns the
+     *                                         probability distribution array for the prediction on a given instance.
+     */
+    public ClassificationPythonModel(final JepInstance jepInstance,
+                                     final DatasetSchema schema,
+                                     final String id,
+                                     final String classifyFunctionName,
+                                     final String getClassDistributionFunctionName) {
+        this(new JepInstancePool(jepInstance), schema, id, classifyFunctionName, getClassDistributionFunctionName);
     }
 
     /**
      * Constructor for this model's representation using default names for
      * {@link #DEFAULT_CLASSIFY_FUNCTION_NAME classification} and {@link #DEFAULT_GETCLASSDISTRIBUTION_FUNCTION_NAME scoring}.
      *
+     * @param jepInstancePool Pool of Jep instances where this model is loaded.
+     * @param schema          Schema of the instances this model receives.
+     * @param id              Name of the variable that stores this model in the Jep instances.
+     * @param config          The configuration of this model.
+     */
+    public ClassificationPythonModel(final JepInstancePool jepInstancePool,
+                                     final DatasetSchema schema,
+                                     final String id,
+                                     final PythonModelConfig config) {
+        this(jepInstancePool, schema, id, DEFAULT_CLASSIFY_FUNCTION_NAME, DEFAULT_GETCLASSDISTRIBUTION_FUNCTION_NAME, config);
+    }
+
+    /**
+     * Constructor for this model's representation using default names for
+     * {@link #DEFAULT_CLASSIFY_FUNCTION_NAME classification} and {@link #DEFAULT_GETCLASSDISTRIBUTION_FUNCTION_NAME scoring}
+     * when it is loaded in a single Jep instance.
+     *
      * @param jepInstance Jep instance where this model is loaded.
      * @param schema      Schema of the instances this model receives.
      * @param id          Name of the variable that stores this model in the Jep instance.
@@ -147,7 +462,7 @@ public class ClassificationPythonModel implements ClassificationMLModel {
     public ClassificationPythonModel(final JepInstance jepInstance,
                                      final DatasetSchema schema,
                                      final String id) {
-        this(jepInstance, schema, id, DEFAULT_CLASSIFY_FUNCTION_NAME, DEFAULT_GETCLASSDISTRIBUTION_FUNCTION_NAME);
+        this(new JepInstancePool(jepInstance), schema, id, PythonModelConfig.DEFAULT);
     }
 
     @Override
@@ -161,171 +476,1280 @@ public class ClassificationPythonModel implements ClassificationMLModel {
         return this.schema;
     }
 
-    @Override
-    public double[] getClassDistribution(final Instance instance) {
-        final NDArray<double[]> result = invokeFunction(
-                instance,
-                this.getClassDistributionFunctionName,
-                "numpy.array(%s)"
-        );
+    /**
+     * Gets the configuration of this model.
+     *
+     * @return The configuration.
+     */
+    public PythonModelConfig getConfig() {
+        return this.config;
+    }
 
-        // Although the Python API returns a double[] for every input instance, going through the NDArray flattens that
-        // into a single double[].
-        // Note that some models return a float[], thus we need to do this workaround, but better approaches may exist.
-        final Object data = result.getData();
-        if(data instanceof float[]) {
-            final float[] x = (float[]) data;
-            return IntStream.range(0, x.length).mapToDouble(i -> x[i]).toArray();
-        } else {
-            return (double[]) data;
-        }
+    /**
+     * Gets the number of predictive (i.e. non-target) fields of the instances, which is the number of columns of a
+     * matrix of features.
+     *
+     * @return The number of predictive fields.
+     */
+    int getNumberPredictiveFields() {
+        return this.predictiveFieldIndexes.length;
     }
 
-    @Override
-    public int classify(final Instance instance) {
-        // The Python API supports an array of instances and returns an array of results, we need to adapt to a
-        // single result.
-        final String classValue = invokeFunction(instance, this.classifyFunctionName, "str(%s[0])");
+    /**
+     * Gets the number of classes of the target variable, which is the length of each class distribution.
+     *
+     * @return The number of classes.
+     */
+    int getNumberClasses() {
+        return this.numberClasses;
+    }
 
-        final int asNotNullable;
-        try {
-            asNotNullable = this.classToIndexConverter.apply(classValue);
-        } catch (final NullPointerException e) {
-
-            //noinspection OptionalGetWithoutIsPresent
-            final AbstractValueSchema targetVarSchema = this.schema.getTargetFieldSchema()
-                    .map(FieldSchema::getValueSchema)
-                    // since the dataset schema is immutable and the target variable existence was already checked in construction
-                    .get();
-            final Function<CategoricalValueSchema, String> block = targetSchema -> String.format(
-                    "Unexpected class provided by model: %s. Expected values: %s",
-                    classValue,
-                    targetSchema.getNominalValues()
-            );
+    /**
+     * Gets the number of Jep instances where this model is loaded.
+     *
+     * @return The number of Jep instances.
+     */
+    int getNumberInterpreters() {
+        return this.jepInstancePool.size();
+    }
 
-            final String msg = ClassificationDatasetSchemaUtil.withCategoricalValueSchema(targetVarSchema, block)
-                    .orElseThrow(() -> new RuntimeException("The target variable is not a categorical value: " + targetVarSchema));
+    /**
+     * Gets the Jep instances where this model is loaded.
+     *
+     * @return The Jep instances.
+     */
+    List<JepInstance> getJepInstances() {
+        return this.jepInstancePool.getInstances();
+    }
 
-            logger.error(msg, e);
-            throw e;
-        }
-        return asNotNullable;
+    /**
+     * Sends the scoring calls that are not micro-batched to a given Jep instance instead of routing them through the
+     * pool, so that the warm-up of this model reaches every instance. Only used while the model is being loaded.
+     *
+     * @param jepInstance The Jep instance, or {@code null} to route the calls through the pool again.
+     */
+    void setWarmUpInstance(final JepInstance jepInstance) {
+        this.warmUpInstance = jepInstance;
     }
 
     /**
-     * Validates that the model's Jep environment has everything loaded and available.
+     * Gets the name of the Python variable that holds this model, which identifies it in a
+     * {@link com.feedzai.openml.python.jep.instance.SharedInterpreterHost shared interpreter host}.
      *
-     * @param jepInstance The {@link JepInstance Jep environment}.
-     * @param id          The id with which the model has been declared in the environment.
-     * @throws ModelLoadingException If there is an error in the current environment.
+     * @return The name of the variable of the model.
      */
-    public void validate(final JepInstance jepInstance, final String id) throws ModelLoadingException {
+    public String getId() {
+        return this.id;
+    }
 
-        // Check if model implements needed functions
-        try {
-            jepInstance.submitEvaluation((jep) -> {
-                final List<String> functionNames = ImmutableList.of(
-                        this.classifyFunctionName,
-                        this.getClassDistributionFunctionName
-                );
+    /**
+     * Gets the time spent in each phase of loading this model.
+     *
+     * @return The load timings, or {@link Optional#empty()} if this model was not loaded by an
+     * {@link AbstractClassificationPythonModelLoaderImpl}.
+     * @since @@@feedzai.next.release@@@
+     */
+    public Optional<ModelLoadTimings> getLoadTimings() {
+        return Optional.ofNullable(this.loadTimings);
+    }
 
-                for (final String functionName : functionNames) {
-                    if (!((boolean) jep.getValue(String.format(
-                            "callable(getattr(%s, \"%s\", None))",
-                            id,
-                            functionName
-                    )))) {
-                        throw new JepException(String.format("Model does not implement %s function.", functionName));
-                    }
-                }
-                return null;
-            }).get();
-        } catch (final InterruptedException | ExecutionException e) {
-            logger.error(e.getMessage(), e);
-            throw new ModelLoadingException(e.getMessage(), e);
-        }
+    /**
+     * Sets the time spent in each phase of loading this model.
+     *
+     * @param loadTimings The load timings.
+     */
+    void setLoadTimings(final ModelLoadTimings loadTimings) {
+        this.loadTimings = loadTimings;
     }
 
-    @Override
-    public void close() {
-        this.jepInstance.stop();
+    /**
+     * Gets the steady-state latency of the calls of this model per batch size, measured when it was warmed up after
+     * being loaded.
+     *
+     * @return The latency profile, or {@link Optional#empty()} if this model was not warmed up.
+     * @see PythonModelConfig.Builder#withWarmUp(List, int)
+     * @since @@@feedzai.next.release@@@
+     */
+    public Optional<LatencyProfile> getLatencyProfile() {
+        return Optional.ofNullable(this.latencyProfile);
     }
 
     /**
-     * Builds a function that knows how to convert from the class value that the Python API {@code classify} method
-     * returns to the class value index that is expected by the
-     * {@link ClassificationMLModel#classify(Instance) OpenML API method}.
+     * Sets the steady-state latency of the calls of this model per batch size.
      *
-     * @param schema The {@link DatasetSchema} for this model.
-     * @return The conversion function.
+     * @param latencyProfile The latency profile.
      */
-    private Function<Serializable, Integer> getClassToIndexConverter(final DatasetSchema schema) {
-        //noinspection OptionalGetWithoutIsPresent
-        final AbstractValueSchema targetVariableSchema = schema.getTargetFieldSchema()
-                .map(FieldSchema::getValueSchema)
-                // since the dataset schema is immutable and the target variable existence was already checked in construction
-                .get();
+    void setLatencyProfile(final LatencyProfile latencyProfile) {
+        this.latencyProfile = latencyProfile;
+    }
 
-        if (!(targetVariableSchema instanceof CategoricalValueSchema)) {
-            logger.error("Provided schema's target field is not categorical: {}", schema);
-            throw new IllegalArgumentException("Classification models require Categorical target fields. Got " + targetVariableSchema);
+    @Override
+    public double[] getClassDistribution(final Instance instance) {
+        return awaitResult(getClassDistributionAsync(instance));
+    }
+
+    /**
+     * Gets the class probability distribution of an instance without blocking the caller.
+     * <p>
+     * The returned future is completed by the thread of the Jep instance that scores the instance, so dependent
+     * stages that are not async run in that thread and should be kept short.
+     *
+     * @param instance The instance to score.
+     * @return A future with the class probability distribution of the instance.
+     * @see #getClassDistribution(Instance)
+     * @since @@@feedzai.next.release@@@
+     */
+    public CompletableFuture<double[]> getClassDistributionAsync(final Instance instance) {
+        if (this.classDistributionScheduler != null) {
+            return this.classDistributionScheduler.submit(instance);
         }
-        return EncodingHelper.classToIndexConverter((CategoricalValueSchema) targetVariableSchema);
+
+        return submitScoring((jep) -> {
+            final double[] distribution = new double[this.numberClasses];
+            scoreDistributionInto(jep, instance, distribution);
+            return distribution;
+        });
     }
 
     /**
-     * Calls a given python method in the model with the data of an instance encoded into a Numpy array.
-     * Returns the result also encoded as a Numpy array.
+     * Gets the class probability distribution of an instance, writing it into an array owned by the caller.
+     * <p>
+     * This avoids allocating the result array on every call. The features of the instance are encoded into a buffer
+     * of the Jep instance that scores it and the distribution is copied from a buffer shared with Python, so reusing
+     * {@code distribution} across calls keeps the Java allocations of each call to a minimum.
      *
-     * @param instance               The instance to classify.
-     * @param classificationFunction Name of the classification function to call.
-     * @param pythonResultWrapping   {@link String#format(String, Object...) Format string} to wrap the call to the
-     *                               function to perform result handling.
-     * @param <T>                    The type of object the function returns.
-     * @return The result of calling the result wrapping code on the resulting object.
+     * @param instance     The instance to score.
+     * @param distribution The array where the class distribution is written, with at least as many positions as the
+     *                     number of classes of the target variable.
+     * @since @@@feedzai.next.release@@@
      */
-    private <T> T invokeFunction(final Instance instance,
-                                 final String classificationFunction,
-                                 final String pythonResultWrapping) {
+    public void getClassDistribution(final Instance instance, final double[] distribution) {
+        Preconditions.checkArgument(
+                distribution.length >= this.numberClasses,
+                "The class distribution array must have at least %s positions. Got %s",
+                this.numberClasses,
+                distribution.length
+        );
 
-        // Encode this instance data into a Numpy array for the python model to use without the target variable
-        // The result of this encoding is an array with a single array inside as the classification functions
-        // in most python models are expecting an array of instances to classify.
-        final int numberPredictiveFields = this.predictiveFieldIndexes.length;
-        final double[] data = new double[numberPredictiveFields];
-        for (int index = 0; index < numberPredictiveFields; index++) {
-            data[index] = instance.getValue(this.predictiveFieldIndexes[index]);
-        }
-        final NDArray<double[]> encodedInstance = new NDArray<>(data, 1, numberPredictiveFields);
-        try {
+        awaitResult(submitScoring((jep) -> {
+            scoreDistributionInto(jep, instance, distribution);
+            return null;
+        }));
+    }
 
-            return this.jepInstance.submitEvaluation((jep) -> {
+    @Override
+    public int classify(final Instance instance) {
+        return checkClassIndex(awaitResult(getClassIndexAsync(instance)));
+    }
 
-                // Retrieve the invoked function from the model
-                final String defineFunction = String.format(
-                        "classification_function = %s.%s",
-                        ClassificationPythonModel.this.id,
-                        classificationFunction
-                );
-                jep.eval(defineFunction);
+    /**
+     * Classifies an instance without blocking the caller.
+     * <p>
+     * The returned future is completed by the thread of the Jep instance that scores the instance, so dependent
+     * stages that are not async run in that thread and should be kept short.
+     *
+     * @param instance The instance to classify.
+     * @return A future with the index of the predicted class of the instance.
+     * @see #classify(Instance)
+     * @since @@@feedzai.next.release@@@
+     */
+    public CompletableFuture<Integer> classifyAsync(final Instance instance) {
+        return getClassIndexAsync(instance).thenApply(this::checkClassIndex);
+    }
 
-                // Classify the instance and retrieve the encoded result wrapped in an Numpy array
-                // for compatibility in case the implementation does not return a Numpy array.
-                jep.set("encodedInstance", encodedInstance);
+    /**
+     * Gets the index of the class the model predicts for an instance.
+     *
+     * @param instance The instance to classify.
+     * @return A future with the index of the class, or {@link #UNKNOWN_CLASS_INDEX} if the model returned a class
+     * that is not in the target field's schema.
+     */
+    private CompletableFuture<Integer> getClassIndexAsync(final Instance instance) {
+        if (this.classifyScheduler != null) {
+            return this.classifyScheduler.submit(instance);
+        }
 
-                final String callFunction = String.format(
-                        pythonResultWrapping,
-                        "classification_function(encodedInstance)"
-                );
-                //noinspection unchecked
-                return (T) jep.getValue(callFunction);
+        // The Python API supports an array of instances and returns an array of results, we need to adapt to a
+        // single result.
+        return submitScoring((jep) -> {
+            final ScoringContext context = getScoringContext(jep);
+            return ((Number) invoke(jep, this.classCallable, toMatrix(instance, context))).intValue();
+        });
+    }
 
-            }).get();
+    /**
+     * Classifies an instance and gets its class probability distribution with a single evaluation, which encodes the
+     * features of the instance once.
+     * <p>
+     * If the model {@link #isClassMostProbableInDistribution() predicts the most probable class}, the class is
+     * derived from the distribution and the model is only called once; otherwise both Python methods of the model are
+     * called in the same evaluation.
+     *
+     * @param instance The instance to classify.
+     * @return The index of the predicted class of the instance and its class probability distribution.
+     * @see #classify(Instance)
+     * @see #getClassDistribution(Instance)
+     * @since @@@feedzai.next.release@@@
+     */
+    public ClassificationResult classifyWithDistribution(final Instance instance) {
+        final ClassificationResult result = awaitResult(getClassificationResultAsync(instance));
+        checkClassIndex(result.getClassIndex());
+        return result;
+    }
 
-        } catch (final Exception e) {
+    /**
+     * Classifies an instance and gets its class probability distribution with a single evaluation, without blocking
+     * the caller.
+     *
+     * @param instance The instance to classify.
+     * @return A future with the index of the predicted class of the instance and its class probability distribution.
+     * @see #classifyWithDistribution(Instance)
+     * @since @@@feedzai.next.release@@@
+     */
+    public CompletableFuture<ClassificationResult> classifyWithDistributionAsync(final Instance instance) {
+        return getClassificationResultAsync(instance).thenApply(result -> {
+            checkClassIndex(result.getClassIndex());
+            return result;
+        });
+    }
+
+    /**
+     * Checks whether the class this model predicts for an instance is always the most probable class of its class
+     * distribution, in which case the class can be derived from the distribution without calling the model again.
+     * <p>
+     * Ties are broken in favour of the class with the lowest index.
+     *
+     * @return {@code true} if the predicted class is the most probable one, {@code false} otherwise.
+     * @since @@@feedzai.next.release@@@
+     */
+    protected boolean isClassMostProbableInDistribution() {
+        return false;
+    }
+
+    /**
+     * Gets the index of the class the model predicts for an instance together with its class distribution.
+     *
+     * @param instance The instance to classify.
+     * @return A future with the index of the class, which may be {@link #UNKNOWN_CLASS_INDEX}, and the distribution.
+     */
+    private CompletableFuture<ClassificationResult> getClassificationResultAsync(final Instance instance) {
+        if (isClassMostProbableInDistribution()) {
+            if (this.classDistributionScheduler != null) {
+                return this.classDistributionScheduler.submit(instance)
+                        .thenApply(distribution -> new ClassificationResult(argMax(distribution), distribution));
+            }
+            return submitScoring((jep) -> {
+                final double[] distribution = new double[this.numberClasses];
+                scoreDistributionInto(jep, instance, distribution);
+                return new ClassificationResult(argMax(distribution), distribution);
+            });
+        }
+
+        return submitScoring((jep) -> {
+            final ScoringContext context = getScoringContext(jep);
+            ((Buffer) context.distribution).clear();
+
+            final int classIndex = ((Number) invoke(
+                    jep,
+                    this.classWithDistributionCallable,
+                    toMatrix(instance, context),
+                    context.distributionArray
+            )).intValue();
+
+            final double[] distribution = new double[this.numberClasses];
+            context.distribution.get(distribution);
+            return new ClassificationResult(classIndex, distribution);
+        });
+    }
+
+    /**
+     * Scores an instance and writes its class distribution into an array.
+     * Must be called in the thread of the Jep instance.
+     *
+     * @param jep          The Jep instance where the model is loaded.
+     * @param instance     The instance to score.
+     * @param distribution The array where the class distribution is written.
+     * @throws JepException If there is a problem calling the model.
+     */
+    private void scoreDistributionInto(final Jep jep,
+                                       final Instance instance,
+                                       final double[] distribution) throws JepException {
+        final ScoringContext context = getScoringContext(jep);
+        ((Buffer) context.distribution).clear();
+
+        final int numberValues = ((Number) invoke(
+                jep,
+                this.distributionIntoCallable,
+                toMatrix(instance, context),
+                context.distributionArray
+        )).intValue();
+        if (numberValues != this.numberClasses) {
+            throw new IllegalStateException(String.format(
+                    "The model returned a class distribution with %d values for a target variable with %d classes.",
+                    numberValues,
+                    this.numberClasses
+            ));
+        }
+
+        context.distribution.get(distribution, 0, this.numberClasses);
+    }
+
+    /**
+     * Gets the class probability distributions of a batch of instances with a single call to the Python model.
+     * <p>
+     * This is the bulk version of {@link #getClassDistribution(Instance)}, which should be preferred when scoring many
+     * instances at once (e.g. when rescoring a dataset) since the marshalling and the Python call are done once for
+     * the whole batch.
+     *
+     * @param instances The instances to score.
+     * @return The class probability distribution of each instance, in the same order of {@code instances}.
+     * @since @@@feedzai.next.release@@@
+     */
+    public double[][] getClassDistributions(final List<? extends Instance> instances) {
+        return awaitResult(getClassDistributionsAsync(instances));
+    }
+
+    /**
+     * Gets the class probability distributions of a batch of instances with a single call to the Python model,
+     * without blocking the caller.
+     *
+     * @param instances The instances to score.
+     * @return A future with the class probability distribution of each instance, in the same order of
+     * {@code instances}.
+     * @see #getClassDistributions(List)
+     * @since @@@feedzai.next.release@@@
+     */
+    public CompletableFuture<double[][]> getClassDistributionsAsync(final List<? extends Instance> instances) {
+        if (instances.isEmpty()) {
+            return CompletableFuture.completedFuture(new double[0][]);
+        }
+
+        return submitScoring((jep) -> this.<NDArray<?>>callFunction(jep, toMatrix(instances), this.distributionsCallable))
+                .thenApply(result -> toDistributions(result, instances.size()));
+    }
+
+    /**
+     * Gets the class probability distributions of a matrix of already encoded features with a single call to the
+     * Python model.
+     * <p>
+     * Each row of the matrix holds the values of the predictive (i.e. non-target) fields of an instance, in the order
+     * of the schema, with categorical values encoded as the index of the value in the field's schema.
+     * <p>
+     * A direct buffer in the native byte order is read by Python in place, without being copied, so callers that
+     * keep their data off-heap can score it without any intermediate copy. The values are read from the current
+     * position of the buffer, which is left unchanged.
+     *
+     * @param features The features of the instances, in row-major order.
+     * @param rows     The number of instances.
+     * @return The class probability distribution of each instance.
+     * @since @@@feedzai.next.release@@@
+     */
+    public double[][] getClassDistributions(final DoubleBuffer features, final int rows) {
+        return awaitResult(getClassDistributionsAsync(features, rows));
+    }
+
+    /**
+     * Gets the class probability distributions of a matrix of already encoded features with a single call to the
+     * Python model, without blocking the caller.
+     * <p>
+     * The matrix is read when the call is scored, so its values must not be changed until the returned future is
+     * completed.
+     *
+     * @param features The features of the instances, in row-major order.
+     * @param rows     The number of instances.
+     * @return A future with the class probability distribution of each instance.
+     * @see #getClassDistributions(DoubleBuffer, int)
+     * @since @@@feedzai.next.release@@@
+     */
+    public CompletableFuture<double[][]> getClassDistributionsAsync(final DoubleBuffer features, final int rows) {
+        if (rows == 0) {
+            return CompletableFuture.completedFuture(new double[0][]);
+        }
+
+        final DoubleBuffer matrix = checkMatrix(features, rows);
+        return submitScoring((jep) -> this.<NDArray<?>>callFunction(jep, toMatrix(matrix, rows), this.distributionsCallable))
+                .thenApply(result -> toDistributions(result, rows));
+    }
+
+    /**
+     * Gets the class probability distributions of a matrix of already encoded features with a single call to the
+     * Python model.
+     *
+     * @param features The features of the instances, in row-major order.
+     * @param rows     The number of instances.
+     * @return The class probability distribution of each instance.
+     * @see #getClassDistributions(DoubleBuffer, int)
+     * @since @@@feedzai.next.release@@@
+     */
+    public double[][] getClassDistributions(final double[] features, final int rows) {
+        return getClassDistributions(DoubleBuffer.wrap(features), rows);
+    }
+
+    /**
+     * Classifies a batch of instances with a single call to the Python model.
+     * <p>
+     * This is the bulk version of {@link #classify(Instance)}, which should be preferred when classifying many
+     * instances at once (e.g. when rescoring a dataset) since the marshalling and the Python call are done once for
+     * the whole batch.
+     *
+     * @param instances The instances to classify.
+     * @return The index of the predicted class of each instance, in the same order of {@code instances}.
+     * @since @@@feedzai.next.release@@@
+     */
+    public int[] classifyAll(final List<? extends Instance> instances) {
+        return checkClassIndexes(awaitResult(getClassIndexesAsync(instances)));
+    }
+
+    /**
+     * Classifies a batch of instances with a single call to the Python model, without blocking the caller.
+     *
+     * @param instances The instances to classify.
+     * @return A future with the index of the predicted class of each instance, in the same order of
+     * {@code instances}.
+     * @see #classifyAll(List)
+     * @since @@@feedzai.next.release@@@
+     */
+    public CompletableFuture<int[]> classifyAllAsync(final List<? extends Instance> instances) {
+        return getClassIndexesAsync(instances).thenApply(this::checkClassIndexes);
+    }
+
+    /**
+     * Gets the indexes of the classes the model predicts for a batch of instances.
+     *
+     * @param instances The instances to classify.
+     * @return A future with the index of the class of each instance, or {@link #UNKNOWN_CLASS_INDEX} for the classes
+     * that are not in the target field's schema.
+     */
+    private CompletableFuture<int[]> getClassIndexesAsync(final List<? extends Instance> instances) {
+        if (instances.isEmpty()) {
+            return CompletableFuture.completedFuture(new int[0]);
+        }
+
+        return submitScoring((jep) -> toClassIndexes(
+                this.<NDArray<?>>callFunction(jep, toMatrix(instances), this.classesCallable)
+        ));
+    }
+
+    /**
+     * Classifies a matrix of already encoded features with a single call to the Python model.
+     *
+     * @param features The features of the instances, in row-major order.
+     * @param rows     The number of instances.
+     * @return The index of the predicted class of each instance.
+     * @see #getClassDistributions(DoubleBuffer, int)
+     * @since @@@feedzai.next.release@@@
+     */
+    public int[] classifyAll(final DoubleBuffer features, final int rows) {
+        return checkClassIndexes(awaitResult(getClassIndexesAsync(features, rows)));
+    }
+
+    /**
+     * Classifies a matrix of already encoded features with a single call to the Python model, without blocking the
+     * caller.
+     * <p>
+     * The matrix is read when the call is scored, so its values must not be changed until the returned future is
+     * completed.
+     *
+     * @param features The features of the instances, in row-major order.
+     * @param rows     The number of instances.
+     * @return A future with the index of the predicted class of each instance.
+     * @see #classifyAll(DoubleBuffer, int)
+     * @since @@@feedzai.next.release@@@
+     */
+    public CompletableFuture<int[]> classifyAllAsync(final DoubleBuffer features, final int rows) {
+        return getClassIndexesAsync(features, rows).thenApply(this::checkClassIndexes);
+    }
+
+    /**
+     * Gets the indexes of the classes the model predicts for a matrix of already encoded features.
+     *
+     * @param features The features of the instances, in row-major order.
+     * @param rows     The number of instances.
+     * @return A future with the index of the class of each instance, or {@link #UNKNOWN_CLASS_INDEX} for the classes
+     * that are not in the target field's schema.
+     */
+    private CompletableFuture<int[]> getClassIndexesAsync(final DoubleBuffer features, final int rows) {
+        if (rows == 0) {
+            return CompletableFuture.completedFuture(new int[0]);
+        }
+
+        final DoubleBuffer matrix = checkMatrix(features, rows);
+        return submitScoring((jep) -> toClassIndexes(
+                this.<NDArray<?>>callFunction(jep, toMatrix(matrix, rows), this.classesCallable)
+        ));
+    }
+
+    /**
+     * Classifies a matrix of already encoded features with a single call to the Python model.
+     *
+     * @param features The features of the instances, in row-major order.
+     * @param rows     The number of instances.
+     * @return The index of the predicted class of each instance.
+     * @see #getClassDistributions(DoubleBuffer, int)
+     * @since @@@feedzai.next.release@@@
+     */
+    public int[] classifyAll(final double[] features, final int rows) {
+        return classifyAll(DoubleBuffer.wrap(features), rows);
+    }
+
+    /**
+     * Submits an evaluation that calls one of the Python callables of this model, which are defined in the Jep
+     * instance before the evaluation runs.
+     *
+     * @param classify           Whether the evaluation classifies instances or gets their class distributions.
+     * @param evaluationFunction Receives the Jep instance and the name of the Python callable that takes a Numpy
+     *                           matrix of features and returns either the class distributions or an int32 array
+     *                           with the class indexes.
+     * @param <T>                The type of the result of the evaluation.
+     * @return The submitted evaluation.
+     */
+    <T> CompletableFuture<T> submitCallableEvaluation(final boolean classify,
+                                                      final CallableEvaluation<T> evaluationFunction) {
+        final String callableName = classify ? this.classesCallable : this.distributionsCallable;
+        return submitScoring((jep) -> {
+            getScoringContext(jep);
+            return evaluationFunction.apply(jep, callableName);
+        });
+    }
+
+    /**
+     * Submits a scoring evaluation to the pool of Jep instances, with a deadline if the configuration of this model
+     * {@link PythonModelConfig#hasEvaluationDeadline() has one}.
+     *
+     * @param evaluationFunction The scoring evaluation.
+     * @param <T>                The type of the result of the evaluation.
+     * @return The submitted evaluation.
+     */
+    private <T> AbstractJepEvaluation<T> submitScoring(final JepFunction<T> evaluationFunction) {
+        final JepInstance jepInstance = this.warmUpInstance;
+        if (jepInstance != null) {
+            return jepInstance.submitEvaluation(evaluationFunction);
+        }
+        return this.config.hasEvaluationDeadline()
+                ? this.jepInstancePool.submitEvaluation(evaluationFunction, this.config.getEvaluationTimeoutMicros(), TimeUnit.MICROSECONDS)
+                : this.jepInstancePool.submitEvaluation(evaluationFunction);
+    }
+
+    /**
+     * Checks that the model only returned classes that are in the target field's schema.
+     *
+     * @param classIndexes The index of the class of each instance.
+     * @return The same class indexes.
+     */
+    private int[] checkClassIndexes(final int[] classIndexes) {
+        for (final int classIndex : classIndexes) {
+            checkClassIndex(classIndex);
+        }
+        return classIndexes;
+    }
+
+    /**
+     * Checks that the model returned a class that is in the target field's schema.
+     *
+     * @param classIndex The index of the class.
+     * @return The same class index.
+     * @throws NullPointerException If the model returned a class that is not in the schema, as it did when classes
+     *                              were converted into indexes in Java.
+     */
+    private int checkClassIndex(final int classIndex) {
+        if (classIndex == UNKNOWN_CLASS_INDEX) {
+            final String msg = String.format("Unexpected class provided by model. Expected values: %s", this.classValues);
+            logger.error(msg);
+            throw new NullPointerException(msg);
+        }
+        return classIndex;
+    }
+
+    /**
+     * Validates that the model's Jep environment has everything loaded and available.
+     *
+     * @param jepInstance The {@link JepInstance Jep environment}.
+     * @param id          The id with which the model has been declared in the environment.
+     * @throws ModelLoadingException If there is an error in the current environment.
+     */
+    public void validate(final JepInstance jepInstance, final String id) throws ModelLoadingException {
+
+        // Check if model implements needed functions
+        try {
+            jepInstance.submitEvaluation((jep) -> {
+                final List<String> functionNames = ImmutableList.of(
+                        this.classifyFunctionName,
+                        this.getClassDistributionFunctionName
+                );
+
+                for (final String functionName : functionNames) {
+                    if (!((boolean) jep.getValue(String.format(
+                            "callable(getattr(%s, \"%s\", None))",
+                            id,
+                            functionName
+                    )))) {
+                        throw new JepException(String.format("Model does not implement %s function.", functionName));
+                    }
+                }
+                return null;
+            }).get();
+        } catch (final InterruptedException | ExecutionException e) {
+            logger.error(e.getMessage(), e);
+            throw new ModelLoadingException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Releases the Jep instances of this model: they are stopped, unless they are shared with other models, in which
+     * case only the variables of this model are removed from them.
+     */
+    @Override
+    public void close() {
+        if (this.classDistributionScheduler != null) {
+            this.classDistributionScheduler.close();
+            this.classifyScheduler.close();
+        }
+        this.jepInstancePool.stop();
+    }
+
+    /**
+     * Gets the name of the attribute of the Python model that holds the labels of the classes it predicts, used to
+     * look up the index of a predicted class without converting it into a string first.
+     * <p>
+     * Classes are still matched to the target field's schema by their string when the model has no such attribute.
+     *
+     * @return The name of the attribute, or an empty optional if the model has none.
+     * @since @@@feedzai.next.release@@@
+     */
+    protected Optional<String> getClassLabelsAttributeName() {
+        return Optional.empty();
+    }
+
+    /**
+     * Gets the value schema of the target variable, which classification models require to be categorical.
+     *
+     * @param schema The {@link DatasetSchema} for this model.
+     * @return The categorical value schema of the target variable.
+     */
+    private static CategoricalValueSchema getTargetCategoricalSchema(final DatasetSchema schema) {
+        final AbstractValueSchema targetVariableSchema = getTargetValueSchema(schema);
+
+        if (!(targetVariableSchema instanceof CategoricalValueSchema)) {
+            logger.error("Provided schema's target field is not categorical: {}", schema);
+            throw new IllegalArgumentException("Classification models require Categorical target fields. Got " + targetVariableSchema);
+        }
+        return (CategoricalValueSchema) targetVariableSchema;
+    }
+
+    /**
+     * Builds a Python dictionary literal that maps each value to its index in a list.
+     *
+     * @param values The values.
+     * @return The dictionary literal.
+     */
+    private static String toPythonDict(final List<String> values) {
+        final StringBuilder dict = new StringBuilder("{");
+        for (int index = 0; index < values.size(); index++) {
+            if (index > 0) {
+                dict.append(", ");
+            }
+            appendPythonString(dict, values.get(index));
+            dict.append(": ").append(index);
+        }
+        return dict.append('}').toString();
+    }
+
+    /**
+     * Appends a string to a builder as a Python string literal, escaping every character that is not a letter or a
+     * digit so that the literal is valid whatever the string holds.
+     *
+     * @param builder The builder.
+     * @param value   The string.
+     */
+    private static void appendPythonString(final StringBuilder builder, final String value) {
+        builder.append('\'');
+        value.codePoints().forEach(codePoint -> {
+            if ((codePoint >= 'a' && codePoint <= 'z') || (codePoint >= 'A' && codePoint <= 'Z') || (codePoint >= '0' && codePoint <= '9')) {
+                builder.append((char) codePoint);
+            } else {
+                builder.append(String.format("\\U%08x", codePoint));
+            }
+        });
+        builder.append('\'');
+    }
+
+    /**
+     * Builds the Python call that creates the function that turns matrices of features into data frames, with the
+     * names of the predictive fields as the columns and the nominal values of the categorical ones as categories.
+     *
+     * @return The Python call.
+     */
+    private String toDataFrameBuilderCall() {
+        final List<FieldSchema> fields = this.schema.getFieldSchemas();
+        final StringBuilder names = new StringBuilder("[");
+        final StringBuilder categories = new StringBuilder("{");
+        for (int position = 0; position < this.predictiveFieldIndexes.length; position++) {
+            final FieldSchema field = fields.get(this.predictiveFieldIndexes[position]);
+            if (position > 0) {
+                names.append(", ");
+            }
+            appendPythonString(names, field.getFieldName());
+
+            if (field.getValueSchema() instanceof CategoricalValueSchema) {
+                if (categories.length() > 1) {
+                    categories.append(", ");
+                }
+                categories.append(position).append(": [");
+                boolean first = true;
+                for (final String value : ((CategoricalValueSchema) field.getValueSchema()).getNominalValues()) {
+                    if (!first) {
+                        categories.append(", ");
+                    }
+                    appendPythonString(categories, value);
+                    first = false;
+                }
+                categories.append(']');
+            }
+        }
+        names.append(']');
+        categories.append('}');
+        return String.format("%s(%s, %s)", DATA_FRAME_BUILDER_FUNCTION, names, categories);
+    }
+
+    /**
+     * Gets the value schema of the target variable.
+     *
+     * @param schema The {@link DatasetSchema} for this model.
+     * @return The value schema of the target variable.
+     */
+    private static AbstractValueSchema getTargetValueSchema(final DatasetSchema schema) {
+        //noinspection OptionalGetWithoutIsPresent
+        return schema.getTargetFieldSchema()
+                .map(FieldSchema::getValueSchema)
+                // since the dataset schema is immutable and the target variable existence was already checked in construction
+                .get();
+    }
+
+    /**
+     * Checks that a buffer holds a matrix of features with a given number of rows and gets a view of that matrix.
+     *
+     * @param features The features of the instances, in row-major order, starting at the position of the buffer.
+     * @param rows     The number of instances.
+     * @return A view of the matrix, with its position at 0 and its capacity equal to the size of the matrix.
+     */
+    private DoubleBuffer checkMatrix(final DoubleBuffer features, final int rows) {
+        Preconditions.checkArgument(rows > 0, "The number of rows must be positive. Got %s", rows);
+        final int length = rows * this.predictiveFieldIndexes.length;
+        Preconditions.checkArgument(
+                features.remaining() >= length,
+                "A matrix of %s rows needs %s values. Got %s",
+                rows,
+                length,
+                features.remaining()
+        );
+        return DirectFeatureSlab.slice(features, length);
+    }
+
+    /**
+     * Encodes the data of a batch of instances, without the target variable, into a Numpy matrix of features laid
+     * out according to the {@link PythonModelConfig#getFeatureFormat() feature format}.
+     * Must be called in the thread of the Jep instance.
+     *
+     * @param instances The instances to encode.
+     * @return The matrix, either an {@link NDArray}, a {@link DirectNDArray} or a {@link CsrMatrix}.
+     */
+    private Object toMatrix(final List<? extends Instance> instances) {
+        final int rows = instances.size();
+        final int numberPredictiveFields = this.predictiveFieldIndexes.length;
+        if (!isSparseFormat()) {
+            final Buffer features = allocateFeatures(rows * numberPredictiveFields);
+            int offset = 0;
+            for (final Instance instance : instances) {
+                encodeInto(instance, features, offset);
+                offset += numberPredictiveFields;
+            }
+            return wrapMatrix(features, rows);
+        }
+
+        final CsrFeatureEncoder encoder = CsrFeatureEncoder.start();
+        for (final Instance instance : instances) {
+            encodeSparse(instance, encoder);
+        }
+        if (isSparseEnough(encoder)) {
+            return new CsrMatrix(encoder, this.config.getFeaturePrecision() == PythonModelConfig.FeaturePrecision.FLOAT);
+        }
+        final Buffer features = allocateFeatures(rows * numberPredictiveFields);
+        encoder.scatterInto(features, numberPredictiveFields);
+        return wrapMatrix(features, rows);
+    }
+
+    /**
+     * Encodes the data of a single instance, without the target variable, into a Numpy matrix of features laid out
+     * according to the {@link PythonModelConfig#getFeatureFormat() feature format}, reusing the buffers of the
+     * scoring context for dense matrices.
+     * Must be called in the thread of the Jep instance.
+     *
+     * @param instance The instance to encode.
+     * @param context  The scoring context of the Jep instance.
+     * @return The 1×N matrix, either the features array of the scoring context or a {@link CsrMatrix}.
+     */
+    private Object toMatrix(final Instance instance, final ScoringContext context) {
+        if (!isSparseFormat()) {
+            encodeInto(instance, context.features, 0);
+            return context.featuresArray;
+        }
+
+        final CsrFeatureEncoder encoder = CsrFeatureEncoder.start();
+        encodeSparse(instance, encoder);
+        if (isSparseEnough(encoder)) {
+            return new CsrMatrix(encoder, this.config.getFeaturePrecision() == PythonModelConfig.FeaturePrecision.FLOAT);
+        }
+        encoder.scatterInto(context.features, this.predictiveFieldIndexes.length);
+        return context.featuresArray;
+    }
+
+    /**
+     * Checks whether the {@link PythonModelConfig#getFeatureFormat() feature format} may send features as CSR
+     * matrices.
+     *
+     * @return {@code true} for the {@link PythonModelConfig.FeatureFormat#CSR CSR} and
+     * {@link PythonModelConfig.FeatureFormat#AUTO automatic} formats, {@code false} otherwise.
+     */
+    private boolean isSparseFormat() {
+        return this.config.getFeatureFormat() == PythonModelConfig.FeatureFormat.CSR
+                || this.config.getFeatureFormat() == PythonModelConfig.FeatureFormat.AUTO;
+    }
+
+    /**
+     * Adds the predictive fields of an instance to a CSR encoder as a new row.
+     *
+     * @param instance The instance to encode.
+     * @param encoder  The encoder.
+     */
+    private void encodeSparse(final Instance instance, final CsrFeatureEncoder encoder) {
+        for (int index = 0; index < this.predictiveFieldIndexes.length; index++) {
+            encoder.add(index, instance.getValue(this.predictiveFieldIndexes[index]));
+        }
+        encoder.endRow();
+    }
+
+    /**
+     * Checks whether a matrix encoded in a CSR encoder is sent to Python as a CSR matrix: always for the
+     * {@link PythonModelConfig.FeatureFormat#CSR CSR format}, and only when at most {@link #MAX_SPARSE_DENSITY} of
+     * its values are non-zero for the {@link PythonModelConfig.FeatureFormat#AUTO automatic format}.
+     *
+     * @param encoder The encoder of the matrix.
+     * @return {@code true} if the matrix is sent as a CSR matrix, {@code false} if it is sent as a dense one.
+     */
+    private boolean isSparseEnough(final CsrFeatureEncoder encoder) {
+        return this.config.getFeatureFormat() == PythonModelConfig.FeatureFormat.CSR
+                || encoder.getNonZeros() <= MAX_SPARSE_DENSITY * encoder.getRows() * this.predictiveFieldIndexes.length;
+    }
+
+    /**
+     * Converts a matrix of already encoded features into a Numpy matrix, avoiding the copy if possible.
+     * Must be called in the thread of the Jep instance.
+     *
+     * @param features The features of the instances, with a capacity equal to the size of the matrix.
+     * @param rows     The number of instances.
+     * @return The matrix, either an {@link NDArray} or a {@link DirectNDArray}.
+     */
+    private Object toMatrix(final DoubleBuffer features, final int rows) {
+        if (this.config.getFeaturePrecision() == PythonModelConfig.FeaturePrecision.FLOAT) {
+            final FloatBuffer copy = (FloatBuffer) allocateFeatures(features.capacity());
+            for (int index = 0; index < features.capacity(); index++) {
+                copy.put(index, (float) features.get(index));
+            }
+            return wrapMatrix(copy, rows);
+        }
+
+        if (DirectFeatureSlab.isShareable(features)
+                || (features.hasArray() && features.arrayOffset() == 0 && features.array().length == features.capacity())) {
+            return wrapMatrix(features, rows);
+        }
+
+        final DoubleBuffer copy = (DoubleBuffer) allocateFeatures(features.capacity());
+        copy.put(features.duplicate());
+        return wrapMatrix(copy, rows);
+    }
+
+    /**
+     * Allocates the buffer where features are encoded, according to the
+     * {@link PythonModelConfig#getFeatureTransfer() feature transfer mode} and the
+     * {@link PythonModelConfig#getFeaturePrecision() feature precision}.
+     * Must be called in the thread of the Jep instance.
+     *
+     * @param length The number of values of the buffer.
+     * @return A {@link DoubleBuffer} or a {@link FloatBuffer} with capacity {@code length}, either a view of the
+     * {@link DirectFeatureSlab} of the Jep instance or a new heap buffer.
+     */
+    private Buffer allocateFeatures(final int length) {
+        final boolean direct = this.config.getFeatureTransfer() == PythonModelConfig.FeatureTransfer.DIRECT;
+        if (this.config.getFeaturePrecision() == PythonModelConfig.FeaturePrecision.FLOAT) {
+            return direct ? DirectFeatureSlab.acquireFloats(length) : FloatBuffer.wrap(new float[length]);
+        }
+        return direct ? DirectFeatureSlab.acquire(length) : DoubleBuffer.wrap(new double[length]);
+    }
+
+    /**
+     * Wraps the buffer of a matrix of features in the Numpy array type Jep supports for it.
+     *
+     * @param features The features, either in a direct buffer in the native byte order or in a buffer that wraps a
+     *                 whole array, of doubles or floats.
+     * @param rows     The number of instances.
+     * @return A {@link DirectNDArray} backed by the memory of a direct buffer, or an {@link NDArray} of the array of a
+     * heap buffer.
+     */
+    private Object wrapMatrix(final Buffer features, final int rows) {
+        final int numberPredictiveFields = this.predictiveFieldIndexes.length;
+        if (features.isDirect()) {
+            return new DirectNDArray<>(features, rows, numberPredictiveFields);
+        }
+        return features instanceof FloatBuffer
+                ? new NDArray<>(((FloatBuffer) features).array(), rows, numberPredictiveFields)
+                : new NDArray<>(((DoubleBuffer) features).array(), rows, numberPredictiveFields);
+    }
+
+    /**
+     * Writes the predictive fields of an instance into a buffer of features.
+     *
+     * @param instance The instance to encode.
+     * @param features The buffer of features, of doubles or floats.
+     * @param offset   The position of {@code features} where the first feature is written.
+     */
+    void encodeInto(final Instance instance, final Buffer features, final int offset) {
+        final int numberPredictiveFields = this.predictiveFieldIndexes.length;
+        if (features instanceof FloatBuffer) {
+            final FloatBuffer floatFeatures = (FloatBuffer) features;
+            for (int index = 0; index < numberPredictiveFields; index++) {
+                floatFeatures.put(offset + index, (float) instance.getValue(this.predictiveFieldIndexes[index]));
+            }
+        } else {
+            final DoubleBuffer doubleFeatures = (DoubleBuffer) features;
+            for (int index = 0; index < numberPredictiveFields; index++) {
+                doubleFeatures.put(offset + index, instance.getValue(this.predictiveFieldIndexes[index]));
+            }
+        }
+    }
+
+    /**
+     * Calls one of the Python callables of the model with a batch of instances encoded into a Numpy matrix.
+     * Must be called in the thread of the Jep instance.
+     *
+     * @param jep          The Jep instance where the model is loaded.
+     * @param matrix       The features of the instances, as returned by {@link #toMatrix(List)} or
+     *                     {@link #toMatrix(DoubleBuffer, int)}.
+     * @param callableName Name of the Python callable to call.
+     * @param <T>          The type of object the callable returns.
+     * @return The result of the callable.
+     * @throws JepException If there is a problem calling the function.
+     */
+    private <T> T callFunction(final Jep jep,
+                               final Object matrix,
+                               final String callableName) throws JepException {
+
+        // Make sure the callables of the model are defined in this Jep instance
+        getScoringContext(jep);
+
+        //noinspection unchecked
+        return (T) invoke(jep, callableName, matrix);
+    }
+
+    /**
+     * Invokes one of the Python callables of the model with a matrix of features, building the sparse matrix in
+     * Python first if the features are sent as a {@link CsrMatrix}.
+     * Must be called in the thread of the Jep instance, after the callables of the model are defined.
+     *
+     * @param jep          The Jep instance where the model is loaded.
+     * @param callableName Name of the Python callable to call.
+     * @param matrix       The features of the instances.
+     * @param args         The remaining arguments of the callable.
+     * @return The result of the callable.
+     * @throws JepException If there is a problem calling the function.
+     */
+    private Object invoke(final Jep jep,
+                          final String callableName,
+                          final Object matrix,
+                          final Object... args) throws JepException {
+        if (matrix instanceof CsrMatrix) {
+            final CsrMatrix csr = (CsrMatrix) matrix;
+            final Object[] sparseArgs = new Object[4 + args.length];
+            sparseArgs[0] = callableName;
+            sparseArgs[1] = csr.data;
+            sparseArgs[2] = csr.indices;
+            sparseArgs[3] = csr.indptr;
+            System.arraycopy(args, 0, sparseArgs, 4, args.length);
+            return jep.invoke(this.sparseCallable, sparseArgs);
+        }
+
+        if (args.length == 0) {
+            return jep.invoke(callableName, matrix);
+        }
+        final Object[] denseArgs = new Object[1 + args.length];
+        denseArgs[0] = matrix;
+        System.arraycopy(args, 0, denseArgs, 1, args.length);
+        return jep.invoke(callableName, denseArgs);
+    }
+
+    /**
+     * Gets the {@link ScoringContext} of the current Jep instance thread, creating it the first time this model
+     * scores instances in the thread.
+     * Must be called in the thread of the Jep instance.
+     *
+     * @param jep The Jep instance where the model is loaded.
+     * @return The scoring context.
+     * @throws JepException If there is a problem defining the Python callables of the model.
+     */
+    private ScoringContext getScoringContext(final Jep jep) throws JepException {
+        ScoringContext context = this.scoringContexts.get();
+        if (context == null) {
+            resolveCallables(jep);
+            // The features of single instances get their own buffer, since the slab is reused by every batch
+            final int numberPredictiveFields = this.predictiveFieldIndexes.length;
+            final boolean direct = this.config.getFeatureTransfer() == PythonModelConfig.FeatureTransfer.DIRECT;
+            final Buffer features;
+            if (this.config.getFeaturePrecision() == PythonModelConfig.FeaturePrecision.FLOAT) {
+                features = direct
+                        ? DirectFeatureSlab.allocateFloats(numberPredictiveFields)
+                        : FloatBuffer.wrap(new float[numberPredictiveFields]);
+            } else {
+                features = direct
+                        ? DirectFeatureSlab.allocate(numberPredictiveFields)
+                        : DoubleBuffer.wrap(new double[numberPredictiveFields]);
+            }
+            context = new ScoringContext(features, wrapMatrix(features, 1), this.numberClasses);
+            this.scoringContexts.set(context);
+        }
+        return context;
+    }
+
+    /**
+     * Defines, in a Jep instance, the Python callables used to score instances, resolving the methods of the model
+     * once instead of on every call.
+     *
+     * @param jep The Jep instance where the model is loaded.
+     * @throws JepException If there is a problem defining the callables.
+     */
+    private void resolveCallables(final Jep jep) throws JepException {
+        jep.eval("import numpy");
+
+        // With data frames, the callables call the methods of an object that converts the features for the model
+        final String model;
+        if (this.config.getFeatureFormat() == PythonModelConfig.FeatureFormat.DATAFRAME) {
+            jep.eval("import types");
+            if (!((Boolean) jep.getValue(String.format("'%s' in globals()", DATA_FRAME_BUILDER_FUNCTION)))) {
+                jep.eval(DATA_FRAME_BUILDER_DEFINITION);
+            }
+            jep.eval(String.format(
+                    DATA_FRAME_MODEL,
+                    this.dataFrameModel,
+                    this.classifyFunctionName,
+                    this.getClassDistributionFunctionName,
+                    this.id,
+                    toDataFrameBuilderCall()
+            ));
+            model = this.dataFrameModel;
+        } else {
+            model = this.id;
+        }
+
+        jep.eval(String.format(DISTRIBUTIONS_CALLABLE, this.distributionsCallable, model, this.getClassDistributionFunctionName));
+        jep.eval(String.format(DISTRIBUTION_INTO_CALLABLE, this.distributionIntoCallable, model, this.getClassDistributionFunctionName));
+        final String classLabels = getClassLabelsAttributeName()
+                .map(attributeName -> String.format("getattr(%s, '%s', ())", this.id, attributeName))
+                .orElse("()");
+        jep.eval(String.format(CLASS_INDEX_CALLABLE, this.classIndexCallable, classLabels, this.classIndexTable));
+        jep.eval(String.format(CLASS_CALLABLE, this.classCallable, model, this.classifyFunctionName, this.classIndexCallable));
+        jep.eval(String.format(CLASSES_CALLABLE, this.classesCallable, model, this.classifyFunctionName, this.classIndexCallable));
+        jep.eval(String.format(
+                CLASS_WITH_DISTRIBUTION_CALLABLE,
+                this.classWithDistributionCallable,
+                model,
+                this.getClassDistributionFunctionName,
+                model,
+                this.classifyFunctionName,
+                this.classIndexCallable
+        ));
+        if (isSparseFormat()) {
+            jep.eval("import scipy.sparse");
+            jep.eval(String.format(SPARSE_CALLABLE, this.sparseCallable, this.predictiveFieldIndexes.length));
+        }
+    }
+
+    /**
+     * Waits for the result of an evaluation.
+     *
+     * @param result The future result of the evaluation.
+     * @param <T>    The type of the result.
+     * @return The result.
+     */
+    private <T> T awaitResult(final Future<T> result) {
+        try {
+            return result.get();
+        } catch (final Exception e) {
             logger.warn("Error during instance evaluation.");
             throw new RuntimeException("Error during instance evaluation.", e);
         }
     }
 
+    /**
+     * Splits the class distributions of a batch of instances, which going through the NDArray flattens into a single
+     * array, into one array per instance.
+     * Note that some models (e.g. XGBoost) return float32 distributions, which are widened into doubles.
+     *
+     * @param result The class distributions returned by the model.
+     * @param rows   The number of instances in the batch.
+     * @return The class distribution of each instance.
+     * @throws IllegalStateException If the model did not return a class distribution with a value per class for
+     *                               each instance.
+     */
+    private double[][] toDistributions(final NDArray<?> result, final int rows) {
+        final Object data = result.getData();
+        final int numberValues = data instanceof float[] ? ((float[]) data).length : ((double[]) data).length;
+        if (numberValues != rows * this.numberClasses) {
+            throw new IllegalStateException(String.format(
+                    "The model returned %d class distribution values for %d instances of a target variable with %d classes.",
+                    numberValues,
+                    rows,
+                    this.numberClasses
+            ));
+        }
+
+        final double[][] split = new double[rows][];
+        if (data instanceof float[]) {
+            final float[] distributions = (float[]) data;
+            for (int row = 0; row < rows; row++) {
+                final double[] distribution = new double[this.numberClasses];
+                final int offset = row * this.numberClasses;
+                for (int index = 0; index < this.numberClasses; index++) {
+                    distribution[index] = distributions[offset + index];
+                }
+                split[row] = distribution;
+            }
+        } else {
+            final double[] distributions = (double[]) data;
+            for (int row = 0; row < rows; row++) {
+                split[row] = Arrays.copyOfRange(distributions, row * this.numberClasses, (row + 1) * this.numberClasses);
+            }
+        }
+        return split;
+    }
+
+    /**
+     * Gets the index of the highest value of a class distribution, the lowest one in case of ties.
+     *
+     * @param distribution The class distribution.
+     * @return The index of the most probable class.
+     */
+    private static int argMax(final double[] distribution) {
+        int maxIndex = 0;
+        for (int index = 1; index < distribution.length; index++) {
+            if (distribution[index] > distribution[maxIndex]) {
+                maxIndex = index;
+            }
+        }
+        return maxIndex;
+    }
+
+    /**
+     * Gets the class indexes returned by the model for a batch of instances.
+     *
+     * @param result The Numpy array of class indexes returned by the model.
+     * @return The index of the class of each instance.
+     */
+    private static int[] toClassIndexes(final NDArray<?> result) {
+        return (int[]) result.getData();
+    }
+
+    /**
+     * An evaluation that calls one of the Python callables of a model.
+     *
+     * @param <T> The type of the result of the evaluation.
+     * @see #submitCallableEvaluation(boolean, CallableEvaluation)
+     */
+    @FunctionalInterface
+    interface CallableEvaluation<T> {
+
+        /**
+         * Runs the evaluation in the thread of the Jep instance.
+         *
+         * @param jep          The Jep instance where the model is loaded.
+         * @param callableName The name of the Python callable of the model.
+         * @return The result of the evaluation.
+         * @throws JepException If there is a problem calling Python.
+         */
+        T apply(Jep jep, String callableName) throws JepException;
+    }
+
+    /**
+     * The CSR arrays of a matrix of features, sent to Python as Numpy arrays that the
+     * {@link #SPARSE_CALLABLE sparse callable} assembles into a {@code scipy.sparse.csr_matrix}.
+     */
+    private static final class CsrMatrix {
+
+        /**
+         * The non-zero values, row by row.
+         */
+        private final NDArray<?> data;
+
+        /**
+         * The column of each non-zero value.
+         */
+        private final NDArray<int[]> indices;
+
+        /**
+         * The position of the first value of each row, followed by the number of non-zero values.
+         */
+        private final NDArray<int[]> indptr;
+
+        /**
+         * Constructor.
+         *
+         * @param encoder         The encoder with the matrix, which is copied.
+         * @param singlePrecision Whether the values are sent as float32 instead of float64.
+         */
+        private CsrMatrix(final CsrFeatureEncoder encoder, final boolean singlePrecision) {
+            this.data = encoder.getDataArray(singlePrecision);
+            this.indices = encoder.getIndicesArray();
+            this.indptr = encoder.getIndptrArray();
+        }
+    }
+
+    /**
+     * Buffers reused by every call that a Jep instance thread scores for this model, so that the steady-state
+     * scoring of single instances does not allocate input and output arrays.
+     */
+    private static final class ScoringContext {
+
+        /**
+         * The features of the instance being scored.
+         */
+        private final Buffer features;
+
+        /**
+         * A 1×N Numpy matrix backed by {@link #features}.
+         */
+        private final Object featuresArray;
+
+        /**
+         * Direct buffer where Python writes the class distribution of the instance being scored.
+         */
+        private final DoubleBuffer distribution;
+
+        /**
+         * A Numpy array backed by the memory of {@link #distribution}.
+         */
+        private final DirectNDArray<DoubleBuffer> distributionArray;
+
+        /**
+         * Constructor.
+         *
+         * @param features      The buffer, of doubles or floats, where the features of the instance being scored are
+         *                      encoded.
+         * @param featuresArray A 1×N Numpy matrix backed by {@code features}.
+         * @param numberClasses The number of classes of the target variable.
+         */
+        private ScoringContext(final Buffer features, final Object featuresArray, final int numberClasses) {
+            this.features = features;
+            this.featuresArray = featuresArray;
+            this.distribution = DirectFeatureSlab.allocate(numberClasses);
+            this.distributionArray = new DirectNDArray<>(this.distribution, numberClasses);
+        }
+    }
+
 }
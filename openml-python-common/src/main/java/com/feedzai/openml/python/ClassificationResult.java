@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import com.google.common.base.MoreObjects;
+
+import java.util.Arrays;
+
+/**
+ * The predicted class of an instance together with its class probability distribution, as scored by a single call to
+ * a model.
+ *
+ * @author Feedzai OpenML Cluster
+ * @see ClassificationPythonModel#classifyWithDistribution(com.feedzai.openml.data.Instance)
+ * @since @@@feedzai.next.release@@@
+ */
+public final class ClassificationResult {
+
+    /**
+     * The index of the predicted class in the target field's schema.
+     */
+    private final int classIndex;
+
+    /**
+     * The class probability distribution.
+     */
+    private final double[] classDistribution;
+
+    /**
+     * Constructor.
+     *
+     * @param classIndex        The index of the predicted class in the target field's schema.
+     * @param classDistribution The class probability distribution, which is not copied.
+     */
+    public ClassificationResult(final int classIndex, final double[] classDistribution) {
+        this.classIndex = classIndex;
+        this.classDistribution = classDistribution;
+    }
+
+    /**
+     * Gets the index of the predicted class in the target field's schema.
+     *
+     * @return The index of the predicted class.
+     */
+    public int getClassIndex() {
+        return this.classIndex;
+    }
+
+    /**
+     * Gets the class probability distribution.
+     *
+     * @return The class probability distribution, which is not copied.
+     */
+    public double[] getClassDistribution() {
+        return this.classDistribution;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("classIndex", this.classIndex)
+                .add("classDistribution", Arrays.toString(this.classDistribution))
+                .toString();
+    }
+}
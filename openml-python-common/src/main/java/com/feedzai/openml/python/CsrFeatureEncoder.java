@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import jep.NDArray;
+
+import java.nio.Buffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes matrices of features in the compressed sparse row (CSR) format, which only holds the non-zero values of
+ * each row along with their columns.
+ * <p>
+ * Like the {@link DirectFeatureSlab}, there is one encoder per thread, shared by every model scored in that thread,
+ * whose arrays grow to fit the largest matrix encoded so far and are reused afterwards. The encoded matrix is only
+ * valid until the next call to {@link #start()} in the same thread.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+final class CsrFeatureEncoder {
+
+    /**
+     * The initial number of non-zero values of each encoder.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The initial number of rows of each encoder.
+     */
+    private static final int INITIAL_ROWS = 64;
+
+    /**
+     * The encoder of each thread.
+     */
+    private static final ThreadLocal<CsrFeatureEncoder> ENCODERS = ThreadLocal.withInitial(CsrFeatureEncoder::new);
+
+    /**
+     * The non-zero values, row by row.
+     */
+    private double[] data;
+
+    /**
+     * The column of each non-zero value.
+     */
+    private int[] indices;
+
+    /**
+     * The position in {@link #data} of the first value of each row, followed by the number of non-zero values.
+     */
+    private int[] indptr;
+
+    /**
+     * The number of non-zero values encoded.
+     */
+    private int nonZeros;
+
+    /**
+     * The number of rows encoded.
+     */
+    private int rows;
+
+    /**
+     * Constructor.
+     */
+    private CsrFeatureEncoder() {
+        this.data = new double[INITIAL_CAPACITY];
+        this.indices = new int[INITIAL_CAPACITY];
+        this.indptr = new int[INITIAL_ROWS + 1];
+    }
+
+    /**
+     * Gets the encoder of the current thread, emptied to encode a new matrix.
+     *
+     * @return The encoder.
+     */
+    static CsrFeatureEncoder start() {
+        final CsrFeatureEncoder encoder = ENCODERS.get();
+        encoder.nonZeros = 0;
+        encoder.rows = 0;
+        return encoder;
+    }
+
+    /**
+     * Adds a value to the current row, if it is not zero.
+     *
+     * @param column The column of the value.
+     * @param value  The value.
+     */
+    void add(final int column, final double value) {
+        if (value == 0) {
+            return;
+        }
+        if (this.nonZeros == this.data.length) {
+            this.data = Arrays.copyOf(this.data, this.data.length * 2);
+            this.indices = Arrays.copyOf(this.indices, this.indices.length * 2);
+        }
+        this.data[this.nonZeros] = value;
+        this.indices[this.nonZeros] = column;
+        this.nonZeros++;
+    }
+
+    /**
+     * Ends the current row, the next values are added to a new one.
+     */
+    void endRow() {
+        if (this.rows + 2 > this.indptr.length) {
+            this.indptr = Arrays.copyOf(this.indptr, this.indptr.length * 2);
+        }
+        this.rows++;
+        this.indptr[this.rows] = this.nonZeros;
+    }
+
+    /**
+     * Gets the number of non-zero values encoded.
+     *
+     * @return The number of non-zero values.
+     */
+    int getNonZeros() {
+        return this.nonZeros;
+    }
+
+    /**
+     * Gets the number of rows encoded.
+     *
+     * @return The number of rows.
+     */
+    int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Gets the non-zero values as a Numpy array.
+     *
+     * @param singlePrecision Whether the values are sent as float32 instead of float64.
+     * @return The values.
+     */
+    NDArray<?> getDataArray(final boolean singlePrecision) {
+        if (singlePrecision) {
+            final float[] values = new float[this.nonZeros];
+            for (int index = 0; index < this.nonZeros; index++) {
+                values[index] = (float) this.data[index];
+            }
+            return new NDArray<>(values, this.nonZeros);
+        }
+        return new NDArray<>(Arrays.copyOf(this.data, this.nonZeros), this.nonZeros);
+    }
+
+    /**
+     * Gets the column of each non-zero value as a Numpy array.
+     *
+     * @return The columns.
+     */
+    NDArray<int[]> getIndicesArray() {
+        return new NDArray<>(Arrays.copyOf(this.indices, this.nonZeros), this.nonZeros);
+    }
+
+    /**
+     * Gets the position of the first value of each row as a Numpy array, followed by the number of non-zero values.
+     *
+     * @return The row pointers.
+     */
+    NDArray<int[]> getIndptrArray() {
+        return new NDArray<>(Arrays.copyOf(this.indptr, this.rows + 1), this.rows + 1);
+    }
+
+    /**
+     * Writes the encoded matrix into a buffer of dense features, zeros included.
+     *
+     * @param features The buffer of features, of doubles or floats, with room for every value of the matrix.
+     * @param columns  The number of columns of the matrix.
+     */
+    void scatterInto(final Buffer features, final int columns) {
+        final int length = this.rows * columns;
+        if (features instanceof FloatBuffer) {
+            final FloatBuffer floatFeatures = (FloatBuffer) features;
+            for (int index = 0; index < length; index++) {
+                floatFeatures.put(index, 0);
+            }
+            for (int row = 0; row < this.rows; row++) {
+                for (int index = this.indptr[row]; index < this.indptr[row + 1]; index++) {
+                    floatFeatures.put(row * columns + this.indices[index], (float) this.data[index]);
+                }
+            }
+        } else {
+            final DoubleBuffer doubleFeatures = (DoubleBuffer) features;
+            for (int index = 0; index < length; index++) {
+                doubleFeatures.put(index, 0);
+            }
+            for (int row = 0; row < this.rows; row++) {
+                for (int index = this.indptr[row]; index < this.indptr[row + 1]; index++) {
+                    doubleFeatures.put(row * columns + this.indices[index], this.data[index]);
+                }
+            }
+        }
+    }
+}
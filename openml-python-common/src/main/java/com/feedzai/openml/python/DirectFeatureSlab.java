@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Off-heap memory where the features of the instances scored by a Jep instance are staged before being handed to
+ * Python as Numpy arrays backed by the same memory.
+ * <p>
+ * Each {@link com.feedzai.openml.python.jep.instance.JepInstance} runs its evaluations on its own thread, so there is
+ * one slab per thread, shared by every model loaded in that Jep instance. The slab grows to fit the largest batch
+ * scored so far and is reused afterwards, which means that the buffers it hands out are only valid until the next
+ * call to {@link #acquire(int)} in the same thread.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+final class DirectFeatureSlab {
+
+    /**
+     * The initial number of bytes of each slab.
+     */
+    private static final int INITIAL_CAPACITY = 1024 * Double.BYTES;
+
+    /**
+     * The slab of each thread.
+     */
+    private static final ThreadLocal<DirectFeatureSlab> SLABS = ThreadLocal.withInitial(DirectFeatureSlab::new);
+
+    /**
+     * The memory of this slab.
+     */
+    private ByteBuffer memory;
+
+    /**
+     * Constructor.
+     */
+    private DirectFeatureSlab() {
+        this.memory = allocateBytes(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Gets a buffer with exactly {@code length} values from the slab of the current thread.
+     *
+     * @param length The number of values of the buffer.
+     * @return The buffer, with its position at 0 and its capacity equal to {@code length}.
+     */
+    static DoubleBuffer acquire(final int length) {
+        return SLABS.get().view(length * Double.BYTES).asDoubleBuffer();
+    }
+
+    /**
+     * Gets a buffer with exactly {@code length} single precision values from the slab of the current thread, which
+     * shares its memory with the buffers returned by {@link #acquire(int)}.
+     *
+     * @param length The number of values of the buffer.
+     * @return The buffer, with its position at 0 and its capacity equal to {@code length}.
+     */
+    static FloatBuffer acquireFloats(final int length) {
+        return SLABS.get().view(length * Float.BYTES).asFloatBuffer();
+    }
+
+    /**
+     * Allocates a direct buffer in the native byte order, the layout Numpy expects.
+     *
+     * @param length The number of values of the buffer.
+     * @return The new buffer.
+     */
+    static DoubleBuffer allocate(final int length) {
+        return allocateBytes(length * Double.BYTES).asDoubleBuffer();
+    }
+
+    /**
+     * Allocates a direct buffer of single precision values in the native byte order, the layout Numpy expects.
+     *
+     * @param length The number of values of the buffer.
+     * @return The new buffer.
+     */
+    static FloatBuffer allocateFloats(final int length) {
+        return allocateBytes(length * Float.BYTES).asFloatBuffer();
+    }
+
+    /**
+     * Checks whether a buffer can be handed to Python without copying it.
+     *
+     * @param buffer The buffer.
+     * @return {@code true} if the buffer is direct and in the native byte order, {@code false} otherwise.
+     */
+    static boolean isShareable(final DoubleBuffer buffer) {
+        return buffer.isDirect() && buffer.order() == ByteOrder.nativeOrder();
+    }
+
+    /**
+     * Gets a view of the next {@code length} values of a buffer, starting at its current position.
+     *
+     * @param buffer The buffer.
+     * @param length The number of values of the view.
+     * @return The view, with its position at 0 and its capacity equal to {@code length}.
+     */
+    static DoubleBuffer slice(final DoubleBuffer buffer, final int length) {
+        final DoubleBuffer view = buffer.duplicate();
+        // The casts keep the Java 8 signatures of these methods, which return Buffer
+        ((Buffer) view).limit(view.position() + length);
+        return view.slice();
+    }
+
+    /**
+     * Allocates direct memory in the native byte order.
+     *
+     * @param bytes The number of bytes.
+     * @return The new memory.
+     */
+    private static ByteBuffer allocateBytes(final int bytes) {
+        return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Gets a view of the first {@code bytes} bytes of this slab, growing it if needed.
+     *
+     * @param bytes The number of bytes of the view.
+     * @return The view, in the native byte order.
+     */
+    private ByteBuffer view(final int bytes) {
+        if (this.memory.capacity() < bytes) {
+            this.memory = allocateBytes(Math.max(bytes, this.memory.capacity() * 2));
+        }
+        final ByteBuffer view = this.memory.duplicate();
+        // The casts keep the Java 8 signatures of these methods, which return Buffer
+        ((Buffer) view).clear();
+        ((Buffer) view).limit(bytes);
+        return view.slice().order(ByteOrder.nativeOrder());
+    }
+}
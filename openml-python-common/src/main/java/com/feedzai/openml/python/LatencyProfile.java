@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSortedMap;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The steady-state latency of a model's calls per batch size, measured when the model is warmed up after being
+ * loaded.
+ *
+ * @author Feedzai OpenML Cluster
+ * @see PythonModelConfig.Builder#withWarmUp(java.util.List, int)
+ * @since @@@feedzai.next.release@@@
+ */
+public final class LatencyProfile {
+
+    /**
+     * The median latency of the calls, by batch size.
+     */
+    private final ImmutableSortedMap<Integer, Duration> p50;
+
+    /**
+     * The 99th percentile latency of the calls, by batch size.
+     */
+    private final ImmutableSortedMap<Integer, Duration> p99;
+
+    /**
+     * The number of calls whose latencies make up the percentiles, by batch size.
+     */
+    private final ImmutableSortedMap<Integer, Integer> samples;
+
+    /**
+     * Constructor.
+     *
+     * @param p50     The median latency of the calls, by batch size.
+     * @param p99     The 99th percentile latency of the calls, by batch size, for the same batch sizes.
+     * @param samples The number of calls whose latencies make up the percentiles, by batch size, for the same batch
+     *                sizes.
+     */
+    public LatencyProfile(final Map<Integer, Duration> p50,
+                          final Map<Integer, Duration> p99,
+                          final Map<Integer, Integer> samples) {
+        Preconditions.checkArgument(p50.keySet().equals(p99.keySet()), "Both percentiles need the same batch sizes.");
+        Preconditions.checkArgument(
+                p50.keySet().equals(samples.keySet()),
+                "The sample counts need the same batch sizes as the percentiles."
+        );
+        this.p50 = ImmutableSortedMap.copyOf(p50);
+        this.p99 = ImmutableSortedMap.copyOf(p99);
+        this.samples = ImmutableSortedMap.copyOf(samples);
+    }
+
+    /**
+     * Gets the batch sizes that were profiled.
+     *
+     * @return The batch sizes, in ascending order.
+     */
+    public Set<Integer> getBatchSizes() {
+        return this.p50.keySet();
+    }
+
+    /**
+     * Gets the median latency of the calls with a given batch size.
+     *
+     * @param batchSize The batch size, 1 for single instance calls.
+     * @return The median latency.
+     */
+    public Duration getP50(final int batchSize) {
+        return getLatency(this.p50, batchSize);
+    }
+
+    /**
+     * Gets the 99th percentile latency of the calls with a given batch size.
+     *
+     * @param batchSize The batch size, 1 for single instance calls.
+     * @return The 99th percentile latency.
+     */
+    public Duration getP99(final int batchSize) {
+        return getLatency(this.p99, batchSize);
+    }
+
+    /**
+     * Gets the number of calls with a given batch size whose latencies make up its percentiles. With few calls, the
+     * 99th percentile is the slowest of them.
+     *
+     * @param batchSize The batch size, 1 for single instance calls.
+     * @return The number of calls.
+     */
+    public int getSamples(final int batchSize) {
+        final Integer count = this.samples.get(batchSize);
+        Preconditions.checkArgument(count != null, "The batch size %s was not profiled.", batchSize);
+        return count;
+    }
+
+    /**
+     * Gets the latency of the calls with a given batch size.
+     *
+     * @param latencies The latencies, by batch size.
+     * @param batchSize The batch size.
+     * @return The latency.
+     */
+    private static Duration getLatency(final Map<Integer, Duration> latencies, final int batchSize) {
+        final Duration latency = latencies.get(batchSize);
+        Preconditions.checkArgument(latency != null, "The batch size %s was not profiled.", batchSize);
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("p50", this.p50)
+                .add("p99", this.p99)
+                .add("samples", this.samples)
+                .toString();
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.google.common.base.Preconditions;
+import com.google.common.io.BaseEncoding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A cache of loaded models keyed by the content of their model directory and their schema, so that loading the same
+ * model artifact many times (e.g. for many tenants) shares a single loaded model and its Jep instances.
+ * <p>
+ * {@link #acquire(Path, DatasetSchema)} returns a {@link Handle} to the cached model, loading it only if no identical
+ * model is cached. The cache counts the open handles of each model, and models without open handles are kept for
+ * later loads until there are more than {@link #maxUnreferencedModels} of them, when the least recently used ones are
+ * closed.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class LoadedModelCache implements AutoCloseable {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(LoadedModelCache.class);
+
+    /**
+     * The size of the buffer used to read the files of a model directory.
+     */
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The loader of the models.
+     */
+    private final AbstractClassificationPythonModelLoaderImpl loader;
+
+    /**
+     * The maximum number of models without open handles kept in the cache.
+     */
+    private final int maxUnreferencedModels;
+
+    /**
+     * The cached models, loaded or still loading.
+     */
+    private final Map<Key, Entry> entries;
+
+    /**
+     * The cached models without open handles, from the least to the most recently used.
+     */
+    private final LinkedHashMap<Key, Entry> unreferenced;
+
+    /**
+     * Whether this cache was closed.
+     */
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param loader                The loader of the models.
+     * @param maxUnreferencedModels The maximum number of models without open handles kept in the cache.
+     */
+    public LoadedModelCache(final AbstractClassificationPythonModelLoaderImpl loader, final int maxUnreferencedModels) {
+        Preconditions.checkArgument(maxUnreferencedModels >= 0, "The maximum number of unreferenced models cannot be negative. Got %s", maxUnreferencedModels);
+        this.loader = Preconditions.checkNotNull(loader);
+        this.maxUnreferencedModels = maxUnreferencedModels;
+        this.entries = new HashMap<>();
+        this.unreferenced = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Gets a handle to a model, loading it unless an identical model (same directory content and schema) is cached.
+     *
+     * @param modelPath The path to the model directory.
+     * @param schema    The schema of the model.
+     * @return A handle to the model, which must be closed once it is no longer used.
+     * @throws ModelLoadingException If the model cannot be loaded.
+     */
+    public Handle acquire(final Path modelPath, final DatasetSchema schema) throws ModelLoadingException {
+        final Key key = new Key(hashContent(modelPath), schema);
+
+        final Entry entry;
+        final boolean loading;
+        synchronized (this) {
+            Preconditions.checkState(!this.closed, "The model cache is closed.");
+            final Entry cached = this.entries.get(key);
+            loading = cached == null;
+            entry = loading ? new Entry() : cached;
+            if (loading) {
+                this.entries.put(key, entry);
+            }
+            this.unreferenced.remove(key);
+            entry.references++;
+        }
+
+        if (loading) {
+            try {
+                entry.model.complete(this.loader.loadModel(modelPath, schema));
+                logger.info("Model [{}] loaded into the cache with hash {}.", modelPath, key.contentHash);
+            } catch (final ModelLoadingException | RuntimeException e) {
+                synchronized (this) {
+                    this.entries.remove(key);
+                }
+                entry.model.completeExceptionally(e);
+                throw e;
+            }
+        } else {
+            logger.debug("Model [{}] found in the cache with hash {}.", modelPath, key.contentHash);
+        }
+
+        try {
+            return new Handle(key, entry, entry.model.get());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(key, entry);
+            throw new ModelLoadingException("Interrupted while waiting for the model to be loaded.", e);
+        } catch (final ExecutionException e) {
+            release(key, entry);
+            throw new ModelLoadingException("Error while loading the model.", e.getCause());
+        }
+    }
+
+    /**
+     * Gets the number of models in the cache, with or without open handles.
+     *
+     * @return The number of cached models.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Closes every cached model, including those with open handles.
+     */
+    @Override
+    public void close() {
+        final List<Entry> closing;
+        synchronized (this) {
+            this.closed = true;
+            closing = new ArrayList<>(this.entries.values());
+            this.entries.clear();
+            this.unreferenced.clear();
+        }
+        closing.forEach(entry -> entry.model.thenAccept(ClassificationPythonModel::close));
+    }
+
+    /**
+     * Releases a reference to a cached model, and closes the least recently used models without references if there
+     * are too many of them.
+     *
+     * @param key   The key of the model.
+     * @param entry The cache entry of the model.
+     */
+    private void release(final Key key, final Entry entry) {
+        final List<Entry> evicted;
+        synchronized (this) {
+            entry.references--;
+            if (entry.references > 0 || this.entries.get(key) != entry) {
+                return;
+            }
+            this.unreferenced.put(key, entry);
+
+            evicted = new ArrayList<>();
+            final Iterator<Map.Entry<Key, Entry>> eldest = this.unreferenced.entrySet().iterator();
+            while (this.unreferenced.size() > this.maxUnreferencedModels) {
+                final Map.Entry<Key, Entry> evict = eldest.next();
+                eldest.remove();
+                this.entries.remove(evict.getKey());
+                evicted.add(evict.getValue());
+                logger.debug("Model with hash {} evicted from the cache.", evict.getKey().contentHash);
+            }
+        }
+        evicted.forEach(evictedEntry -> evictedEntry.model.thenAccept(ClassificationPythonModel::close));
+    }
+
+    /**
+     * Computes a hash of the content of a model directory: the relative path and the bytes of each file, in the
+     * order of their paths.
+     *
+     * @param modelPath The path to the model directory.
+     * @return The hexadecimal SHA-256 hash of the directory.
+     * @throws ModelLoadingException If the directory cannot be read.
+     */
+    private static String hashContent(final Path modelPath) throws ModelLoadingException {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+
+        try (Stream<Path> paths = Files.walk(modelPath)) {
+            final List<Path> files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            final byte[] buffer = new byte[READ_BUFFER_SIZE];
+            for (final Path file : files) {
+                digest.update(modelPath.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                try (InputStream input = Files.newInputStream(file)) {
+                    int read;
+                    while ((read = input.read(buffer)) > 0) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new ModelLoadingException("Could not read the model directory " + modelPath, e);
+        }
+        return BaseEncoding.base16().lowerCase().encode(digest.digest());
+    }
+
+    /**
+     * A handle to a cached model, which releases its reference to the model when closed.
+     */
+    public final class Handle implements ClassificationMLModel {
+
+        /**
+         * The key of the model.
+         */
+        private final Key key;
+
+        /**
+         * The cache entry of the model.
+         */
+        private final Entry entry;
+
+        /**
+         * The cached model.
+         */
+        private final ClassificationPythonModel model;
+
+        /**
+         * Whether this handle was closed.
+         */
+        private boolean released;
+
+        /**
+         * Constructor.
+         *
+         * @param key   The key of the model.
+         * @param entry The cache entry of the model.
+         * @param model The cached model.
+         */
+        private Handle(final Key key, final Entry entry, final ClassificationPythonModel model) {
+            this.key = key;
+            this.entry = entry;
+            this.model = model;
+        }
+
+        /**
+         * Gets the cached model, shared with the other handles to it, which must not be closed directly.
+         *
+         * @return The cached model.
+         */
+        public ClassificationPythonModel getModel() {
+            return this.model;
+        }
+
+        @Override
+        public double[] getClassDistribution(final Instance instance) {
+            return this.model.getClassDistribution(instance);
+        }
+
+        @Override
+        public int classify(final Instance instance) {
+            return this.model.classify(instance);
+        }
+
+        @Override
+        public boolean save(final Path dir, final String name) {
+            return this.model.save(dir, name);
+        }
+
+        @Override
+        public DatasetSchema getSchema() {
+            return this.model.getSchema();
+        }
+
+        /**
+         * Releases the reference of this handle to the cached model, which is closed once it has no references and is
+         * evicted from the cache.
+         */
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (this.released) {
+                    return;
+                }
+                this.released = true;
+            }
+            release(this.key, this.entry);
+        }
+    }
+
+    /**
+     * A cached model and the number of open handles to it.
+     */
+    private static final class Entry {
+
+        /**
+         * The model, completed once it is loaded.
+         */
+        private final CompletableFuture<ClassificationPythonModel> model = new CompletableFuture<>();
+
+        /**
+         * The number of open handles to the model, including the ones still waiting for it to be loaded.
+         */
+        private int references;
+    }
+
+    /**
+     * The identity of a cached model: the content of its directory and its schema.
+     */
+    private static final class Key {
+
+        /**
+         * The hash of the content of the model directory.
+         */
+        private final String contentHash;
+
+        /**
+         * The schema of the model.
+         */
+        private final DatasetSchema schema;
+
+        /**
+         * Constructor.
+         *
+         * @param contentHash The hash of the content of the model directory.
+         * @param schema      The schema of the model.
+         */
+        private Key(final String contentHash, final DatasetSchema schema) {
+            this.contentHash = contentHash;
+            this.schema = schema;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) other;
+            return this.contentHash.equals(key.contentHash) && this.schema.equals(key.schema);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.contentHash, this.schema);
+        }
+    }
+}
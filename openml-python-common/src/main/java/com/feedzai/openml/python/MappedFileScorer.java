@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Scores matrices of features stored in binary files, for offline rescoring of data sets too big to go through
+ * {@link com.feedzai.openml.data.Instance} objects.
+ * <p>
+ * The features file holds a row-major matrix of little-endian float64 values, with a row per instance and a column
+ * per predictive (i.e. non-target) field of the schema of the model, encoded as in
+ * {@link ClassificationPythonModel#getClassDistributions(java.nio.DoubleBuffer, int)}. The results are written into
+ * another file: a row-major matrix of little-endian float64 class distributions or a vector of little-endian int32
+ * class indexes.
+ * <p>
+ * Both files are memory-mapped by Python with {@code numpy.memmap}, one chunk of rows at a time, so the data never
+ * crosses Jep nor the Java heap, and the memory used stays flat regardless of the size of the files. The chunks are
+ * scored by all the Jep instances of the model, with up to {@link #maxChunksInFlight} chunks submitted at a time.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public final class MappedFileScorer {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(MappedFileScorer.class);
+
+    /**
+     * The default number of rows of each chunk.
+     */
+    public static final int DEFAULT_CHUNK_ROWS = 64 * 1024;
+
+    /**
+     * The Numpy type of the values of the features file.
+     */
+    private static final String FEATURES_TYPE = "<f8";
+
+    /**
+     * The Numpy type of the values of a class distributions file.
+     */
+    private static final String DISTRIBUTIONS_TYPE = "<f8";
+
+    /**
+     * The Numpy type of the values of a class indexes file.
+     */
+    private static final String CLASSES_TYPE = "<i4";
+
+    /**
+     * Name of the Python function that scores a chunk of rows of a features file.
+     */
+    private static final String SCORE_CHUNK_FUNCTION = "_openml_score_mapped_chunk";
+
+    /**
+     * Python code that defines the function that scores a chunk of rows of a features file: it maps the chunk of
+     * both files, calls the model and writes the results into the mapped results file.
+     */
+    private static final String SCORE_CHUNK_FUNCTION_DEFINITION = "exec('''\n"
+            + "def " + SCORE_CHUNK_FUNCTION + "(callable_name, source, source_type, source_columns,"
+            + " target, target_type, target_columns, first_row, rows, feature_type):\n"
+            + "    import numpy\n"
+            + "    source_type = numpy.dtype(source_type)\n"
+            + "    target_type = numpy.dtype(target_type)\n"
+            + "    features = numpy.memmap(source, dtype=source_type, mode='r',"
+            + " offset=first_row * source_columns * source_type.itemsize, shape=(rows, source_columns))\n"
+            + "    results = numpy.memmap(target, dtype=target_type, mode='r+',"
+            + " offset=first_row * target_columns * target_type.itemsize, shape=(rows, target_columns))\n"
+            + "    results[:] = numpy.asarray(globals()[callable_name](features.astype(feature_type, copy=False)))"
+            + ".reshape(rows, target_columns)\n"
+            + "    results.flush()\n"
+            + "    del features, results\n"
+            + "''')";
+
+    /**
+     * The model that scores the files.
+     */
+    private final ClassificationPythonModel model;
+
+    /**
+     * The maximum number of rows of each chunk.
+     */
+    private final int chunkRows;
+
+    /**
+     * The maximum number of chunks submitted to the model at a time.
+     */
+    private final int maxChunksInFlight;
+
+    /**
+     * Constructor.
+     *
+     * @param model             The model that scores the files.
+     * @param chunkRows         The maximum number of rows of each chunk.
+     * @param maxChunksInFlight The maximum number of chunks submitted to the model at a time.
+     */
+    public MappedFileScorer(final ClassificationPythonModel model, final int chunkRows, final int maxChunksInFlight) {
+        Preconditions.checkArgument(chunkRows > 0, "The number of rows of each chunk must be positive. Got %s", chunkRows);
+        Preconditions.checkArgument(maxChunksInFlight > 0, "The maximum number of chunks in flight must be positive. Got %s", maxChunksInFlight);
+        this.model = Preconditions.checkNotNull(model);
+        this.chunkRows = chunkRows;
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
+    /**
+     * Constructor with chunks of {@link #DEFAULT_CHUNK_ROWS} rows, and two chunks in flight per Jep instance of the
+     * model.
+     *
+     * @param model The model that scores the files.
+     */
+    public MappedFileScorer(final ClassificationPythonModel model) {
+        this(model, DEFAULT_CHUNK_ROWS, 2 * model.getNumberInterpreters());
+    }
+
+    /**
+     * Gets the class probability distributions of the instances of a features file.
+     *
+     * @param features      The features file.
+     * @param distributions The file where the class distributions are written, which is created or resized.
+     * @return The number of scored instances.
+     * @throws IOException          If there is a problem with the files.
+     * @throws InterruptedException If the thread is interrupted while waiting for a chunk to be scored.
+     */
+    public long scoreDistributions(final Path features, final Path distributions) throws IOException, InterruptedException {
+        return score(features, distributions, false, DISTRIBUTIONS_TYPE, this.model.getNumberClasses(), Double.BYTES);
+    }
+
+    /**
+     * Classifies the instances of a features file.
+     * <p>
+     * Instances for which the model predicts a class that is not in the target field's schema get the index -1.
+     *
+     * @param features The features file.
+     * @param classes  The file where the class indexes are written, which is created or resized.
+     * @return The number of classified instances.
+     * @throws IOException          If there is a problem with the files.
+     * @throws InterruptedException If the thread is interrupted while waiting for a chunk to be scored.
+     */
+    public long classify(final Path features, final Path classes) throws IOException, InterruptedException {
+        return score(features, classes, true, CLASSES_TYPE, 1, Integer.BYTES);
+    }
+
+    /**
+     * Scores the instances of a features file in chunks.
+     *
+     * @param features      The features file.
+     * @param results       The results file, which is created or resized.
+     * @param classify      Whether the instances are classified, or their class distributions are computed.
+     * @param resultType    The Numpy type of the values of the results file.
+     * @param resultColumns The number of values of the result of each instance.
+     * @param resultBytes   The number of bytes of each value of the results file.
+     * @return The number of scored instances.
+     * @throws IOException          If there is a problem with the files.
+     * @throws InterruptedException If the thread is interrupted while waiting for a chunk to be scored.
+     */
+    private long score(final Path features,
+                       final Path results,
+                       final boolean classify,
+                       final String resultType,
+                       final int resultColumns,
+                       final int resultBytes) throws IOException, InterruptedException {
+
+        final int columns = this.model.getNumberPredictiveFields();
+        final long rowBytes = (long) columns * Double.BYTES;
+        final long size = Files.size(features);
+        Preconditions.checkArgument(
+                size % rowBytes == 0,
+                "The features file must hold rows of %s float64 values. Got %s bytes",
+                columns,
+                size
+        );
+        final long rows = size / rowBytes;
+
+        // Python maps the results file in place, so it must already have its final size
+        try (RandomAccessFile resultsFile = new RandomAccessFile(results.toFile(), "rw")) {
+            resultsFile.setLength(rows * resultColumns * resultBytes);
+        }
+
+        final String source = features.toAbsolutePath().toString();
+        final String target = results.toAbsolutePath().toString();
+        final String featureType = this.model.getConfig().getFeaturePrecision() == PythonModelConfig.FeaturePrecision.FLOAT
+                ? "float32"
+                : "float64";
+
+        final Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>(this.maxChunksInFlight);
+        for (long firstRow = 0; firstRow < rows; firstRow += this.chunkRows) {
+            if (inFlight.size() == this.maxChunksInFlight) {
+                await(inFlight.poll());
+            }
+
+            final long chunkFirstRow = firstRow;
+            final long chunkRows = Math.min(this.chunkRows, rows - firstRow);
+            inFlight.add(this.model.submitCallableEvaluation(classify, (jep, callableName) -> {
+                if (!((Boolean) jep.getValue(String.format("'%s' in globals()", SCORE_CHUNK_FUNCTION)))) {
+                    jep.eval(SCORE_CHUNK_FUNCTION_DEFINITION);
+                }
+                jep.invoke(
+                        SCORE_CHUNK_FUNCTION,
+                        callableName,
+                        source,
+                        FEATURES_TYPE,
+                        columns,
+                        target,
+                        resultType,
+                        resultColumns,
+                        chunkFirstRow,
+                        chunkRows,
+                        featureType
+                );
+                return null;
+            }));
+        }
+
+        while (!inFlight.isEmpty()) {
+            await(inFlight.poll());
+        }
+
+        logger.info("Scored {} instances of {} into {}.", rows, features, results);
+        return rows;
+    }
+
+    /**
+     * Waits for a chunk to be scored.
+     *
+     * @param chunk The future completed when the chunk is scored.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private static void await(final CompletableFuture<Void> chunk) throws InterruptedException {
+        try {
+            chunk.get();
+        } catch (final ExecutionException e) {
+            logger.warn("Error while scoring a chunk of a features file.");
+            throw new RuntimeException("Error while scoring a chunk of a features file.", e);
+        }
+    }
+}
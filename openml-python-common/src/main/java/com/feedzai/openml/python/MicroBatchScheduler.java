@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.python.jep.instance.JepInstancePool;
+import jep.Jep;
+import jep.JepException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coalesces concurrent single instance scoring requests into batches that are scored with a single Python call.
+ * <p>
+ * Each submitted request waits in a queue until a drain evaluation runs on one of the Jep instances of the model.
+ * The drain waits until either {@link #maxBatchSize} requests are queued or the oldest request has waited for
+ * {@link #maxWaitNanos}, hands the instances of up to {@link #maxBatchSize} requests to a single call of the
+ * {@link BatchFunction} and gives each row of the result back to the request that originated it.
+ * <p>
+ * There is at most one drain per Jep instance of the pool, so that all the interpreters can score batches at the same
+ * time. Requests that are already older than the timeout, if any, when a drain takes them are dropped instead of
+ * scored.
+ *
+ * @param <R> The type of the result of each scored instance.
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+final class MicroBatchScheduler<R> {
+
+    /**
+     * Maximum time a drain sleeps between checks of whether its batch is full.
+     */
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    /**
+     * Function that scores a batch of instances in a Jep instance.
+     *
+     * @param <R> The type of the result of each scored instance.
+     */
+    @FunctionalInterface
+    interface BatchFunction<R> {
+
+        /**
+         * Scores a batch of instances.
+         *
+         * @param jep       The Jep instance where the model is loaded.
+         * @param instances The instances in the batch.
+         * @return The result of each instance, in the same order.
+         * @throws JepException If there is a problem calling the model.
+         */
+        List<R> apply(Jep jep, List<Instance> instances) throws JepException;
+    }
+
+    /**
+     * A request waiting to be scored.
+     *
+     * @param <R> The type of the result of the request.
+     */
+    private static final class PendingRequest<R> extends CompletableFuture<R> {
+
+        /**
+         * The instance to score.
+         */
+        private final Instance instance;
+
+        /**
+         * The {@link System#nanoTime()} when this request was submitted.
+         */
+        private final long submittedNanos;
+
+        /**
+         * Constructor.
+         *
+         * @param instance The instance to score.
+         */
+        private PendingRequest(final Instance instance) {
+            this.instance = instance;
+            this.submittedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * The pool of Jep instances where the model is loaded.
+     */
+    private final JepInstancePool jepInstancePool;
+
+    /**
+     * The function that scores each batch.
+     */
+    private final BatchFunction<R> batchFunction;
+
+    /**
+     * The maximum number of instances scored in a single Python call.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * The maximum time a request waits for other requests to fill its batch.
+     */
+    private final long maxWaitNanos;
+
+    /**
+     * The maximum time a request may wait to be scored before it is dropped; 0 if requests never expire.
+     */
+    private final long timeoutNanos;
+
+    /**
+     * The maximum number of drains that may be scheduled at the same time.
+     */
+    private final int maxConcurrentDrains;
+
+    /**
+     * The requests waiting to be scored.
+     */
+    private final Queue<PendingRequest<R>> queue;
+
+    /**
+     * The number of requests in {@link #queue}.
+     */
+    private final AtomicInteger queuedRequests;
+
+    /**
+     * The number of drains currently scheduled or running.
+     */
+    private final AtomicInteger activeDrains;
+
+    /**
+     * Constructor.
+     *
+     * @param jepInstancePool The pool of Jep instances where the model is loaded.
+     * @param batchFunction   The function that scores each batch.
+     * @param maxBatchSize    The maximum number of instances scored in a single Python call.
+     * @param maxWaitMicros   The maximum time, in microseconds, a request waits for other requests to fill its batch.
+     * @param timeoutMicros   The maximum time, in microseconds, a request may wait to be scored before it is dropped;
+     *                        0 if requests never expire.
+     */
+    MicroBatchScheduler(final JepInstancePool jepInstancePool,
+                        final BatchFunction<R> batchFunction,
+                        final int maxBatchSize,
+                        final long maxWaitMicros,
+                        final long timeoutMicros) {
+        this.jepInstancePool = jepInstancePool;
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.timeoutNanos = TimeUnit.MICROSECONDS.toNanos(timeoutMicros);
+        this.maxConcurrentDrains = jepInstancePool.size();
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.queuedRequests = new AtomicInteger();
+        this.activeDrains = new AtomicInteger();
+    }
+
+    /**
+     * Submits an instance to be scored in the next batch.
+     *
+     * @param instance The instance to score.
+     * @return A future with the result of the instance.
+     */
+    CompletableFuture<R> submit(final Instance instance) {
+        final PendingRequest<R> request = new PendingRequest<>(instance);
+        this.queue.add(request);
+        this.queuedRequests.incrementAndGet();
+        scheduleDrainIfNeeded();
+        return request;
+    }
+
+    /**
+     * Fails all the requests that are still waiting to be scored.
+     */
+    void close() {
+        failQueuedRequests(new IllegalStateException("The model was closed before the instance was scored."));
+    }
+
+    /**
+     * Schedules a new drain in the pool of Jep instances if there are queued requests and less than
+     * {@link #maxConcurrentDrains} drains are active.
+     * <p>
+     * A drain that is rejected by the Jep instance, either by throwing or by completing its evaluation exceptionally
+     * (see {@link com.feedzai.openml.python.jep.instance.RejectionHandler}), never runs, so it is no longer counted as
+     * active and the queued requests are failed with the cause of the rejection.
+     */
+    private void scheduleDrainIfNeeded() {
+        while (this.queuedRequests.get() > 0) {
+            final int drains = this.activeDrains.get();
+            if (drains >= this.maxConcurrentDrains) {
+                return;
+            }
+            if (this.activeDrains.compareAndSet(drains, drains + 1)) {
+                final AtomicBoolean started = new AtomicBoolean();
+                try {
+                    this.jepInstancePool.submitEvaluation(jep -> {
+                        started.set(true);
+                        return drain(jep);
+                    }).whenComplete((result, error) -> {
+                        if (error != null && !started.get()) {
+                            this.activeDrains.decrementAndGet();
+                            failQueuedRequests(error);
+                        }
+                    });
+                } catch (final RuntimeException e) {
+                    this.activeDrains.decrementAndGet();
+                    failQueuedRequests(e);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Scores one batch of queued requests. Runs on the thread of a Jep instance.
+     *
+     * @param jep The Jep instance where the model is loaded.
+     * @return Nothing.
+     */
+    private Void drain(final Jep jep) {
+        try {
+            awaitBatch();
+            final List<PendingRequest<R>> batch = pollBatch();
+            if (!batch.isEmpty()) {
+                scoreBatch(jep, batch);
+            }
+        } finally {
+            this.activeDrains.decrementAndGet();
+            scheduleDrainIfNeeded();
+        }
+        return null;
+    }
+
+    /**
+     * Waits until either a full batch is queued or the oldest queued request has waited for {@link #maxWaitNanos}.
+     */
+    private void awaitBatch() {
+        final PendingRequest<R> oldest = this.queue.peek();
+        if (oldest == null) {
+            return;
+        }
+        final long deadline = oldest.submittedNanos + this.maxWaitNanos;
+        while (this.queuedRequests.get() < this.maxBatchSize && !Thread.currentThread().isInterrupted()) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(Math.min(remaining, POLL_INTERVAL_NANOS));
+        }
+    }
+
+    /**
+     * Takes up to {@link #maxBatchSize} requests from the queue, failing the ones that have already expired.
+     *
+     * @return The requests to score in the next batch.
+     */
+    private List<PendingRequest<R>> pollBatch() {
+        final List<PendingRequest<R>> batch = new ArrayList<>(this.maxBatchSize);
+        final long now = System.nanoTime();
+        PendingRequest<R> request;
+        while (batch.size() < this.maxBatchSize && (request = this.queue.poll()) != null) {
+            this.queuedRequests.decrementAndGet();
+            if (this.timeoutNanos > 0 && now - request.submittedNanos > this.timeoutNanos) {
+                request.completeExceptionally(new TimeoutException("The instance expired before it could be scored."));
+            } else {
+                batch.add(request);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Scores a batch of requests with a single call to the {@link #batchFunction} and completes each of them.
+     *
+     * @param jep   The Jep instance where the model is loaded.
+     * @param batch The requests to score.
+     */
+    private void scoreBatch(final Jep jep, final List<PendingRequest<R>> batch) {
+        final int rows = batch.size();
+        final List<Instance> instances = new ArrayList<>(rows);
+        for (final PendingRequest<R> request : batch) {
+            instances.add(request.instance);
+        }
+
+        try {
+            final List<R> results = this.batchFunction.apply(jep, instances);
+            if (results.size() != rows) {
+                throw new IllegalStateException(String.format(
+                        "The model returned %d results for a batch of %d instances.",
+                        results.size(),
+                        rows
+                ));
+            }
+            for (int row = 0; row < rows; row++) {
+                batch.get(row).complete(results.get(row));
+            }
+        } catch (final JepException | RuntimeException e) {
+            batch.forEach(request -> request.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Fails all the requests that are still waiting to be scored.
+     *
+     * @param cause The cause of the failure.
+     */
+    private void failQueuedRequests(final Throwable cause) {
+        PendingRequest<R> request;
+        while ((request = this.queue.poll()) != null) {
+            this.queuedRequests.decrementAndGet();
+            request.completeExceptionally(cause);
+        }
+    }
+}
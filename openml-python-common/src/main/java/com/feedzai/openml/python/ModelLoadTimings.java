@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import com.google.common.base.MoreObjects;
+
+import java.time.Duration;
+
+/**
+ * The time spent in each phase of loading a {@link ClassificationPythonModel}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @see AbstractClassificationPythonModelLoaderImpl#loadModel(java.nio.file.Path, com.feedzai.openml.data.schema.DatasetSchema)
+ * @since @@@feedzai.next.release@@@
+ */
+public final class ModelLoadTimings {
+
+    /**
+     * The time spent creating and starting the Jep instances of the model.
+     */
+    private final Duration interpreterStart;
+
+    /**
+     * The time spent deserializing the model into all its Jep instances, which is done in parallel.
+     */
+    private final Duration deserialize;
+
+    /**
+     * The time spent validating the model against its schema, including the
+     * {@link AbstractClassificationPythonModelLoaderImpl#postLoadLogic post-load logic} of the loader.
+     */
+    private final Duration validate;
+
+    /**
+     * The time spent warming up the model, zero if it was not warmed up.
+     */
+    private final Duration warmUp;
+
+    /**
+     * Constructor.
+     *
+     * @param interpreterStart The time spent creating and starting the Jep instances of the model.
+     * @param deserialize      The time spent deserializing the model into all its Jep instances.
+     * @param validate         The time spent validating the model against its schema.
+     * @param warmUp           The time spent warming up the model, zero if it was not warmed up.
+     */
+    public ModelLoadTimings(final Duration interpreterStart,
+                            final Duration deserialize,
+                            final Duration validate,
+                            final Duration warmUp) {
+        this.interpreterStart = interpreterStart;
+        this.deserialize = deserialize;
+        this.validate = validate;
+        this.warmUp = warmUp;
+    }
+
+    /**
+     * Gets the time spent creating and starting the Jep instances of the model.
+     *
+     * @return The time spent starting the interpreters.
+     */
+    public Duration getInterpreterStart() {
+        return this.interpreterStart;
+    }
+
+    /**
+     * Gets the time spent deserializing the model into all its Jep instances.
+     *
+     * @return The time spent deserializing the model.
+     */
+    public Duration getDeserialize() {
+        return this.deserialize;
+    }
+
+    /**
+     * Gets the time spent validating the model against its schema.
+     *
+     * @return The time spent validating the model.
+     */
+    public Duration getValidate() {
+        return this.validate;
+    }
+
+    /**
+     * Gets the time spent warming up the model.
+     *
+     * @return The time spent warming up the model, zero if it was not warmed up.
+     * @see PythonModelConfig.Builder#withWarmUp(java.util.List, int)
+     */
+    public Duration getWarmUp() {
+        return this.warmUp;
+    }
+
+    /**
+     * Gets the total time spent loading the model.
+     *
+     * @return The sum of the time spent in each phase.
+     */
+    public Duration getTotal() {
+        return this.interpreterStart.plus(this.deserialize).plus(this.validate).plus(this.warmUp);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("interpreterStart", this.interpreterStart)
+                .add("deserialize", this.deserialize)
+                .add("validate", this.validate)
+                .add("warmUp", this.warmUp)
+                .toString();
+    }
+}
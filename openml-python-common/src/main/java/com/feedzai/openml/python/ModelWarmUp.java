@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.python.jep.instance.JepInstance;
+import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Warms up a loaded {@link ClassificationPythonModel} by scoring {@link SyntheticInstance synthetic instances}
+ * generated from its schema until the latency of its calls settles, so that lazy initializations (e.g. thread pools of
+ * numerical libraries, first-call dispatch) happen before the model scores real instances.
+ * <p>
+ * Each round sends one call to each Jep instance of the model at the same time, so that every instance is warmed up,
+ * alternating between class distribution and classification calls. Calls that a model coalesces into micro-batches
+ * are routed by the micro-batch scheduler instead. The latency settles when the median latency of the last
+ * {@link #SETTLE_WINDOW} rounds is within {@link #SETTLE_TOLERANCE} of the median of the rounds before them, and the
+ * latencies of those last rounds make up the {@link LatencyProfile}. As each round only holds one call per Jep
+ * instance, more rounds are sent after the latency settles until the profile holds at least
+ * {@link #MIN_PROFILE_SAMPLES} calls, so that its 99th percentile is not just the slowest call.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+final class ModelWarmUp {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ModelWarmUp.class);
+
+    /**
+     * The number of rounds whose latencies are compared to decide if the latency has settled.
+     */
+    private static final int SETTLE_WINDOW = 5;
+
+    /**
+     * The maximum relative difference between the median latencies of two consecutive windows of settled rounds.
+     */
+    private static final double SETTLE_TOLERANCE = 0.1;
+
+    /**
+     * The minimum number of calls whose latencies make up the profile of each batch size.
+     */
+    static final int MIN_PROFILE_SAMPLES = 100;
+
+    /**
+     * The model to warm up.
+     */
+    private final ClassificationPythonModel model;
+
+    /**
+     * The batch sizes of the calls, 1 for single instance calls.
+     */
+    private final List<Integer> batchSizes;
+
+    /**
+     * The maximum number of rounds of calls per batch size.
+     */
+    private final int maxRounds;
+
+    /**
+     * Generates the values of the synthetic instances.
+     */
+    private final Random random;
+
+    /**
+     * Constructor.
+     *
+     * @param model      The model to warm up.
+     * @param batchSizes The batch sizes of the calls, 1 for single instance calls.
+     * @param maxRounds  The maximum number of rounds of calls per batch size.
+     */
+    ModelWarmUp(final ClassificationPythonModel model, final List<Integer> batchSizes, final int maxRounds) {
+        this.model = model;
+        this.batchSizes = ImmutableList.copyOf(batchSizes);
+        this.maxRounds = maxRounds;
+        this.random = new Random(0);
+    }
+
+    /**
+     * Warms up the model with every batch size.
+     *
+     * @return The steady-state latency of the calls per batch size.
+     * @throws InterruptedException If the thread is interrupted while waiting for a call.
+     * @throws ExecutionException   If a call fails.
+     */
+    LatencyProfile run() throws InterruptedException, ExecutionException {
+        final Map<Integer, Duration> p50 = new HashMap<>();
+        final Map<Integer, Duration> p99 = new HashMap<>();
+        final Map<Integer, Integer> samples = new HashMap<>();
+        final List<JepInstance> jepInstances = this.model.getJepInstances();
+
+        for (final int batchSize : this.batchSizes) {
+            final List<long[]> rounds = new ArrayList<>();
+            do {
+                rounds.add(runRound(batchSize, jepInstances, rounds.size() % 2 == 0));
+            } while (rounds.size() < this.maxRounds && !isSettled(rounds));
+
+            final int steadyStart = Math.max(0, rounds.size() - SETTLE_WINDOW);
+            while ((rounds.size() - steadyStart) * jepInstances.size() < MIN_PROFILE_SAMPLES) {
+                rounds.add(runRound(batchSize, jepInstances, rounds.size() % 2 == 0));
+            }
+
+            final long[] steadyLatencies = merge(rounds.subList(steadyStart, rounds.size()));
+            p50.put(batchSize, Duration.ofNanos(percentile(steadyLatencies, 0.5)));
+            p99.put(batchSize, Duration.ofNanos(percentile(steadyLatencies, 0.99)));
+            samples.put(batchSize, steadyLatencies.length);
+            logger.debug("Warmed up batches of {} instances in {} rounds.", batchSize, rounds.size());
+        }
+
+        return new LatencyProfile(p50, p99, samples);
+    }
+
+    /**
+     * Sends a round of concurrent calls to the model, one to each of its Jep instances.
+     *
+     * @param batchSize     The number of instances of each call.
+     * @param jepInstances  The Jep instances of the model.
+     * @param distributions Whether the calls get class distributions instead of classes.
+     * @return The latency of each call, in nanoseconds.
+     * @throws InterruptedException If the thread is interrupted while waiting for a call.
+     * @throws ExecutionException   If a call fails.
+     */
+    private long[] runRound(final int batchSize,
+                            final List<JepInstance> jepInstances,
+                            final boolean distributions) throws InterruptedException, ExecutionException {
+        final int concurrency = jepInstances.size();
+        final long[] latencies = new long[concurrency];
+        final CompletableFuture<?>[] calls = new CompletableFuture<?>[concurrency];
+
+        for (int call = 0; call < concurrency; call++) {
+            final List<Instance> instances = createInstances(batchSize);
+            final int index = call;
+            final long startNanos = System.nanoTime();
+            final CompletableFuture<?> result;
+            this.model.setWarmUpInstance(jepInstances.get(call));
+            try {
+                if (batchSize == 1) {
+                    result = distributions
+                            ? this.model.getClassDistributionAsync(instances.get(0))
+                            : this.model.classifyAsync(instances.get(0));
+                } else {
+                    result = distributions
+                            ? this.model.getClassDistributionsAsync(instances)
+                            : this.model.classifyAllAsync(instances);
+                }
+            } finally {
+                this.model.setWarmUpInstance(null);
+            }
+            calls[call] = result.whenComplete((value, error) -> latencies[index] = System.nanoTime() - startNanos);
+        }
+
+        CompletableFuture.allOf(calls).get();
+        return latencies;
+    }
+
+    /**
+     * Checks whether the latency has settled: the median latency of the last window of rounds is within the
+     * tolerance of the median latency of the window before it.
+     *
+     * @param rounds The latencies of the rounds so far.
+     * @return {@code true} if the latency has settled, {@code false} otherwise.
+     */
+    private static boolean isSettled(final List<long[]> rounds) {
+        if (rounds.size() < 2 * SETTLE_WINDOW) {
+            return false;
+        }
+        final int size = rounds.size();
+        final long previous = percentile(merge(rounds.subList(size - 2 * SETTLE_WINDOW, size - SETTLE_WINDOW)), 0.5);
+        final long last = percentile(merge(rounds.subList(size - SETTLE_WINDOW, size)), 0.5);
+        return Math.abs(last - previous) <= SETTLE_TOLERANCE * previous;
+    }
+
+    /**
+     * Merges the latencies of many rounds into a single sorted array.
+     *
+     * @param rounds The latencies of the rounds.
+     * @return All the latencies, in ascending order.
+     */
+    private static long[] merge(final List<long[]> rounds) {
+        final long[] merged = rounds.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    /**
+     * Gets a percentile of sorted latencies, with the nearest-rank method.
+     *
+     * @param sortedLatencies The latencies, in ascending order.
+     * @param fraction        The percentile, as a fraction between 0 and 1.
+     * @return The latency at that percentile.
+     */
+    private static long percentile(final long[] sortedLatencies, final double fraction) {
+        final int rank = (int) Math.ceil(fraction * sortedLatencies.length);
+        return sortedLatencies[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Creates synthetic instances with random values that are valid for the schema of the model.
+     *
+     * @param count The number of instances.
+     * @return The instances.
+     */
+    private List<Instance> createInstances(final int count) {
+        final DatasetSchema schema = this.model.getSchema();
+        final List<Instance> instances = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            instances.add(SyntheticInstance.random(schema, this.random));
+        }
+        return instances;
+    }
+}
@@ -0,0 +1,879 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import com.feedzai.openml.python.jep.instance.JepInstancePool;
+import com.feedzai.openml.python.jep.instance.RejectionHandler;
+import com.feedzai.openml.python.jep.instance.RingBufferDispatcher;
+import com.feedzai.openml.python.jep.instance.SharedInterpreterHost;
+import com.feedzai.openml.python.jep.instance.WarmInterpreterPool;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * Configuration of how Python models are loaded and scored by an {@link AbstractClassificationPythonModelLoaderImpl}.
+ * <p>
+ * Instances are immutable and created through a {@link Builder}. The {@link #DEFAULT default configuration} keeps the
+ * historical behaviour of loading each model into a single Jep instance.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public final class PythonModelConfig {
+
+    /**
+     * The default configuration.
+     */
+    public static final PythonModelConfig DEFAULT = builder().build();
+
+    /**
+     * How the features of the scored instances are transferred from Java into the Numpy arrays sent to the models.
+     */
+    public enum FeatureTransfer {
+
+        /**
+         * The features are encoded into heap arrays that Jep copies into new Numpy arrays on every call.
+         */
+        HEAP,
+
+        /**
+         * The features are encoded into off-heap buffers of each Jep instance that Python reads as Numpy arrays
+         * backed by the same memory, skipping the copy.
+         */
+        DIRECT
+    }
+
+    /**
+     * The floating point precision of the features sent to the models.
+     */
+    public enum FeaturePrecision {
+
+        /**
+         * The features are sent as float64 Numpy arrays.
+         */
+        DOUBLE,
+
+        /**
+         * The features are sent as float32 Numpy arrays, which halves the bytes moved per instance and spares models
+         * that work in single precision internally (e.g. XGBoost and many tree models) from converting them.
+         */
+        FLOAT
+    }
+
+    /**
+     * The layout of the matrices of features sent to the models.
+     */
+    public enum FeatureFormat {
+
+        /**
+         * The features are sent as dense Numpy matrices.
+         */
+        DENSE,
+
+        /**
+         * The features are sent as {@code scipy.sparse.csr_matrix} matrices, which only hold the non-zero values of
+         * each instance. Only suitable for models that accept sparse input, e.g. those trained on one-hot or hashed
+         * features.
+         */
+        CSR,
+
+        /**
+         * Each call sends the features as a {@link #CSR} matrix when less than a quarter of its values are non-zero,
+         * and as a {@link #DENSE} one otherwise.
+         */
+        AUTO,
+
+        /**
+         * The features are sent as dense Numpy matrices that Python turns into {@code pandas.DataFrame}s with a column
+         * per predictive field, named after the field in the schema, and categorical fields as
+         * {@code pandas.Categorical} columns of their nominal values. For models that select their columns by name,
+         * e.g. scikit-learn pipelines with a {@code ColumnTransformer}.
+         */
+        DATAFRAME
+    }
+
+    /**
+     * Number of Jep instances into which each model is loaded.
+     */
+    private final int interpreterPoolSize;
+
+    /**
+     * Strategy used to choose the Jep instance that scores each call when there is more than one.
+     */
+    private final JepInstancePool.RoutingStrategy routingStrategy;
+
+    /**
+     * Maximum number of concurrent single instance calls that are coalesced into a single Python call; 1 disables
+     * micro-batching.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * Maximum time, in microseconds, that a single instance call waits for others to fill its batch.
+     */
+    private final long maxBatchWaitMicros;
+
+    /**
+     * How the features of the scored instances are transferred into Numpy.
+     */
+    private final FeatureTransfer featureTransfer;
+
+    /**
+     * The floating point precision of the features sent to the models.
+     */
+    private final FeaturePrecision featurePrecision;
+
+    /**
+     * The layout of the matrices of features sent to the models.
+     */
+    private final FeatureFormat featureFormat;
+
+    /**
+     * Capacity of the ring buffer that hands evaluations over to each Jep instance; 0 uses an unbounded linked queue.
+     */
+    private final int ringBufferCapacity;
+
+    /**
+     * How the thread of each Jep instance waits for evaluations when it uses a ring buffer.
+     */
+    private final RingBufferDispatcher.WaitStrategy waitStrategy;
+
+    /**
+     * Maximum number of evaluations waiting in the linked queue of each Jep instance; 0 leaves it unbounded.
+     */
+    private final int queueCapacity;
+
+    /**
+     * Handles the evaluations that a Jep instance has no room for.
+     */
+    private final RejectionHandler rejectionHandler;
+
+    /**
+     * Maximum time, in microseconds, that a scoring call may wait to be run before it is dropped; 0 disables deadlines.
+     */
+    private final long evaluationTimeoutMicros;
+
+    /**
+     * Maximum number of thread-bound interpreters in caller-runs mode; 0 disables caller-runs mode.
+     */
+    private final int callerRunsInterpreters;
+
+    /**
+     * Host of the shared Jep instances into which models are loaded; {@code null} gives each model its own instances.
+     */
+    private final SharedInterpreterHost sharedInterpreterHost;
+
+    /**
+     * Supply of warm Jep instances from which models take their instances; {@code null} starts them cold.
+     */
+    private final WarmInterpreterPool warmInterpreterPool;
+
+    /**
+     * Batch sizes of the calls that warm up each model after it is loaded; empty disables the warm-up.
+     */
+    private final List<Integer> warmUpBatchSizes;
+
+    /**
+     * Maximum number of rounds of warm-up calls per batch size.
+     */
+    private final int warmUpMaxRounds;
+
+    /**
+     * Whether loaders that can compile their models into Java evaluators do so, scoring without calling Python.
+     */
+    private final boolean nativeEvaluation;
+
+    /**
+     * Constructor.
+     *
+     * @param builder The builder with the values of this configuration.
+     */
+    private PythonModelConfig(final Builder builder) {
+        this.interpreterPoolSize = builder.interpreterPoolSize;
+        this.routingStrategy = builder.routingStrategy;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxBatchWaitMicros = builder.maxBatchWaitMicros;
+        this.featureTransfer = builder.featureTransfer;
+        this.featurePrecision = builder.featurePrecision;
+        this.featureFormat = builder.featureFormat;
+        this.ringBufferCapacity = builder.ringBufferCapacity;
+        this.waitStrategy = builder.waitStrategy;
+        this.queueCapacity = builder.queueCapacity;
+        this.rejectionHandler = builder.rejectionHandler;
+        this.evaluationTimeoutMicros = builder.evaluationTimeoutMicros;
+        this.callerRunsInterpreters = builder.callerRunsInterpreters;
+        this.sharedInterpreterHost = builder.sharedInterpreterHost;
+        this.warmInterpreterPool = builder.warmInterpreterPool;
+        this.warmUpBatchSizes = builder.warmUpBatchSizes;
+        this.warmUpMaxRounds = builder.warmUpMaxRounds;
+        this.nativeEvaluation = builder.nativeEvaluation;
+    }
+
+    /**
+     * Creates a new builder initialized with the default values.
+     *
+     * @return The new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a new builder initialized with the values of this configuration.
+     *
+     * @return The new builder.
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    /**
+     * Gets the number of Jep instances into which each model is loaded.
+     *
+     * @return The size of the pool of Jep instances of each model.
+     */
+    public int getInterpreterPoolSize() {
+        return this.interpreterPoolSize;
+    }
+
+    /**
+     * Gets the strategy used to choose the Jep instance that scores each call.
+     *
+     * @return The routing strategy.
+     */
+    public JepInstancePool.RoutingStrategy getRoutingStrategy() {
+        return this.routingStrategy;
+    }
+
+    /**
+     * Checks whether concurrent single instance calls are coalesced into batches.
+     *
+     * @return {@code true} if micro-batching is enabled, {@code false} otherwise.
+     */
+    public boolean isMicroBatchingEnabled() {
+        return this.maxBatchSize > 1;
+    }
+
+    /**
+     * Gets the maximum number of concurrent single instance calls that are coalesced into a single Python call.
+     *
+     * @return The maximum size of each micro-batch.
+     */
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    /**
+     * Gets the maximum time, in microseconds, that a single instance call waits for others to fill its batch.
+     *
+     * @return The maximum wait of each call.
+     */
+    public long getMaxBatchWaitMicros() {
+        return this.maxBatchWaitMicros;
+    }
+
+    /**
+     * Gets how the features of the scored instances are transferred into Numpy.
+     *
+     * @return The feature transfer mode.
+     */
+    public FeatureTransfer getFeatureTransfer() {
+        return this.featureTransfer;
+    }
+
+    /**
+     * Gets the floating point precision of the features sent to the models.
+     *
+     * @return The feature precision.
+     */
+    public FeaturePrecision getFeaturePrecision() {
+        return this.featurePrecision;
+    }
+
+    /**
+     * Gets the layout of the matrices of features sent to the models.
+     *
+     * @return The feature format.
+     */
+    public FeatureFormat getFeatureFormat() {
+        return this.featureFormat;
+    }
+
+    /**
+     * Checks whether evaluations are handed over to each Jep instance through a {@link RingBufferDispatcher}.
+     *
+     * @return {@code true} if a ring buffer is used, {@code false} if an unbounded linked queue is used.
+     */
+    public boolean isRingBufferDispatchEnabled() {
+        return this.ringBufferCapacity > 0;
+    }
+
+    /**
+     * Gets the capacity of the ring buffer that hands evaluations over to each Jep instance.
+     *
+     * @return The capacity of the ring buffer, or 0 if an unbounded linked queue is used.
+     */
+    public int getRingBufferCapacity() {
+        return this.ringBufferCapacity;
+    }
+
+    /**
+     * Gets how the thread of each Jep instance waits for evaluations when it uses a ring buffer.
+     *
+     * @return The wait strategy.
+     */
+    public RingBufferDispatcher.WaitStrategy getWaitStrategy() {
+        return this.waitStrategy;
+    }
+
+    /**
+     * Gets the maximum number of evaluations waiting in the linked queue of each Jep instance.
+     *
+     * @return The capacity of the queue, or 0 if it is unbounded.
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    /**
+     * Gets the handler of the evaluations that a Jep instance has no room for.
+     *
+     * @return The rejection handler.
+     */
+    public RejectionHandler getRejectionHandler() {
+        return this.rejectionHandler;
+    }
+
+    /**
+     * Checks whether scoring calls that wait too long to be run are dropped.
+     *
+     * @return {@code true} if scoring calls have deadlines, {@code false} otherwise.
+     */
+    public boolean hasEvaluationDeadline() {
+        return this.evaluationTimeoutMicros > 0;
+    }
+
+    /**
+     * Gets the maximum time, in microseconds, that a scoring call may wait to be run before it is dropped.
+     *
+     * @return The timeout of each scoring call, or 0 if there is none.
+     */
+    public long getEvaluationTimeoutMicros() {
+        return this.evaluationTimeoutMicros;
+    }
+
+    /**
+     * Checks whether scoring calls run Python directly on the calling threads, each with its own interpreter.
+     *
+     * @return {@code true} if caller-runs mode is enabled, {@code false} otherwise.
+     * @see com.feedzai.openml.python.jep.instance.ThreadBoundJepInstance
+     */
+    public boolean isCallerRunsEnabled() {
+        return this.callerRunsInterpreters > 0;
+    }
+
+    /**
+     * Gets the maximum number of thread-bound interpreters in caller-runs mode.
+     *
+     * @return The maximum number of interpreters, or 0 if caller-runs mode is disabled.
+     */
+    public int getCallerRunsInterpreters() {
+        return this.callerRunsInterpreters;
+    }
+
+    /**
+     * Checks whether models are loaded into Jep instances shared with other models.
+     *
+     * @return {@code true} if models share Jep instances, {@code false} otherwise.
+     */
+    public boolean isInterpreterSharingEnabled() {
+        return this.sharedInterpreterHost != null;
+    }
+
+    /**
+     * Gets the host of the shared Jep instances into which models are loaded.
+     *
+     * @return The interpreter host, or {@code null} if each model has its own Jep instances.
+     */
+    public SharedInterpreterHost getSharedInterpreterHost() {
+        return this.sharedInterpreterHost;
+    }
+
+    /**
+     * Checks whether models take their Jep instances from a supply of warm instances.
+     *
+     * @return {@code true} if models take warm Jep instances, {@code false} if they start them cold.
+     */
+    public boolean isWarmInterpretersEnabled() {
+        return this.warmInterpreterPool != null;
+    }
+
+    /**
+     * Gets the supply of warm Jep instances from which models take their instances.
+     *
+     * @return The warm interpreter pool, or {@code null} if models start their Jep instances cold.
+     */
+    public WarmInterpreterPool getWarmInterpreterPool() {
+        return this.warmInterpreterPool;
+    }
+
+    /**
+     * Checks whether each model is warmed up after it is loaded.
+     *
+     * @return {@code true} if models are warmed up, {@code false} otherwise.
+     */
+    public boolean isWarmUpEnabled() {
+        return !this.warmUpBatchSizes.isEmpty();
+    }
+
+    /**
+     * Gets the batch sizes of the calls that warm up each model after it is loaded.
+     *
+     * @return The batch sizes, 1 for single instance calls, or an empty list if models are not warmed up.
+     */
+    public List<Integer> getWarmUpBatchSizes() {
+        return this.warmUpBatchSizes;
+    }
+
+    /**
+     * Gets the maximum number of rounds of warm-up calls per batch size.
+     *
+     * @return The maximum number of rounds.
+     */
+    public int getWarmUpMaxRounds() {
+        return this.warmUpMaxRounds;
+    }
+
+    /**
+     * Checks whether loaders that can compile their models into Java evaluators do so.
+     *
+     * @return {@code true} if supported models are scored in Java, {@code false} if every model is scored in Python.
+     */
+    public boolean isNativeEvaluationEnabled() {
+        return this.nativeEvaluation;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("interpreterPoolSize", this.interpreterPoolSize)
+                .add("routingStrategy", this.routingStrategy)
+                .add("maxBatchSize", this.maxBatchSize)
+                .add("maxBatchWaitMicros", this.maxBatchWaitMicros)
+                .add("featureTransfer", this.featureTransfer)
+                .add("featurePrecision", this.featurePrecision)
+                .add("featureFormat", this.featureFormat)
+                .add("ringBufferCapacity", this.ringBufferCapacity)
+                .add("waitStrategy", this.waitStrategy)
+                .add("queueCapacity", this.queueCapacity)
+                .add("rejectionHandler", this.rejectionHandler)
+                .add("evaluationTimeoutMicros", this.evaluationTimeoutMicros)
+                .add("callerRunsInterpreters", this.callerRunsInterpreters)
+                .add("sharedInterpreterHost", this.sharedInterpreterHost)
+                .add("warmInterpreterPool", this.warmInterpreterPool)
+                .add("warmUpBatchSizes", this.warmUpBatchSizes)
+                .add("warmUpMaxRounds", this.warmUpMaxRounds)
+                .add("nativeEvaluation", this.nativeEvaluation)
+                .toString();
+    }
+
+    /**
+     * Builder of {@link PythonModelConfig}.
+     */
+    public static final class Builder {
+
+        /**
+         * @see PythonModelConfig#interpreterPoolSize
+         */
+        private int interpreterPoolSize = 1;
+
+        /**
+         * @see PythonModelConfig#routingStrategy
+         */
+        private JepInstancePool.RoutingStrategy routingStrategy = JepInstancePool.RoutingStrategy.LEAST_QUEUE_DEPTH;
+
+        /**
+         * @see PythonModelConfig#maxBatchSize
+         */
+        private int maxBatchSize = 1;
+
+        /**
+         * @see PythonModelConfig#maxBatchWaitMicros
+         */
+        private long maxBatchWaitMicros = 0;
+
+        /**
+         * @see PythonModelConfig#featureTransfer
+         */
+        private FeatureTransfer featureTransfer = FeatureTransfer.HEAP;
+
+        /**
+         * @see PythonModelConfig#featurePrecision
+         */
+        private FeaturePrecision featurePrecision = FeaturePrecision.DOUBLE;
+
+        /**
+         * @see PythonModelConfig#featureFormat
+         */
+        private FeatureFormat featureFormat = FeatureFormat.DENSE;
+
+        /**
+         * @see PythonModelConfig#ringBufferCapacity
+         */
+        private int ringBufferCapacity = 0;
+
+        /**
+         * @see PythonModelConfig#waitStrategy
+         */
+        private RingBufferDispatcher.WaitStrategy waitStrategy = RingBufferDispatcher.WaitStrategy.BLOCKING;
+
+        /**
+         * @see PythonModelConfig#queueCapacity
+         */
+        private int queueCapacity = 0;
+
+        /**
+         * @see PythonModelConfig#rejectionHandler
+         */
+        private RejectionHandler rejectionHandler = RejectionHandler.FAIL_FAST;
+
+        /**
+         * @see PythonModelConfig#evaluationTimeoutMicros
+         */
+        private long evaluationTimeoutMicros = 0;
+
+        /**
+         * @see PythonModelConfig#callerRunsInterpreters
+         */
+        private int callerRunsInterpreters = 0;
+
+        /**
+         * @see PythonModelConfig#sharedInterpreterHost
+         */
+        private SharedInterpreterHost sharedInterpreterHost = null;
+
+        /**
+         * @see PythonModelConfig#warmInterpreterPool
+         */
+        private WarmInterpreterPool warmInterpreterPool = null;
+
+        /**
+         * @see PythonModelConfig#warmUpBatchSizes
+         */
+        private List<Integer> warmUpBatchSizes = ImmutableList.of();
+
+        /**
+         * @see PythonModelConfig#warmUpMaxRounds
+         */
+        private int warmUpMaxRounds = 0;
+
+        /**
+         * @see PythonModelConfig#nativeEvaluation
+         */
+        private boolean nativeEvaluation = false;
+
+        /**
+         * Constructor with the default values.
+         */
+        private Builder() {
+        }
+
+        /**
+         * Constructor with the values of an existing configuration.
+         *
+         * @param config The configuration to copy.
+         */
+        private Builder(final PythonModelConfig config) {
+            this.interpreterPoolSize = config.interpreterPoolSize;
+            this.routingStrategy = config.routingStrategy;
+            this.maxBatchSize = config.maxBatchSize;
+            this.maxBatchWaitMicros = config.maxBatchWaitMicros;
+            this.featureTransfer = config.featureTransfer;
+            this.featurePrecision = config.featurePrecision;
+            this.featureFormat = config.featureFormat;
+            this.ringBufferCapacity = config.ringBufferCapacity;
+            this.waitStrategy = config.waitStrategy;
+            this.queueCapacity = config.queueCapacity;
+            this.rejectionHandler = config.rejectionHandler;
+            this.evaluationTimeoutMicros = config.evaluationTimeoutMicros;
+            this.callerRunsInterpreters = config.callerRunsInterpreters;
+            this.sharedInterpreterHost = config.sharedInterpreterHost;
+            this.warmInterpreterPool = config.warmInterpreterPool;
+            this.warmUpBatchSizes = config.warmUpBatchSizes;
+            this.warmUpMaxRounds = config.warmUpMaxRounds;
+            this.nativeEvaluation = config.nativeEvaluation;
+        }
+
+        /**
+         * Sets the number of Jep instances into which each model is loaded.
+         *
+         * @param interpreterPoolSize The number of Jep instances, must be positive.
+         * @return This builder.
+         */
+        public Builder withInterpreterPoolSize(final int interpreterPoolSize) {
+            Preconditions.checkArgument(interpreterPoolSize > 0, "The interpreter pool size must be positive. Got %s", interpreterPoolSize);
+            this.interpreterPoolSize = interpreterPoolSize;
+            return this;
+        }
+
+        /**
+         * Loads each model into as many Jep instances as there are available processors.
+         *
+         * @return This builder.
+         */
+        public Builder withPooledInterpreters() {
+            return withInterpreterPoolSize(Runtime.getRuntime().availableProcessors());
+        }
+
+        /**
+         * Sets the strategy used to choose the Jep instance that scores each call.
+         *
+         * @param routingStrategy The routing strategy.
+         * @return This builder.
+         */
+        public Builder withRoutingStrategy(final JepInstancePool.RoutingStrategy routingStrategy) {
+            this.routingStrategy = Preconditions.checkNotNull(routingStrategy);
+            return this;
+        }
+
+        /**
+         * Coalesces concurrent single instance calls into batches that are scored with a single Python call.
+         * <p>
+         * A call waits at most {@code maxWaitMicros} for other calls to fill its batch, which bounds the latency added
+         * by the batching.
+         *
+         * @param maxBatchSize  The maximum number of calls in each batch; 1 disables micro-batching.
+         * @param maxWaitMicros The maximum time, in microseconds, that a call waits for others to fill its batch.
+         * @return This builder.
+         */
+        public Builder withMicroBatching(final int maxBatchSize, final long maxWaitMicros) {
+            Preconditions.checkArgument(maxBatchSize > 0, "The maximum batch size must be positive. Got %s", maxBatchSize);
+            Preconditions.checkArgument(maxWaitMicros >= 0, "The maximum batch wait must not be negative. Got %s", maxWaitMicros);
+            this.maxBatchSize = maxBatchSize;
+            this.maxBatchWaitMicros = maxWaitMicros;
+            return this;
+        }
+
+        /**
+         * Sets how the features of the scored instances are transferred into Numpy.
+         *
+         * @param featureTransfer The feature transfer mode.
+         * @return This builder.
+         */
+        public Builder withFeatureTransfer(final FeatureTransfer featureTransfer) {
+            this.featureTransfer = Preconditions.checkNotNull(featureTransfer);
+            return this;
+        }
+
+        /**
+         * Sets the floating point precision of the features sent to the models.
+         * <p>
+         * Matrices of features already encoded as doubles are converted when the precision is
+         * {@link FeaturePrecision#FLOAT}.
+         *
+         * @param featurePrecision The feature precision.
+         * @return This builder.
+         */
+        public Builder withFeaturePrecision(final FeaturePrecision featurePrecision) {
+            this.featurePrecision = Preconditions.checkNotNull(featurePrecision);
+            return this;
+        }
+
+        /**
+         * Sets the layout of the matrices of features sent to the models.
+         * <p>
+         * Matrices of features already encoded into a {@link java.nio.DoubleBuffer} are never sent as
+         * {@link FeatureFormat#CSR CSR} matrices.
+         *
+         * @param featureFormat The feature format.
+         * @return This builder.
+         */
+        public Builder withFeatureFormat(final FeatureFormat featureFormat) {
+            this.featureFormat = Preconditions.checkNotNull(featureFormat);
+            return this;
+        }
+
+        /**
+         * Hands evaluations over to each Jep instance through a preallocated ring buffer instead of an unbounded
+         * linked queue.
+         * <p>
+         * Submitting an evaluation to a full ring buffer fails with a
+         * {@link java.util.concurrent.RejectedExecutionException}.
+         *
+         * @param capacity     The capacity of the ring buffer of each Jep instance, rounded up to a power of two.
+         * @param waitStrategy How the thread of each Jep instance waits for evaluations.
+         * @return This builder.
+         */
+        public Builder withRingBufferDispatch(final int capacity, final RingBufferDispatcher.WaitStrategy waitStrategy) {
+            Preconditions.checkArgument(capacity > 0, "The capacity of the ring buffer must be positive. Got %s", capacity);
+            this.ringBufferCapacity = capacity;
+            this.waitStrategy = Preconditions.checkNotNull(waitStrategy);
+            return this;
+        }
+
+        /**
+         * Bounds the linked queue that hands evaluations over to each Jep instance, so that the evaluations of an
+         * overloaded model cannot pile up without limit. Has no effect when a
+         * {@link #withRingBufferDispatch(int, RingBufferDispatcher.WaitStrategy) ring buffer}, which is always
+         * bounded, is used.
+         *
+         * @param queueCapacity The maximum number of evaluations waiting in the queue of each Jep instance.
+         * @return This builder.
+         */
+        public Builder withQueueCapacity(final int queueCapacity) {
+            Preconditions.checkArgument(queueCapacity > 0, "The queue capacity must be positive. Got %s", queueCapacity);
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets what happens to the evaluations submitted to a Jep instance whose queue is full. By default the
+         * submission {@link RejectionHandler#FAIL_FAST fails fast}.
+         *
+         * @param rejectionHandler The rejection handler.
+         * @return This builder.
+         */
+        public Builder withRejectionHandler(final RejectionHandler rejectionHandler) {
+            this.rejectionHandler = Preconditions.checkNotNull(rejectionHandler);
+            return this;
+        }
+
+        /**
+         * Gives each scoring call a deadline: a call that is still waiting to be run {@code timeoutMicros} after it
+         * was made is dropped and fails with a {@link java.util.concurrent.TimeoutException}, instead of using the
+         * interpreter for a result no one is waiting for anymore.
+         *
+         * @param timeoutMicros The maximum time, in microseconds, that a scoring call may wait to be run.
+         * @return This builder.
+         */
+        public Builder withEvaluationTimeout(final long timeoutMicros) {
+            Preconditions.checkArgument(timeoutMicros > 0, "The evaluation timeout must be positive. Got %s", timeoutMicros);
+            this.evaluationTimeoutMicros = timeoutMicros;
+            return this;
+        }
+
+        /**
+         * Runs scoring calls directly on the calling threads instead of handing them over to a dedicated Jep thread.
+         * <p>
+         * Each calling thread lazily gets its own interpreter with a replica of the model, up to
+         * {@code maxInterpreters}; the calls of other threads fall back to a single dedicated Jep instance, which
+         * replaces the {@link #withInterpreterPoolSize(int) pool}. Only suitable for models whose loading logic can be
+         * safely replayed in several interpreters. A thread holds the interpreter of a single caller-runs model at a
+         * time, so its calls to other caller-runs models fall back to their dedicated instances.
+         *
+         * @param maxInterpreters The maximum number of thread-bound interpreters, typically the size of the worker
+         *                        pool that scores the model.
+         * @return This builder.
+         * @see com.feedzai.openml.python.jep.instance.ThreadBoundJepInstance
+         */
+        public Builder withCallerRuns(final int maxInterpreters) {
+            Preconditions.checkArgument(maxInterpreters > 0, "The maximum number of interpreters must be positive. Got %s", maxInterpreters);
+            this.callerRunsInterpreters = maxInterpreters;
+            return this;
+        }
+
+        /**
+         * Loads models into the Jep instances of a host shared with other models, instead of giving each model its
+         * own instances.
+         * <p>
+         * Each model is placed in the {@link #withInterpreterPoolSize(int) pool size} least loaded instances of the
+         * host, and closing the model only removes it from them. The host, which outlives the models, must be closed
+         * by its owner. Caller-runs mode, the dispatch settings and the rejection handler of this configuration do not
+         * apply to shared instances, which are configured by the host.
+         *
+         * @param host The host of the shared Jep instances.
+         * @return This builder.
+         */
+        public Builder withSharedInterpreters(final SharedInterpreterHost host) {
+            this.sharedInterpreterHost = Preconditions.checkNotNull(host);
+            return this;
+        }
+
+        /**
+         * Loads models into Jep instances taken from a supply of warm instances, which already have the common Python
+         * modules imported, instead of starting new instances.
+         * <p>
+         * Each model takes {@link #withInterpreterPoolSize(int) pool size} instances, which it owns and stops when it
+         * is closed. The pool, which outlives the models, must be closed by its owner. This does not apply to
+         * {@link #withSharedInterpreters(SharedInterpreterHost) shared} nor {@link #withCallerRuns(int) caller-runs}
+         * instances, and the dispatch settings and the rejection handler of the warm instances are configured by the
+         * pool.
+         *
+         * @param pool The supply of warm Jep instances.
+         * @return This builder.
+         */
+        public Builder withWarmInterpreters(final WarmInterpreterPool pool) {
+            this.warmInterpreterPool = Preconditions.checkNotNull(pool);
+            return this;
+        }
+
+        /**
+         * Warms up each model after it is loaded, by scoring synthetic instances generated from its schema in calls
+         * of each batch size until their latency settles, and records the steady-state latency of those calls in a
+         * {@link LatencyProfile}.
+         * <p>
+         * Each round sends one call per Jep instance of the model at the same time, going through the same paths
+         * (e.g. micro-batching) as real calls.
+         *
+         * @param batchSizes The batch sizes of the calls, 1 for single instance calls.
+         * @param maxRounds  The maximum number of rounds of calls per batch size.
+         * @return This builder.
+         */
+        public Builder withWarmUp(final List<Integer> batchSizes, final int maxRounds) {
+            Preconditions.checkArgument(!batchSizes.isEmpty(), "At least one warm-up batch size is needed.");
+            batchSizes.forEach(batchSize -> Preconditions.checkArgument(batchSize > 0, "The warm-up batch sizes must be positive. Got %s", batchSize));
+            Preconditions.checkArgument(maxRounds > 0, "The maximum number of warm-up rounds must be positive. Got %s", maxRounds);
+            this.warmUpBatchSizes = ImmutableList.copyOf(batchSizes);
+            this.warmUpMaxRounds = maxRounds;
+            return this;
+        }
+
+        /**
+         * Compiles the models whose structure is known to the loader into evaluators written in Java, which score
+         * instances without calling Python, and so without the global interpreter lock nor a hop to the thread of a
+         * Jep instance.
+         * <p>
+         * Each compiled evaluator is checked against the Python model on generated instances when the model is
+         * loaded, and only used if they agree. Models that are not supported by the loader, or whose evaluator does
+         * not agree with them, are scored in Python as usual. Loaders without Java evaluators ignore this setting.
+         * <p>
+         * A compiled model still keeps all of its Jep instances, which are needed to {@link
+         * ClassificationPythonModel#save(java.nio.file.Path, String) save} it and to score it in Python if its
+         * evaluator is not used, so the interpreters are not freed. When most models are expected to compile, use a
+         * {@link #withInterpreterPoolSize(int) pool of a single interpreter} to keep that cost at one interpreter
+         * thread per model.
+         *
+         * @return This builder.
+         */
+        public Builder withNativeEvaluation() {
+            this.nativeEvaluation = true;
+            return this;
+        }
+
+        /**
+         * Builds the configuration.
+         *
+         * @return The new configuration.
+         */
+        public PythonModelConfig build() {
+            return new PythonModelConfig(this);
+        }
+    }
+}
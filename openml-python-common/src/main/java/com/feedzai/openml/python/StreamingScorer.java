@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import com.feedzai.openml.data.Dataset;
+import com.feedzai.openml.data.Instance;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiFunction;
+
+/**
+ * Scores a stream of instances (e.g. all the instances of a {@link Dataset} when rescoring it) with a
+ * {@link ClassificationPythonModel}, in chunks that are scored with a single Python call each.
+ * <p>
+ * The calling thread encodes the next chunk while the Jep instances of the model score the previous ones, with up to
+ * {@link #maxChunksInFlight} chunks submitted at a time so that every Jep instance is kept busy. Each chunk is encoded
+ * into an off-heap buffer that Python reads in place, and the buffers are reused once their chunk is scored, which
+ * bounds the memory used to {@code chunkSize * maxChunksInFlight} instances regardless of the size of the stream.
+ * <p>
+ * The results are handed to a sink in the calling thread, in the order of the stream.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public final class StreamingScorer {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(StreamingScorer.class);
+
+    /**
+     * The default number of instances of each chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    /**
+     * The model that scores the instances.
+     */
+    private final ClassificationPythonModel model;
+
+    /**
+     * The maximum number of instances of each chunk.
+     */
+    private final int chunkSize;
+
+    /**
+     * The maximum number of chunks submitted to the model and not yet handed to the sink.
+     */
+    private final int maxChunksInFlight;
+
+    /**
+     * Receives the class distributions of each chunk of instances.
+     */
+    @FunctionalInterface
+    public interface DistributionSink {
+
+        /**
+         * Receives the class distributions of a chunk of instances.
+         *
+         * @param firstRow      The position, in the stream, of the first instance of the chunk.
+         * @param distributions The class probability distribution of each instance of the chunk.
+         */
+        void accept(long firstRow, double[][] distributions);
+    }
+
+    /**
+     * Receives the classes of each chunk of instances.
+     */
+    @FunctionalInterface
+    public interface ClassSink {
+
+        /**
+         * Receives the classes of a chunk of instances.
+         *
+         * @param firstRow     The position, in the stream, of the first instance of the chunk.
+         * @param classIndexes The index of the predicted class of each instance of the chunk.
+         */
+        void accept(long firstRow, int[] classIndexes);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param model             The model that scores the instances.
+     * @param chunkSize         The maximum number of instances of each chunk.
+     * @param maxChunksInFlight The maximum number of chunks submitted to the model and not yet handed to the sink.
+     */
+    public StreamingScorer(final ClassificationPythonModel model, final int chunkSize, final int maxChunksInFlight) {
+        Preconditions.checkArgument(chunkSize > 0, "The chunk size must be positive. Got %s", chunkSize);
+        Preconditions.checkArgument(maxChunksInFlight > 0, "The maximum number of chunks in flight must be positive. Got %s", maxChunksInFlight);
+        this.model = Preconditions.checkNotNull(model);
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+    }
+
+    /**
+     * Constructor with chunks of {@link #DEFAULT_CHUNK_SIZE} instances, and one chunk in flight per Jep instance of
+     * the model plus another one so that each Jep instance has its next chunk ready when it finishes one.
+     *
+     * @param model The model that scores the instances.
+     */
+    public StreamingScorer(final ClassificationPythonModel model) {
+        this(model, DEFAULT_CHUNK_SIZE, model.getNumberInterpreters() + 1);
+    }
+
+    /**
+     * Gets the class probability distributions of all the instances of a dataset.
+     *
+     * @param dataset The dataset.
+     * @param sink    Receives the class distributions of each chunk of instances.
+     * @return The number of scored instances.
+     * @throws InterruptedException If the thread is interrupted while waiting for a chunk to be scored.
+     */
+    public long scoreDistributions(final Dataset dataset, final DistributionSink sink) throws InterruptedException {
+        return scoreDistributions(dataset.getInstances(), sink);
+    }
+
+    /**
+     * Gets the class probability distributions of a stream of instances.
+     *
+     * @param instances The instances.
+     * @param sink      Receives the class distributions of each chunk of instances.
+     * @return The number of scored instances.
+     * @throws InterruptedException If the thread is interrupted while waiting for a chunk to be scored.
+     */
+    public long scoreDistributions(final Iterator<? extends Instance> instances,
+                                   final DistributionSink sink) throws InterruptedException {
+        return score(instances, this.model::getClassDistributionsAsync, sink::accept);
+    }
+
+    /**
+     * Classifies all the instances of a dataset.
+     *
+     * @param dataset The dataset.
+     * @param sink    Receives the classes of each chunk of instances.
+     * @return The number of classified instances.
+     * @throws InterruptedException If the thread is interrupted while waiting for a chunk to be scored.
+     */
+    public long classify(final Dataset dataset, final ClassSink sink) throws InterruptedException {
+        return classify(dataset.getInstances(), sink);
+    }
+
+    /**
+     * Classifies a stream of instances.
+     *
+     * @param instances The instances.
+     * @param sink      Receives the classes of each chunk of instances.
+     * @return The number of classified instances.
+     * @throws InterruptedException If the thread is interrupted while waiting for a chunk to be scored.
+     */
+    public long classify(final Iterator<? extends Instance> instances, final ClassSink sink) throws InterruptedException {
+        return score(instances, this.model::classifyAllAsync, sink::accept);
+    }
+
+    /**
+     * Scores a stream of instances in chunks, keeping up to {@link #maxChunksInFlight} chunks being scored while the
+     * next one is encoded.
+     *
+     * @param instances  The instances.
+     * @param scoreChunk Submits a chunk of encoded features, and its number of rows, to the model.
+     * @param sink       Receives the result of each chunk.
+     * @param <R>        The type of the result of each chunk.
+     * @return The number of scored instances.
+     * @throws InterruptedException If the thread is interrupted while waiting for a chunk to be scored.
+     */
+    private <R> long score(final Iterator<? extends Instance> instances,
+                           final BiFunction<DoubleBuffer, Integer, CompletableFuture<R>> scoreChunk,
+                           final ChunkSink<R> sink) throws InterruptedException {
+
+        final int numberPredictiveFields = this.model.getNumberPredictiveFields();
+        final Deque<DoubleBuffer> freeBuffers = new ArrayDeque<>(this.maxChunksInFlight);
+        final Deque<Chunk<R>> inFlight = new ArrayDeque<>(this.maxChunksInFlight);
+        long scoredRows = 0;
+
+        while (instances.hasNext()) {
+            if (inFlight.size() == this.maxChunksInFlight) {
+                freeBuffers.add(complete(inFlight.poll(), sink));
+            }
+
+            final DoubleBuffer features = freeBuffers.isEmpty()
+                    ? DirectFeatureSlab.allocate(this.chunkSize * numberPredictiveFields)
+                    : freeBuffers.poll();
+
+            int rows = 0;
+            while (rows < this.chunkSize && instances.hasNext()) {
+                this.model.encodeInto(instances.next(), features, rows * numberPredictiveFields);
+                rows++;
+            }
+
+            inFlight.add(new Chunk<>(scoredRows, features, scoreChunk.apply(features, rows)));
+            scoredRows += rows;
+        }
+
+        while (!inFlight.isEmpty()) {
+            complete(inFlight.poll(), sink);
+        }
+
+        logger.debug("Scored {} instances in chunks of up to {}.", scoredRows, this.chunkSize);
+        return scoredRows;
+    }
+
+    /**
+     * Waits for a chunk to be scored and hands its result to the sink.
+     *
+     * @param chunk The chunk.
+     * @param sink  Receives the result of the chunk.
+     * @param <R>   The type of the result of the chunk.
+     * @return The buffer of the chunk, which can be reused.
+     * @throws InterruptedException If the thread is interrupted while waiting for the chunk to be scored.
+     */
+    private static <R> DoubleBuffer complete(final Chunk<R> chunk, final ChunkSink<R> sink) throws InterruptedException {
+        final R result;
+        try {
+            result = chunk.result.get();
+        } catch (final ExecutionException e) {
+            logger.warn("Error while scoring the chunk of instances starting at row {}.", chunk.firstRow);
+            throw new RuntimeException(String.format("Error while scoring the chunk of instances starting at row %d.", chunk.firstRow), e);
+        }
+        sink.accept(chunk.firstRow, result);
+        return chunk.features;
+    }
+
+    /**
+     * Receives the result of each chunk of instances.
+     *
+     * @param <R> The type of the result of each chunk.
+     */
+    @FunctionalInterface
+    private interface ChunkSink<R> {
+
+        /**
+         * Receives the result of a chunk of instances.
+         *
+         * @param firstRow The position, in the stream, of the first instance of the chunk.
+         * @param result   The result of the chunk.
+         */
+        void accept(long firstRow, R result);
+    }
+
+    /**
+     * A chunk of instances submitted to the model.
+     *
+     * @param <R> The type of the result of the chunk.
+     */
+    private static final class Chunk<R> {
+
+        /**
+         * The position, in the stream, of the first instance of the chunk.
+         */
+        private final long firstRow;
+
+        /**
+         * The buffer with the encoded features of the chunk.
+         */
+        private final DoubleBuffer features;
+
+        /**
+         * The future result of the chunk.
+         */
+        private final CompletableFuture<R> result;
+
+        /**
+         * Constructor.
+         *
+         * @param firstRow The position, in the stream, of the first instance of the chunk.
+         * @param features The buffer with the encoded features of the chunk.
+         * @param result   The future result of the chunk.
+         */
+        private Chunk(final long firstRow, final DoubleBuffer features, final CompletableFuture<R> result) {
+            this.firstRow = firstRow;
+            this.features = features;
+            this.result = result;
+        }
+    }
+}
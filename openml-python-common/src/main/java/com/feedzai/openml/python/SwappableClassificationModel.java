@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.model.ClassificationMLModel;
+import com.feedzai.openml.provider.exception.ModelLoadingException;
+import com.google.common.base.Preconditions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * A handle to a {@link ClassificationPythonModel} that can be replaced by a new version of the model without
+ * interrupting the calls being scored.
+ * <p>
+ * The replacement is loaded (and {@link PythonModelConfig.Builder#withWarmUp(List, int) warmed up}, if configured)
+ * into its own Jep instances while the current model keeps scoring. Then the handle switches to the replacement
+ * atomically, so new calls go to it, and the previous model is only closed once the calls it was already scoring have
+ * finished, or after a {@link #drainTimeoutMillis timeout}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class SwappableClassificationModel implements ClassificationMLModel {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SwappableClassificationModel.class);
+
+    /**
+     * The default maximum time, in milliseconds, to wait for the calls of a replaced model to finish before closing
+     * it.
+     */
+    public static final long DEFAULT_DRAIN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * The loader of the new versions of the model.
+     */
+    private final AbstractClassificationPythonModelLoaderImpl loader;
+
+    /**
+     * The schema of every version of the model.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The maximum time, in milliseconds, to wait for the calls of a replaced model to finish before closing it.
+     */
+    private final long drainTimeoutMillis;
+
+    /**
+     * The version of the model that scores new calls, or {@code null} once this handle is closed.
+     */
+    private final AtomicReference<Lease> current;
+
+    /**
+     * Constructor that loads the first version of the model.
+     *
+     * @param loader             The loader of the versions of the model.
+     * @param modelPath          The path to the first version of the model.
+     * @param schema             The schema of every version of the model.
+     * @param drainTimeoutMillis The maximum time, in milliseconds, to wait for the calls of a replaced model to
+     *                           finish before closing it.
+     * @throws ModelLoadingException If the first version of the model cannot be loaded.
+     */
+    public SwappableClassificationModel(final AbstractClassificationPythonModelLoaderImpl loader,
+                                        final Path modelPath,
+                                        final DatasetSchema schema,
+                                        final long drainTimeoutMillis) throws ModelLoadingException {
+        Preconditions.checkArgument(drainTimeoutMillis >= 0, "The drain timeout cannot be negative. Got %s", drainTimeoutMillis);
+        this.loader = Preconditions.checkNotNull(loader);
+        this.schema = Preconditions.checkNotNull(schema);
+        this.drainTimeoutMillis = drainTimeoutMillis;
+        this.current = new AtomicReference<>(new Lease(loader.loadModel(modelPath, schema)));
+    }
+
+    /**
+     * Constructor that loads the first version of the model, waiting up to {@link #DEFAULT_DRAIN_TIMEOUT_MILLIS} for
+     * the calls of replaced models to finish.
+     *
+     * @param loader    The loader of the versions of the model.
+     * @param modelPath The path to the first version of the model.
+     * @param schema    The schema of every version of the model.
+     * @throws ModelLoadingException If the first version of the model cannot be loaded.
+     */
+    public SwappableClassificationModel(final AbstractClassificationPythonModelLoaderImpl loader,
+                                        final Path modelPath,
+                                        final DatasetSchema schema) throws ModelLoadingException {
+        this(loader, modelPath, schema, DEFAULT_DRAIN_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Loads a new version of the model and replaces the current one with it.
+     * <p>
+     * The current version keeps scoring while the new one is loaded. If the new version cannot be loaded, the current
+     * one is kept.
+     *
+     * @param modelPath The path to the new version of the model.
+     * @throws ModelLoadingException If the new version of the model cannot be loaded.
+     */
+    public void swap(final Path modelPath) throws ModelLoadingException {
+        logger.info("Loading the model [{}] to replace the current version.", modelPath);
+        swap(this.loader.loadModel(modelPath, this.schema));
+    }
+
+    /**
+     * Replaces the current version of the model with an already loaded one, and closes the previous version once the
+     * calls it was scoring have finished.
+     * <p>
+     * The replacement is closed if it cannot replace the current version. The calls of the previous version are
+     * awaited without holding any lock, so other swaps and calls are not blocked meanwhile.
+     *
+     * @param replacement The new version of the model, which this handle owns from then on.
+     */
+    public void swap(final ClassificationPythonModel replacement) {
+        if (!this.schema.equals(replacement.getSchema())) {
+            replacement.close();
+            throw new IllegalArgumentException("The replacement model must have the schema of the current one.");
+        }
+
+        final Lease next = new Lease(replacement);
+        Lease previous;
+        do {
+            previous = this.current.get();
+            if (previous == null) {
+                replacement.close();
+                throw new IllegalStateException("The model was closed.");
+            }
+        } while (!this.current.compareAndSet(previous, next));
+
+        previous.retire(this.drainTimeoutMillis);
+        logger.info("Model replaced by a new version.");
+    }
+
+    /**
+     * Gets the version of the model that scores new calls.
+     *
+     * @return The current version of the model.
+     */
+    public ClassificationPythonModel getCurrentModel() {
+        final Lease lease = this.current.get();
+        Preconditions.checkState(lease != null, "The model was closed.");
+        return lease.model;
+    }
+
+    @Override
+    public double[] getClassDistribution(final Instance instance) {
+        return call(model -> model.getClassDistribution(instance));
+    }
+
+    /**
+     * Gets the class probability distribution of an instance without blocking the caller.
+     *
+     * @param instance The instance.
+     * @return A future with the class distribution.
+     * @see ClassificationPythonModel#getClassDistributionAsync(Instance)
+     */
+    public CompletableFuture<double[]> getClassDistributionAsync(final Instance instance) {
+        return callAsync(model -> model.getClassDistributionAsync(instance));
+    }
+
+    @Override
+    public int classify(final Instance instance) {
+        return call(model -> model.classify(instance));
+    }
+
+    /**
+     * Classifies an instance without blocking the caller.
+     *
+     * @param instance The instance.
+     * @return A future with the index of the class.
+     * @see ClassificationPythonModel#classifyAsync(Instance)
+     */
+    public CompletableFuture<Integer> classifyAsync(final Instance instance) {
+        return callAsync(model -> model.classifyAsync(instance));
+    }
+
+    /**
+     * Gets the class probability distributions of a batch of instances.
+     *
+     * @param instances The instances.
+     * @return The class distribution of each instance.
+     * @see ClassificationPythonModel#getClassDistributions(List)
+     */
+    public double[][] getClassDistributions(final List<? extends Instance> instances) {
+        return call(model -> model.getClassDistributions(instances));
+    }
+
+    /**
+     * Classifies a batch of instances.
+     *
+     * @param instances The instances.
+     * @return The index of the class of each instance.
+     * @see ClassificationPythonModel#classifyAll(List)
+     */
+    public int[] classifyAll(final List<? extends Instance> instances) {
+        return call(model -> model.classifyAll(instances));
+    }
+
+    @Override
+    public boolean save(final Path dir, final String name) {
+        return call(model -> model.save(dir, name));
+    }
+
+    @Override
+    public DatasetSchema getSchema() {
+        return this.schema;
+    }
+
+    /**
+     * Closes the current version of the model once the calls it is scoring have finished.
+     */
+    @Override
+    public void close() {
+        final Lease lease = this.current.getAndSet(null);
+        if (lease != null) {
+            lease.retire(this.drainTimeoutMillis);
+        }
+    }
+
+    /**
+     * Runs a call with the current version of the model, which is not closed until the call finishes.
+     *
+     * @param call The call.
+     * @param <T>  The type of the result of the call.
+     * @return The result of the call.
+     */
+    private <T> T call(final Function<ClassificationPythonModel, T> call) {
+        final Lease lease = acquire();
+        try {
+            return call.apply(lease.model);
+        } finally {
+            lease.release();
+        }
+    }
+
+    /**
+     * Submits a call to the current version of the model, which is not closed until the call completes.
+     *
+     * @param call The call.
+     * @param <T>  The type of the result of the call.
+     * @return A future with the result of the call.
+     */
+    private <T> CompletableFuture<T> callAsync(final Function<ClassificationPythonModel, CompletableFuture<T>> call) {
+        final Lease lease = acquire();
+        final CompletableFuture<T> result;
+        try {
+            result = call.apply(lease.model);
+        } catch (final RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+        return result.whenComplete((value, error) -> lease.release());
+    }
+
+    /**
+     * Acquires the current version of the model for a call.
+     *
+     * @return The lease of the current version, which must be released when the call finishes.
+     */
+    private Lease acquire() {
+        while (true) {
+            final Lease lease = this.current.get();
+            Preconditions.checkState(lease != null, "The model was closed.");
+            if (lease.tryAcquire()) {
+                return lease;
+            }
+            // The version was replaced in the meantime, so the call goes to the replacement
+        }
+    }
+
+    /**
+     * A version of the model along with the number of calls it is scoring.
+     */
+    private static final class Lease {
+
+        /**
+         * The version of the model.
+         */
+        private final ClassificationPythonModel model;
+
+        /**
+         * The number of calls the model is scoring.
+         */
+        private final AtomicInteger inFlight;
+
+        /**
+         * Completed when the model is retired and has no more calls to score.
+         */
+        private final CompletableFuture<Void> drained;
+
+        /**
+         * Whether the model was retired, after which it takes no more calls.
+         */
+        private volatile boolean retired;
+
+        /**
+         * Constructor.
+         *
+         * @param model The version of the model.
+         */
+        private Lease(final ClassificationPythonModel model) {
+            this.model = model;
+            this.inFlight = new AtomicInteger();
+            this.drained = new CompletableFuture<>();
+        }
+
+        /**
+         * Acquires the model for a call, unless it was retired.
+         *
+         * @return {@code true} if the model was acquired, {@code false} if it was retired.
+         */
+        private boolean tryAcquire() {
+            this.inFlight.incrementAndGet();
+            if (this.retired) {
+                release();
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Releases the model after a call.
+         */
+        private void release() {
+            if (this.inFlight.decrementAndGet() == 0 && this.retired) {
+                this.drained.complete(null);
+            }
+        }
+
+        /**
+         * Retires the model, waits for the calls it is scoring to finish and closes it.
+         *
+         * @param timeoutMillis The maximum time, in milliseconds, to wait for the calls to finish.
+         */
+        private void retire(final long timeoutMillis) {
+            this.retired = true;
+            if (this.inFlight.get() == 0) {
+                this.drained.complete(null);
+            }
+
+            try {
+                this.drained.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while waiting for the calls of a replaced model to finish.");
+            } catch (final TimeoutException e) {
+                logger.warn("{} call(s) of a replaced model did not finish in {} ms.", this.inFlight.get(), timeoutMillis);
+            } catch (final ExecutionException e) {
+                // never completed exceptionally
+                throw new IllegalStateException(e);
+            }
+            this.model.close();
+        }
+    }
+}
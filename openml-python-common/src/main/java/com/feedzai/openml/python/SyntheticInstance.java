@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.feedzai.openml.python;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.AbstractValueSchema;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * An instance generated from a schema rather than read from data, used to score a model without real instances, e.g.
+ * to {@link ModelWarmUp warm it up}.
+ * <p>
+ * The value of a categorical field is the index of its category in the field's schema, as in the instances read by
+ * the providers.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public final class SyntheticInstance implements Instance {
+
+    /**
+     * The schema of the instance.
+     */
+    private final DatasetSchema schema;
+
+    /**
+     * The value of each field.
+     */
+    private final double[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param schema The schema of the instance.
+     * @param values The value of each field, which this instance owns from then on.
+     */
+    public SyntheticInstance(final DatasetSchema schema, final double[] values) {
+        Preconditions.checkArgument(
+                values.length == schema.getFieldSchemas().size(),
+                "Expected %s values for the fields of the schema, got %s.",
+                schema.getFieldSchemas().size(),
+                values.length
+        );
+        this.schema = schema;
+        this.values = values;
+    }
+
+    /**
+     * Creates an instance with random values that are valid for a schema: a random category for categorical fields, a
+     * standard normal value for the other ones.
+     *
+     * @param schema The schema of the instance.
+     * @param random Generates the values of the instance.
+     * @return The instance.
+     */
+    public static SyntheticInstance random(final DatasetSchema schema, final Random random) {
+        final List<FieldSchema> fields = schema.getFieldSchemas();
+        final double[] values = new double[fields.size()];
+        for (int index = 0; index < values.length; index++) {
+            final AbstractValueSchema valueSchema = fields.get(index).getValueSchema();
+            values[index] = valueSchema instanceof CategoricalValueSchema
+                    ? random.nextInt(((CategoricalValueSchema) valueSchema).getNominalValues().size())
+                    : random.nextGaussian();
+        }
+        return new SyntheticInstance(schema, values);
+    }
+
+    @Override
+    public double getValue(final int index) {
+        return this.values[index];
+    }
+
+    @Override
+    public String getStringValue(final int index) {
+        final AbstractValueSchema valueSchema = this.schema.getFieldSchemas().get(index).getValueSchema();
+        if (valueSchema instanceof CategoricalValueSchema) {
+            return ImmutableList.copyOf(((CategoricalValueSchema) valueSchema).getNominalValues())
+                    .get((int) this.values[index]);
+        }
+        return String.valueOf(this.values[index]);
+    }
+}
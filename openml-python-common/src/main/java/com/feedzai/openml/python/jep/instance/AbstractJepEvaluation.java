@@ -19,6 +19,8 @@ import jep.Jep;
 import jep.JepException;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Definition of an evaluation to be run on a {@link JepInstance}.
@@ -33,17 +35,61 @@ import java.util.concurrent.CompletableFuture;
  */
 public abstract class AbstractJepEvaluation<T> extends CompletableFuture<T> implements JepFunction<T> {
 
+    /**
+     * Whether this evaluation has a {@link #deadlineNanos deadline}.
+     */
+    private boolean hasDeadline;
+
+    /**
+     * The {@link System#nanoTime()} after which this evaluation is no longer worth running.
+     */
+    private long deadlineNanos;
+
+    /**
+     * Sets the deadline of this evaluation; must be called before it is submitted to a {@link JepInstance}.
+     *
+     * @param deadlineNanos The {@link System#nanoTime()} after which this evaluation is no longer worth running.
+     * @since @@@feedzai.next.release@@@
+     */
+    void setDeadline(final long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Checks whether the deadline of this evaluation, if any, has already passed.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}.
+     * @return {@code true} if the deadline has passed, {@code false} otherwise.
+     * @since @@@feedzai.next.release@@@
+     */
+    public boolean isExpired(final long nowNanos) {
+        return this.hasDeadline && nowNanos - this.deadlineNanos > 0;
+    }
+
     /**
      * Function that will be called on the JepInstance thread to do this evaluation.
-     * In case the evaluation throws a JepException this exception will be returned to the calling thread
-     * through the completable future.
+     * In case the evaluation throws a JepException or a RuntimeException this exception will be returned to the
+     * calling thread through the completable future, so that it does not end the thread of the Jep instance.
+     * <p>
+     * If the {@link #isExpired(long) deadline} of the evaluation passed while it was waiting to run, it is not run
+     * and fails with a {@link TimeoutException} instead.
      *
      * @param jep Local instance of Jep in the thread to be used in this evaluation.
      */
     void evaluate(final Jep jep) {
+        final long now = System.nanoTime();
+        if (isExpired(now)) {
+            this.completeExceptionally(new TimeoutException(String.format(
+                    "The evaluation expired %d us before it could run.",
+                    TimeUnit.NANOSECONDS.toMicros(now - this.deadlineNanos)
+            )));
+            return;
+        }
+
         try {
             this.complete(this.apply(jep));
-        } catch (final JepException e) {
+        } catch (final JepException | RuntimeException e) {
             this.completeExceptionally(e);
         }
     }
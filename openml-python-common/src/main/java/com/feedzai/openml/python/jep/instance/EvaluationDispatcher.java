@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.feedzai.openml.python.jep.instance;
+
+/**
+ * Hands the evaluations submitted to a {@link JepInstance} from the submitting threads over to the thread of the
+ * instance.
+ * <p>
+ * Implementations must support many concurrent producers ({@link #offer(AbstractJepEvaluation)}) but only need to
+ * support the single consumer ({@link #take()}) that is the thread of the Jep instance.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public interface EvaluationDispatcher {
+
+    /**
+     * Hands an evaluation over to the thread of the Jep instance, without blocking.
+     *
+     * @param evaluation The evaluation.
+     * @return {@code true} if the evaluation was accepted, {@code false} if there is no room for it.
+     */
+    boolean offer(AbstractJepEvaluation<?> evaluation);
+
+    /**
+     * Waits for the next evaluation. Called only by the thread of the Jep instance.
+     *
+     * @return The next evaluation.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    AbstractJepEvaluation<?> take() throws InterruptedException;
+
+    /**
+     * Gets the number of evaluations waiting to be taken.
+     *
+     * @return The number of waiting evaluations.
+     */
+    int size();
+}
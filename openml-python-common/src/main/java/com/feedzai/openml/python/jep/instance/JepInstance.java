@@ -16,6 +16,8 @@
 package com.feedzai.openml.python.jep.instance;
 
 import com.feedzai.openml.python.modules.SharedModulesParser;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.Uninterruptibles;
 import jep.Jep;
@@ -25,9 +27,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Wrapper for a Jep object that runs it on a separate dedicated thread.
@@ -48,6 +50,19 @@ public class JepInstance implements Runnable {
      */
     private static final int THREAD_JOIN_TIMEOUT_SECONDS = 10;
 
+    /**
+     * The Python modules shared by all the interpreters, parsed once per JVM the first time an interpreter is created.
+     */
+    private static final Supplier<Set<String>> SHARED_MODULES = Suppliers.memoize(() -> {
+        final Set<String> sharedModules = ImmutableSet.<String>builder()
+                .add("tensorflow")
+                .add("numpy")
+                .addAll(new SharedModulesParser().getSharedModules())
+                .build();
+        logger.debug("Python modules to be shared: {}", String.join(",", sharedModules.toString()));
+        return sharedModules;
+    });
+
     /**
      * Volatile boolean that stores whether the thread is (still) running.
      * Initially false, set to true when the instance is started.
@@ -61,17 +76,50 @@ public class JepInstance implements Runnable {
     private final Thread thread;
 
     /**
-     * Queue with evaluations to be done.
+     * Hands the evaluations to be done over to the thread of this instance.
      */
-    private final BlockingQueue<AbstractJepEvaluation> evaluationQueue;
+    private final EvaluationDispatcher evaluationDispatcher;
+
+    /**
+     * Handles the evaluations that the {@link #evaluationDispatcher} has no room for.
+     */
+    private final RejectionHandler rejectionHandler;
+
+    /**
+     * Number of evaluations that were submitted to this instance and are either queued or being evaluated.
+     */
+    private final AtomicInteger pendingEvaluations;
 
     /**
      * Constructor.
      */
     public JepInstance() {
+        this(new LinkedQueueDispatcher());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param evaluationDispatcher Hands the evaluations submitted to this instance over to its thread.
+     * @since @@@feedzai.next.release@@@
+     */
+    public JepInstance(final EvaluationDispatcher evaluationDispatcher) {
+        this(evaluationDispatcher, RejectionHandler.FAIL_FAST);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param evaluationDispatcher Hands the evaluations submitted to this instance over to its thread.
+     * @param rejectionHandler     Handles the evaluations that the dispatcher has no room for.
+     * @since @@@feedzai.next.release@@@
+     */
+    public JepInstance(final EvaluationDispatcher evaluationDispatcher, final RejectionHandler rejectionHandler) {
         this.running = false;
         this.thread = new Thread(this);
-        this.evaluationQueue = new LinkedBlockingQueue<>();
+        this.evaluationDispatcher = evaluationDispatcher;
+        this.rejectionHandler = rejectionHandler;
+        this.pendingEvaluations = new AtomicInteger();
     }
 
     /**
@@ -101,20 +149,14 @@ public class JepInstance implements Runnable {
      */
     @Override
     public void run() {
-        final Set<String> sharedModules = ImmutableSet.<String>builder()
-                .add("tensorflow")
-                .add("numpy")
-                .addAll(new SharedModulesParser().getSharedModules())
-                .build();
-        logger.debug("Python modules to be shared: {}", String.join(",", sharedModules.toString()));
-
-        final JepConfig jepConfig = new JepConfig()
-                .addSharedModules(sharedModules.toArray(new String[0]))
-                .setInteractive(false);
-
-        try (final Jep jep = new Jep(jepConfig)) {
+        try (final Jep jep = createJep()) {
             while (this.running) {
-                this.evaluationQueue.take().evaluate(jep);
+                final AbstractJepEvaluation<?> evaluation = this.evaluationDispatcher.take();
+                try {
+                    evaluation.evaluate(jep);
+                } finally {
+                    this.pendingEvaluations.decrementAndGet();
+                }
             }
         } catch (final JepException e) {
             logger.error("A problem occurred that caused Jep to crash!", e);
@@ -127,27 +169,111 @@ public class JepInstance implements Runnable {
     }
 
     /**
-     * Submits an evaluation to the evaluation queue.
+     * Creates a Jep interpreter bound to the current thread, sharing the common Python modules with the other
+     * interpreters.
+     *
+     * @return The new Jep interpreter.
+     * @throws JepException If there is a problem creating the interpreter.
+     */
+    static Jep createJep() throws JepException {
+        final JepConfig jepConfig = new JepConfig()
+                .addSharedModules(SHARED_MODULES.get().toArray(new String[0]))
+                .setInteractive(false);
+
+        return new Jep(jepConfig);
+    }
+
+    /**
+     * Submits an evaluation to the {@link EvaluationDispatcher evaluation dispatcher}.
      *
      * @param <T>                Type of the result of the evaluation.
      * @param evaluationFunction JepFunction with evaluation to be done by the Jep instance.
      * @return An {@link AbstractJepEvaluation} evaluation object that can be used to retrieve the result of the evaluation.
+     * @throws RejectedExecutionException If the evaluation dispatcher has no room for the evaluation and the
+     *                                    {@link RejectionHandler} fails the submission.
      * @implNote The result of the evaluation will be returned through {@link AbstractJepEvaluation} which is a CompletableFuture.
      */
     public <T> AbstractJepEvaluation<T> submitEvaluation(final JepFunction<T> evaluationFunction) {
+        return submit(createEvaluation(evaluationFunction));
+    }
+
+    /**
+     * Submits an evaluation with a deadline to the {@link EvaluationDispatcher evaluation dispatcher}.
+     * <p>
+     * If the evaluation is still waiting to run when the deadline passes, it is dropped and fails with a
+     * {@link java.util.concurrent.TimeoutException} instead of running late.
+     *
+     * @param <T>                Type of the result of the evaluation.
+     * @param evaluationFunction JepFunction with evaluation to be done by the Jep instance.
+     * @param timeout            How long the evaluation may wait to run.
+     * @param unit               The unit of {@code timeout}.
+     * @return An {@link AbstractJepEvaluation} evaluation object that can be used to retrieve the result of the evaluation.
+     * @throws RejectedExecutionException If the evaluation dispatcher has no room for the evaluation and the
+     *                                    {@link RejectionHandler} fails the submission.
+     * @since @@@feedzai.next.release@@@
+     */
+    public <T> AbstractJepEvaluation<T> submitEvaluation(final JepFunction<T> evaluationFunction,
+                                                         final long timeout,
+                                                         final TimeUnit unit) {
+        final AbstractJepEvaluation<T> evaluation = createEvaluation(evaluationFunction);
+        evaluation.setDeadline(System.nanoTime() + unit.toNanos(timeout));
+        return submit(evaluation);
+    }
+
+    /**
+     * Creates the evaluation that runs a function.
+     *
+     * @param <T>                Type of the result of the evaluation.
+     * @param evaluationFunction JepFunction with evaluation to be done by the Jep instance.
+     * @return The evaluation.
+     */
+    <T> AbstractJepEvaluation<T> createEvaluation(final JepFunction<T> evaluationFunction) {
         if (!this.running) {
             throw new RuntimeException("Jep instance is not running.");
         }
 
-        final AbstractJepEvaluation<T> evaluation = new AbstractJepEvaluation<T>() {
+        return new AbstractJepEvaluation<T>() {
             @Override
             public T apply(final Jep jep) throws JepException {
                 return evaluationFunction.apply(jep);
             }
         };
+    }
 
-        this.evaluationQueue.add(evaluation);
+    /**
+     * Hands an evaluation over to the thread of this instance, or to the {@link #rejectionHandler} if there is no
+     * room for it.
+     *
+     * @param <T>        Type of the result of the evaluation.
+     * @param evaluation The evaluation.
+     * @return The evaluation.
+     */
+    private <T> AbstractJepEvaluation<T> submit(final AbstractJepEvaluation<T> evaluation) {
+        this.pendingEvaluations.incrementAndGet();
+        if (!this.evaluationDispatcher.offer(evaluation)) {
+            this.pendingEvaluations.decrementAndGet();
+            this.rejectionHandler.rejected(evaluation, this);
+        }
 
         return evaluation;
     }
+
+    /**
+     * Gets the number of evaluations submitted to this instance that have not finished yet, including the one that
+     * may be currently running.
+     *
+     * @return The number of pending evaluations.
+     */
+    public int getPendingEvaluations() {
+        return this.pendingEvaluations.get();
+    }
+
+    /**
+     * Checks whether this instance is running and ready to receive evaluations.
+     *
+     * @return {@code true} if the instance is running, {@code false} otherwise.
+     */
+    public boolean isRunning() {
+        return this.running;
+    }
 }
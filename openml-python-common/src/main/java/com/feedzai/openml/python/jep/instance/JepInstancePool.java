@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.feedzai.openml.python.jep.instance;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A fixed set of {@link JepInstance Jep instances} that hold replicas of the same Python state and share the load of
+ * the evaluations submitted to them.
+ * <p>
+ * Since each {@link JepInstance} runs its evaluations serially on its own thread, spreading the evaluations of a
+ * model over several instances allows it to use more than one core.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class JepInstancePool {
+
+    /**
+     * Strategies to choose the {@link JepInstance} of the pool that runs a given evaluation.
+     */
+    public enum RoutingStrategy {
+
+        /**
+         * Chooses the instance with the least {@link JepInstance#getPendingEvaluations() pending evaluations}.
+         */
+        LEAST_QUEUE_DEPTH,
+
+        /**
+         * Chooses each instance in turn.
+         */
+        ROUND_ROBIN
+    }
+
+    /**
+     * The Jep instances in this pool.
+     */
+    private final List<JepInstance> instances;
+
+    /**
+     * The strategy used to choose which instance runs each evaluation.
+     */
+    private final RoutingStrategy routingStrategy;
+
+    /**
+     * Counter used to rotate over the instances, either to choose the next one (round-robin) or to break ties
+     * between instances with the same queue depth.
+     */
+    private final AtomicInteger nextInstance;
+
+    /**
+     * Constructor.
+     *
+     * @param instances       The Jep instances that make up this pool.
+     * @param routingStrategy The strategy used to choose which instance runs each evaluation.
+     */
+    public JepInstancePool(final List<JepInstance> instances, final RoutingStrategy routingStrategy) {
+        Preconditions.checkArgument(!instances.isEmpty(), "A pool of Jep instances needs at least one instance.");
+        this.instances = ImmutableList.copyOf(instances);
+        this.routingStrategy = routingStrategy;
+        this.nextInstance = new AtomicInteger();
+    }
+
+    /**
+     * Constructor for a pool with a single Jep instance.
+     *
+     * @param jepInstance The Jep instance that makes up this pool.
+     */
+    public JepInstancePool(final JepInstance jepInstance) {
+        this(ImmutableList.of(jepInstance), RoutingStrategy.ROUND_ROBIN);
+    }
+
+    /**
+     * Creates a pool with new (not started) Jep instances.
+     *
+     * @param size            The number of Jep instances in the pool.
+     * @param routingStrategy The strategy used to choose which instance runs each evaluation.
+     * @return The new pool.
+     */
+    public static JepInstancePool create(final int size, final RoutingStrategy routingStrategy) {
+        return create(size, routingStrategy, LinkedQueueDispatcher::new);
+    }
+
+    /**
+     * Creates a pool with new (not started) Jep instances, each with its own {@link EvaluationDispatcher}.
+     *
+     * @param size              The number of Jep instances in the pool.
+     * @param routingStrategy   The strategy used to choose which instance runs each evaluation.
+     * @param dispatcherFactory Creates the evaluation dispatcher of each Jep instance.
+     * @return The new pool.
+     * @since @@@feedzai.next.release@@@
+     */
+    public static JepInstancePool create(final int size,
+                                         final RoutingStrategy routingStrategy,
+                                         final Supplier<? extends EvaluationDispatcher> dispatcherFactory) {
+        return create(size, routingStrategy, dispatcherFactory, RejectionHandler.FAIL_FAST);
+    }
+
+    /**
+     * Creates a pool with new (not started) Jep instances, each with its own {@link EvaluationDispatcher}.
+     *
+     * @param size              The number of Jep instances in the pool.
+     * @param routingStrategy   The strategy used to choose which instance runs each evaluation.
+     * @param dispatcherFactory Creates the evaluation dispatcher of each Jep instance.
+     * @param rejectionHandler  Handles the evaluations that the dispatcher of a Jep instance has no room for.
+     * @return The new pool.
+     * @since @@@feedzai.next.release@@@
+     */
+    public static JepInstancePool create(final int size,
+                                         final RoutingStrategy routingStrategy,
+                                         final Supplier<? extends EvaluationDispatcher> dispatcherFactory,
+                                         final RejectionHandler rejectionHandler) {
+        Preconditions.checkArgument(size > 0, "The size of a pool of Jep instances must be positive. Got %s", size);
+        final List<JepInstance> instances = IntStream.range(0, size)
+                .mapToObj(index -> new JepInstance(dispatcherFactory.get(), rejectionHandler))
+                .collect(Collectors.toList());
+        return new JepInstancePool(instances, routingStrategy);
+    }
+
+    /**
+     * Starts all the Jep instances in this pool.
+     */
+    public void start() {
+        this.instances.forEach(JepInstance::start);
+    }
+
+    /**
+     * Stops all the Jep instances in this pool.
+     */
+    public void stop() {
+        this.instances.forEach(JepInstance::stop);
+    }
+
+    /**
+     * Gets the Jep instances in this pool.
+     *
+     * @return The Jep instances.
+     */
+    public List<JepInstance> getInstances() {
+        return this.instances;
+    }
+
+    /**
+     * Gets the number of Jep instances in this pool.
+     *
+     * @return The size of the pool.
+     */
+    public int size() {
+        return this.instances.size();
+    }
+
+    /**
+     * Submits an evaluation to one of the Jep instances of this pool, chosen according to the
+     * {@link RoutingStrategy routing strategy}.
+     *
+     * @param <T>                Type of the result of the evaluation.
+     * @param evaluationFunction JepFunction with evaluation to be done by the Jep instance.
+     * @return An {@link AbstractJepEvaluation} evaluation object that can be used to retrieve the result of the evaluation.
+     * @see JepInstance#submitEvaluation(JepFunction)
+     */
+    public <T> AbstractJepEvaluation<T> submitEvaluation(final JepFunction<T> evaluationFunction) {
+        return nextInstance().submitEvaluation(evaluationFunction);
+    }
+
+    /**
+     * Submits an evaluation with a deadline to one of the Jep instances of this pool, chosen according to the
+     * {@link RoutingStrategy routing strategy}.
+     *
+     * @param <T>                Type of the result of the evaluation.
+     * @param evaluationFunction JepFunction with evaluation to be done by the Jep instance.
+     * @param timeout            How long the evaluation may wait to run.
+     * @param unit               The unit of {@code timeout}.
+     * @return An {@link AbstractJepEvaluation} evaluation object that can be used to retrieve the result of the evaluation.
+     * @see JepInstance#submitEvaluation(JepFunction, long, TimeUnit)
+     * @since @@@feedzai.next.release@@@
+     */
+    public <T> AbstractJepEvaluation<T> submitEvaluation(final JepFunction<T> evaluationFunction,
+                                                         final long timeout,
+                                                         final TimeUnit unit) {
+        return nextInstance().submitEvaluation(evaluationFunction, timeout, unit);
+    }
+
+    /**
+     * Submits the same evaluation to every Jep instance of this pool, typically to change the state of all the
+     * replicas (e.g. to load a model).
+     *
+     * @param <T>                Type of the result of the evaluation.
+     * @param evaluationFunction JepFunction with evaluation to be done by each Jep instance.
+     * @return The {@link AbstractJepEvaluation evaluations} submitted, in the same order as {@link #getInstances()}.
+     */
+    public <T> List<AbstractJepEvaluation<T>> submitEvaluationToAll(final JepFunction<T> evaluationFunction) {
+        return this.instances.stream()
+                .map(jepInstance -> jepInstance.submitEvaluation(evaluationFunction))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Chooses the Jep instance that should run the next evaluation.
+     *
+     * @return The chosen Jep instance.
+     */
+    private JepInstance nextInstance() {
+        final int size = this.instances.size();
+        if (size == 1) {
+            return this.instances.get(0);
+        }
+
+        final int start = Math.floorMod(this.nextInstance.getAndIncrement(), size);
+        if (this.routingStrategy == RoutingStrategy.ROUND_ROBIN) {
+            return this.instances.get(start);
+        }
+
+        JepInstance chosen = this.instances.get(start);
+        int chosenPendingEvaluations = chosen.getPendingEvaluations();
+        for (int offset = 1; offset < size && chosenPendingEvaluations > 0; offset++) {
+            final JepInstance candidate = this.instances.get((start + offset) % size);
+            final int candidatePendingEvaluations = candidate.getPendingEvaluations();
+            if (candidatePendingEvaluations < chosenPendingEvaluations) {
+                chosen = candidate;
+                chosenPendingEvaluations = candidatePendingEvaluations;
+            }
+        }
+        return chosen;
+    }
+}
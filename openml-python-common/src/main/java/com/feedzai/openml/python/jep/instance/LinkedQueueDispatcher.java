@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.feedzai.openml.python.jep.instance;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * {@link EvaluationDispatcher} backed by a {@link LinkedBlockingQueue}.
+ * <p>
+ * This is the default dispatcher. It allocates a node for each evaluation and parks the thread of the Jep instance
+ * whenever the queue is empty. By default it is unbounded and never rejects evaluations.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class LinkedQueueDispatcher implements EvaluationDispatcher {
+
+    /**
+     * Queue with evaluations to be done.
+     */
+    private final BlockingQueue<AbstractJepEvaluation<?>> evaluationQueue;
+
+    /**
+     * Constructor of an unbounded dispatcher.
+     */
+    public LinkedQueueDispatcher() {
+        this.evaluationQueue = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Constructor of a bounded dispatcher.
+     *
+     * @param capacity The maximum number of evaluations waiting to be taken.
+     */
+    public LinkedQueueDispatcher(final int capacity) {
+        this.evaluationQueue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public boolean offer(final AbstractJepEvaluation<?> evaluation) {
+        return this.evaluationQueue.offer(evaluation);
+    }
+
+    @Override
+    public AbstractJepEvaluation<?> take() throws InterruptedException {
+        return this.evaluationQueue.take();
+    }
+
+    @Override
+    public int size() {
+        return this.evaluationQueue.size();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.feedzai.openml.python.jep.instance;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Decides what happens to an evaluation submitted to a {@link JepInstance} whose {@link EvaluationDispatcher} is full.
+ * <p>
+ * The handler is called in the submitting thread and must either throw, which fails the submission, or complete the
+ * evaluation (e.g. exceptionally or with a fallback value), which is then returned to the submitter as usual.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+@FunctionalInterface
+public interface RejectionHandler {
+
+    /**
+     * Fails the submission with a {@link RejectedExecutionException}.
+     */
+    RejectionHandler FAIL_FAST = (evaluation, jepInstance) -> {
+        throw new RejectedExecutionException("The evaluation queue of the Jep instance is full.");
+    };
+
+    /**
+     * Accepts the submission but completes the evaluation exceptionally with a {@link RejectedExecutionException},
+     * so that the failure is seen when the result is retrieved.
+     */
+    RejectionHandler COMPLETE_EXCEPTIONALLY = (evaluation, jepInstance) -> evaluation.completeExceptionally(
+            new RejectedExecutionException("The evaluation queue of the Jep instance is full.")
+    );
+
+    /**
+     * Handles an evaluation that was rejected because the Jep instance has no room for it.
+     *
+     * @param evaluation  The rejected evaluation.
+     * @param jepInstance The Jep instance that rejected the evaluation.
+     */
+    void rejected(AbstractJepEvaluation<?> evaluation, JepInstance jepInstance);
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.feedzai.openml.python.jep.instance;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link EvaluationDispatcher} backed by a preallocated multi-producer single-consumer ring buffer.
+ * <p>
+ * Producers claim a slot by advancing the {@link #tail} and then publish the evaluation into it, so submitting an
+ * evaluation allocates nothing. The thread of the Jep instance consumes the slots in order and waits for the next one
+ * to be published according to a {@link WaitStrategy}, which trades CPU usage for hand-off latency.
+ * <p>
+ * The buffer is bounded: {@link #offer(AbstractJepEvaluation)} returns {@code false} when all the slots are taken.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class RingBufferDispatcher implements EvaluationDispatcher {
+
+    /**
+     * How the thread of the Jep instance waits for the next evaluation when the ring buffer is empty.
+     */
+    public enum WaitStrategy {
+
+        /**
+         * Parks the thread until a producer publishes an evaluation. Uses no CPU while idle, but each hand-off to an
+         * idle instance pays for waking up the thread.
+         */
+        BLOCKING,
+
+        /**
+         * Spins for a while and then yields the processor between checks. Keeps hand-offs fast while giving other
+         * threads a chance to run.
+         */
+        SPIN_YIELD,
+
+        /**
+         * Spins continuously. Gives the lowest hand-off latency at the cost of a whole core per Jep instance.
+         */
+        BUSY_SPIN
+    }
+
+    /**
+     * Number of times the {@link WaitStrategy#SPIN_YIELD} strategy checks for an evaluation before it starts
+     * yielding.
+     */
+    private static final int SPIN_TRIES = 100;
+
+    /**
+     * The slots of the ring buffer; a {@code null} slot has not been published yet.
+     */
+    private final AtomicReferenceArray<AbstractJepEvaluation<?>> slots;
+
+    /**
+     * Mask that maps a sequence number to its slot (the capacity is a power of two).
+     */
+    private final int mask;
+
+    /**
+     * The strategy the consumer uses to wait for evaluations.
+     */
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * Sequence number of the next slot to be claimed by a producer.
+     */
+    private final AtomicLong tail;
+
+    /**
+     * Sequence number of the next slot to be consumed; only written by the consumer.
+     */
+    private volatile long head;
+
+    /**
+     * The consumer thread, known after its first call to {@link #take()}.
+     */
+    private volatile Thread consumer;
+
+    /**
+     * Whether the consumer is parked (or about to park) waiting for an evaluation.
+     */
+    private volatile boolean consumerParked;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity     The minimum number of evaluations the ring buffer holds; rounded up to a power of two.
+     * @param waitStrategy The strategy the thread of the Jep instance uses to wait for evaluations.
+     */
+    public RingBufferDispatcher(final int capacity, final WaitStrategy waitStrategy) {
+        Preconditions.checkArgument(
+                capacity > 0 && capacity <= 1 << 30,
+                "The capacity of the ring buffer must be between 1 and 2^30. Got %s",
+                capacity
+        );
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.waitStrategy = Preconditions.checkNotNull(waitStrategy);
+        this.tail = new AtomicLong();
+        this.head = 0;
+    }
+
+    @Override
+    public boolean offer(final AbstractJepEvaluation<?> evaluation) {
+        Preconditions.checkNotNull(evaluation);
+        final int capacity = this.slots.length();
+        long claimed;
+        do {
+            claimed = this.tail.get();
+            if (claimed - this.head >= capacity) {
+                return false;
+            }
+        } while (!this.tail.compareAndSet(claimed, claimed + 1));
+
+        this.slots.set((int) claimed & this.mask, evaluation);
+
+        // The consumer sets the flag before checking the slot again, so either it sees the evaluation or we see it parked
+        if (this.consumerParked) {
+            LockSupport.unpark(this.consumer);
+        }
+        return true;
+    }
+
+    @Override
+    public AbstractJepEvaluation<?> take() throws InterruptedException {
+        if (this.consumer == null) {
+            this.consumer = Thread.currentThread();
+        }
+
+        final long current = this.head;
+        final int index = (int) current & this.mask;
+        AbstractJepEvaluation<?> evaluation;
+        int idleCount = 0;
+        while ((evaluation = this.slots.get(index)) == null) {
+            idleCount = idle(index, idleCount);
+        }
+
+        this.slots.lazySet(index, null);
+        this.head = current + 1;
+        return evaluation;
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.max(0, this.tail.get() - this.head);
+    }
+
+    /**
+     * Gets the number of evaluations this ring buffer holds.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return this.slots.length();
+    }
+
+    /**
+     * Waits once, according to the {@link #waitStrategy}, for the slot the consumer is waiting on to be published.
+     *
+     * @param index     The index of the slot the consumer is waiting on.
+     * @param idleCount The number of times the consumer has already waited for this slot.
+     * @return The new number of times the consumer has waited for this slot (capped once it no longer matters).
+     * @throws InterruptedException If the consumer thread is interrupted.
+     */
+    private int idle(final int index, final int idleCount) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+
+        switch (this.waitStrategy) {
+            case BUSY_SPIN:
+                return idleCount;
+            case SPIN_YIELD:
+                if (idleCount < SPIN_TRIES) {
+                    return idleCount + 1;
+                }
+                Thread.yield();
+                return idleCount;
+            case BLOCKING:
+            default:
+                this.consumerParked = true;
+                if (this.slots.get(index) == null) {
+                    LockSupport.park(this);
+                }
+                this.consumerParked = false;
+                return idleCount;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("capacity", getCapacity())
+                .add("waitStrategy", this.waitStrategy)
+                .toString();
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.feedzai.openml.python.jep.instance;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * A bounded set of {@link JepInstance Jep instances} that host many models each, instead of one set of instances per
+ * model.
+ * <p>
+ * Each model is stored in a global variable with a unique name, so models can share an interpreter (and the Python
+ * modules imported into it). {@link #acquire(String, int)} places a model in the least loaded instances, starting them
+ * on demand, and returns a {@link JepInstancePool} that, when stopped, only removes that model (its globals, modules
+ * and import path) instead of stopping the shared instances. Instances are only stopped when the host is
+ * {@link #close() closed}.
+ * <p>
+ * The host also keeps an estimate of the memory retained by each model, measured after it is loaded as the deep size
+ * of its Python object graph.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class SharedInterpreterHost implements AutoCloseable {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(SharedInterpreterHost.class);
+
+    /**
+     * Python code that defines a function that estimates the memory retained by an object by summing the size of
+     * every object reachable from it, except for modules, types and functions which are shared by every model.
+     */
+    private static final String DEEP_SIZE_FUNCTION = "exec('''\n"
+            + "def _openml_deep_size(root):\n"
+            + "    import gc, sys, types\n"
+            + "    shared = (type, types.ModuleType, types.FunctionType, types.BuiltinFunctionType)\n"
+            + "    seen = set()\n"
+            + "    size = 0\n"
+            + "    objects = [root]\n"
+            + "    while objects:\n"
+            + "        unseen = []\n"
+            + "        for obj in objects:\n"
+            + "            if not isinstance(obj, shared) and id(obj) not in seen:\n"
+            + "                seen.add(id(obj))\n"
+            + "                size += sys.getsizeof(obj)\n"
+            + "                unseen.append(obj)\n"
+            + "        objects = gc.get_referents(*unseen)\n"
+            + "    return size\n"
+            + "''')";
+
+    /**
+     * Python code that defines a function that removes a model from an interpreter: the global variable of the model
+     * and every global whose name starts with the name of that variable followed by an underscore, the modules in
+     * {@code sys.modules} named the same way, and the directory stored in the {@code <model>_sys_path} global, if any,
+     * from {@code sys.path}, unless another model added it too.
+     */
+    private static final String REMOVE_MODEL_FUNCTION = "exec('''\n"
+            + "def _openml_remove_model(model_id):\n"
+            + "    import sys\n"
+            + "    scope = globals()\n"
+            + "    owned = lambda name: name == model_id or name.startswith(model_id + '_')\n"
+            + "    path = scope.get(model_id + '_sys_path')\n"
+            + "    for name in [name for name in scope if owned(name)]:\n"
+            + "        del scope[name]\n"
+            + "    for name in [name for name in sys.modules if owned(name)]:\n"
+            + "        del sys.modules[name]\n"
+            + "    shared = any(name.endswith('_sys_path') and value == path for name, value in scope.items())\n"
+            + "    if path is not None and path in sys.path and not shared:\n"
+            + "        sys.path.remove(path)\n"
+            + "''')";
+
+    /**
+     * The Jep instances of this host, started when the first model is placed in them.
+     */
+    private final List<HostedInstance> instances;
+
+    /**
+     * The estimated memory, in bytes, retained by each hosted model in all its replicas.
+     */
+    private final Map<String, Long> modelMemory;
+
+    /**
+     * Whether this host was closed.
+     */
+    private boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param maxInterpreters The maximum number of Jep instances of this host.
+     */
+    public SharedInterpreterHost(final int maxInterpreters) {
+        this(maxInterpreters, LinkedQueueDispatcher::new, RejectionHandler.FAIL_FAST);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxInterpreters   The maximum number of Jep instances of this host.
+     * @param dispatcherFactory Creates the evaluation dispatcher of each Jep instance.
+     * @param rejectionHandler  Handles the evaluations that the dispatcher of a Jep instance has no room for.
+     */
+    public SharedInterpreterHost(final int maxInterpreters,
+                                 final Supplier<? extends EvaluationDispatcher> dispatcherFactory,
+                                 final RejectionHandler rejectionHandler) {
+        Preconditions.checkArgument(maxInterpreters > 0, "The maximum number of interpreters must be positive. Got %s", maxInterpreters);
+        final List<HostedInstance> hostedInstances = new ArrayList<>(maxInterpreters);
+        for (int index = 0; index < maxInterpreters; index++) {
+            hostedInstances.add(new HostedInstance(new JepInstance(dispatcherFactory.get(), rejectionHandler)));
+        }
+        this.instances = ImmutableList.copyOf(hostedInstances);
+        this.modelMemory = new HashMap<>();
+    }
+
+    /**
+     * Places a model in the least loaded Jep instances of this host.
+     *
+     * @param modelId  The name of the global variable where the model is stored.
+     * @param replicas The number of Jep instances where the model is loaded, capped at the number of instances of
+     *                 this host.
+     * @return A pool with the chosen (already started) instances, whose {@link JepInstancePool#stop()} releases the
+     * model instead of stopping the instances.
+     */
+    public synchronized JepInstancePool acquire(final String modelId, final int replicas) {
+        Preconditions.checkState(!this.closed, "The interpreter host is closed.");
+        Preconditions.checkArgument(replicas > 0, "The number of replicas must be positive. Got %s", replicas);
+
+        final List<HostedInstance> chosen = new ArrayList<>(this.instances);
+        chosen.sort(Comparator.comparingInt((HostedInstance instance) -> instance.hostedModels)
+                .thenComparingLong(instance -> instance.memoryBytes));
+        final List<HostedInstance> placement = chosen.subList(0, Math.min(replicas, chosen.size()));
+
+        final List<JepInstance> jepInstances = new ArrayList<>(placement.size());
+        for (final HostedInstance instance : placement) {
+            if (!instance.started) {
+                instance.jepInstance.start();
+                instance.started = true;
+            }
+            instance.hostedModels++;
+            jepInstances.add(instance.jepInstance);
+        }
+        logger.debug("Model {} placed in {} shared interpreter(s).", modelId, jepInstances.size());
+
+        return new SharedJepInstancePool(jepInstances, modelId);
+    }
+
+    /**
+     * Measures the memory retained by a model that was loaded into the instances returned by
+     * {@link #acquire(String, int)}.
+     *
+     * @param modelId The name of the global variable where the model is stored.
+     * @param pool    The pool returned when the model was placed.
+     * @throws InterruptedException If the thread is interrupted while waiting for the measurements.
+     * @throws ExecutionException   If there is a problem measuring the model.
+     */
+    public void measureModel(final String modelId, final JepInstancePool pool) throws InterruptedException, ExecutionException {
+        long total = 0;
+        for (final JepInstance jepInstance : pool.getInstances()) {
+            final long bytes = jepInstance.submitEvaluation(jep -> {
+                jep.eval(DEEP_SIZE_FUNCTION);
+                return ((Number) jep.getValue(String.format("_openml_deep_size(%s)", modelId))).longValue();
+            }).get();
+            synchronized (this) {
+                findHostedInstance(jepInstance).memoryBytes += bytes;
+            }
+            total += bytes;
+        }
+
+        synchronized (this) {
+            this.modelMemory.put(modelId, total);
+        }
+        logger.info("Model {} retains an estimated {} bytes in shared interpreters.", modelId, total);
+    }
+
+    /**
+     * Gets the estimated memory, in bytes, retained by each hosted model in all its replicas.
+     *
+     * @return The memory of each measured model, by the name of its global variable.
+     */
+    public synchronized Map<String, Long> getModelMemoryBytes() {
+        return ImmutableMap.copyOf(this.modelMemory);
+    }
+
+    /**
+     * Gets the number of models hosted by each Jep instance of this host.
+     *
+     * @return The number of models of each instance.
+     */
+    public synchronized List<Integer> getHostedModelCounts() {
+        final ImmutableList.Builder<Integer> counts = ImmutableList.builder();
+        this.instances.forEach(instance -> counts.add(instance.hostedModels));
+        return counts.build();
+    }
+
+    /**
+     * Stops all the Jep instances of this host, along with the models they still host.
+     */
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        for (final HostedInstance instance : this.instances) {
+            if (instance.started) {
+                instance.jepInstance.stop();
+            }
+        }
+        this.modelMemory.clear();
+    }
+
+    /**
+     * Removes a model from the instances where it was placed.
+     *
+     * @param modelId      The name of the global variable where the model is stored.
+     * @param jepInstances The instances where the model was placed.
+     */
+    private void release(final String modelId, final List<JepInstance> jepInstances) {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+        }
+
+        for (final JepInstance jepInstance : jepInstances) {
+            try {
+                jepInstance.submitEvaluation(jep -> {
+                    jep.eval(REMOVE_MODEL_FUNCTION);
+                    jep.eval(String.format("_openml_remove_model('%s')", modelId));
+                    return null;
+                }).get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.warn("Interrupted while removing model {} from a shared interpreter.", modelId);
+            } catch (final ExecutionException | RuntimeException e) {
+                logger.warn("Could not remove model {} from a shared interpreter.", modelId, e);
+            }
+        }
+
+        synchronized (this) {
+            final long totalBytes = this.modelMemory.getOrDefault(modelId, 0L);
+            for (final JepInstance jepInstance : jepInstances) {
+                final HostedInstance instance = findHostedInstance(jepInstance);
+                instance.hostedModels--;
+                instance.memoryBytes = Math.max(0, instance.memoryBytes - totalBytes / jepInstances.size());
+            }
+            this.modelMemory.remove(modelId);
+        }
+        logger.debug("Model {} removed from {} shared interpreter(s).", modelId, jepInstances.size());
+    }
+
+    /**
+     * Finds the hosted instance of a Jep instance.
+     *
+     * @param jepInstance The Jep instance.
+     * @return The hosted instance.
+     */
+    private HostedInstance findHostedInstance(final JepInstance jepInstance) {
+        for (final HostedInstance instance : this.instances) {
+            if (instance.jepInstance == jepInstance) {
+                return instance;
+            }
+        }
+        throw new IllegalArgumentException("The Jep instance does not belong to this host.");
+    }
+
+    /**
+     * A Jep instance of this host and the models it hosts.
+     */
+    private static final class HostedInstance {
+
+        /**
+         * The Jep instance.
+         */
+        private final JepInstance jepInstance;
+
+        /**
+         * Whether the Jep instance was started.
+         */
+        private boolean started;
+
+        /**
+         * The number of models placed in the Jep instance.
+         */
+        private int hostedModels;
+
+        /**
+         * The estimated memory, in bytes, retained by the models placed in the Jep instance.
+         */
+        private long memoryBytes;
+
+        /**
+         * Constructor.
+         *
+         * @param jepInstance The Jep instance.
+         */
+        private HostedInstance(final JepInstance jepInstance) {
+            this.jepInstance = jepInstance;
+        }
+    }
+
+    /**
+     * The instances where a model was placed, which release the model when stopped.
+     */
+    private final class SharedJepInstancePool extends JepInstancePool {
+
+        /**
+         * The name of the global variable where the model is stored.
+         */
+        private final String modelId;
+
+        /**
+         * Whether the model was already released.
+         */
+        private boolean released;
+
+        /**
+         * Constructor.
+         *
+         * @param jepInstances The instances where the model was placed.
+         * @param modelId      The name of the global variable where the model is stored.
+         */
+        private SharedJepInstancePool(final List<JepInstance> jepInstances, final String modelId) {
+            super(jepInstances, RoutingStrategy.LEAST_QUEUE_DEPTH);
+            this.modelId = modelId;
+        }
+
+        /**
+         * Does nothing, since the shared instances are started by the host.
+         */
+        @Override
+        public void start() {
+        }
+
+        /**
+         * Releases the model from the shared instances, which keep running for the other models.
+         */
+        @Override
+        public void stop() {
+            synchronized (this) {
+                if (this.released) {
+                    return;
+                }
+                this.released = true;
+            }
+            release(this.modelId, getInstances());
+        }
+    }
+}
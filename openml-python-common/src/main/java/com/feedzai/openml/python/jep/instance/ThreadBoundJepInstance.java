@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.feedzai.openml.python.jep.instance;
+import com.google.common.base.Preconditions;
+import jep.Jep;
+import jep.JepException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link JepInstance} that runs evaluations directly on the threads that submit them ("caller-runs"), each with its
+ * own thread-bound Jep interpreter, instead of handing them over to the dedicated thread of the instance.
+ * <p>
+ * Until {@link #markDeserialized()} is called, the evaluations run on the dedicated thread and are recorded: these are
+ * the evaluations that deserialize the model. Those submitted afterwards (e.g. validating or compiling the model) run
+ * on the dedicated thread without being recorded. Once {@link #markLoaded()} is called, the first evaluation
+ * submitted by each thread creates an interpreter for that thread and replays the recorded evaluations into it (so
+ * that it holds its own replica of the model) and every evaluation of that thread then runs inline, without any queue
+ * hop or thread wake-up. This requires the recorded evaluations to be safe to run more than once, in different
+ * interpreters.
+ * <p>
+ * At most {@link #maxInterpreters} thread-bound interpreters are created; the evaluations of threads that do not get
+ * one fall back to the dedicated thread. If an interpreter fails to be created, the threads fall back to the dedicated
+ * thread and retry after {@link #BIND_RETRY_DELAY_NANOS}. This suits fixed-size worker pools, whose threads live as
+ * long as the model.
+ * <p>
+ * Jep does not allow a thread to create a second interpreter while it has one open, so each thread holds the
+ * interpreter of a single thread-bound instance: the evaluations a thread submits to other instances fall back to
+ * their dedicated threads. A Jep interpreter must also be closed by the thread that created it, so {@link #stop()}
+ * only closes the interpreter of the calling thread, and the interpreters of the other threads are closed by them the
+ * next time they submit an evaluation to any thread-bound instance (which then binds them to its own interpreter, e.g.
+ * after a model is replaced by a new version). The interpreters of threads that die before that cannot be closed.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class ThreadBoundJepInstance extends JepInstance {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ThreadBoundJepInstance.class);
+
+    /**
+     * The time after a failure to create an interpreter during which the threads of an instance do not try to create
+     * another one.
+     */
+    private static final long BIND_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * The interpreter bound to each thread, by any thread-bound instance, since a thread can only have one.
+     */
+    private static final ThreadLocal<BoundInterpreter> THREAD_INTERPRETERS = new ThreadLocal<>();
+
+    /**
+     * The maximum number of thread-bound interpreters.
+     */
+    private final int maxInterpreters;
+
+    /**
+     * The evaluations that deserialized the model, replayed into each new thread-bound interpreter.
+     */
+    private final List<JepFunction<?>> loadEvaluations;
+
+    /**
+     * The thread-bound interpreters that are still open.
+     */
+    private final Set<BoundInterpreter> openInterpreters;
+
+    /**
+     * The number of thread-bound interpreters that were created and are still open.
+     */
+    private final AtomicInteger interpreterCount;
+
+    /**
+     * Whether the model was deserialized, after which evaluations are no longer recorded.
+     */
+    private volatile boolean deserialized;
+
+    /**
+     * Whether the model was loaded, after which evaluations run on the threads that submit them.
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Whether this instance was stopped.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Whether the last attempt to create an interpreter failed.
+     */
+    private volatile boolean bindFailed;
+
+    /**
+     * The {@link System#nanoTime()} of the last failure to create an interpreter.
+     */
+    private volatile long bindFailureNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param evaluationDispatcher Hands the evaluations that fall back to the dedicated thread over to it.
+     * @param rejectionHandler     Handles the evaluations that the dispatcher has no room for.
+     * @param maxInterpreters      The maximum number of thread-bound interpreters.
+     */
+    public ThreadBoundJepInstance(final EvaluationDispatcher evaluationDispatcher,
+                                  final RejectionHandler rejectionHandler,
+                                  final int maxInterpreters) {
+        super(evaluationDispatcher, rejectionHandler);
+        Preconditions.checkArgument(maxInterpreters > 0, "The maximum number of interpreters must be positive. Got %s", maxInterpreters);
+        this.maxInterpreters = maxInterpreters;
+        this.loadEvaluations = new CopyOnWriteArrayList<>();
+        this.openInterpreters = ConcurrentHashMap.newKeySet();
+        this.interpreterCount = new AtomicInteger();
+    }
+
+    /**
+     * Signals that the model is deserialized: the evaluations submitted from now on are not recorded, so they are not
+     * replayed into the thread-bound interpreters.
+     */
+    public void markDeserialized() {
+        this.deserialized = true;
+    }
+
+    /**
+     * Signals that the model is loaded: the evaluations submitted from now on are not recorded and run on the
+     * threads that submit them.
+     */
+    public void markLoaded() {
+        this.deserialized = true;
+        this.loaded = true;
+    }
+
+    /**
+     * Gets the number of thread-bound interpreters that are open.
+     *
+     * @return The number of interpreters.
+     */
+    public int getInterpreterCount() {
+        return this.interpreterCount.get();
+    }
+
+    @Override
+    public <T> AbstractJepEvaluation<T> submitEvaluation(final JepFunction<T> evaluationFunction) {
+        if (!this.loaded) {
+            if (!this.deserialized) {
+                this.loadEvaluations.add(evaluationFunction);
+            }
+            return super.submitEvaluation(evaluationFunction);
+        }
+
+        final Jep jep = getCurrentThreadInterpreter();
+        if (jep == null) {
+            return super.submitEvaluation(evaluationFunction);
+        }
+
+        final AbstractJepEvaluation<T> evaluation = createEvaluation(evaluationFunction);
+        evaluation.evaluate(jep);
+        return evaluation;
+    }
+
+    @Override
+    public <T> AbstractJepEvaluation<T> submitEvaluation(final JepFunction<T> evaluationFunction,
+                                                         final long timeout,
+                                                         final TimeUnit unit) {
+        // Evaluations that run inline never wait, so only the ones that fall back to the dedicated thread can expire
+        if (this.loaded && getCurrentThreadInterpreter() != null) {
+            return submitEvaluation(evaluationFunction);
+        }
+        return super.submitEvaluation(evaluationFunction, timeout, unit);
+    }
+
+    @Override
+    public void stop() {
+        this.stopped = true;
+        super.stop();
+
+        final BoundInterpreter interpreter = THREAD_INTERPRETERS.get();
+        if (interpreter != null && interpreter.instance == this) {
+            interpreter.close();
+        }
+        releaseDeadInterpreters();
+    }
+
+    /**
+     * Gets the interpreter of this instance bound to the current thread, creating it if needed.
+     *
+     * @return The interpreter, or {@code null} if the current thread has none and evaluations should fall back to
+     * the dedicated thread.
+     */
+    private Jep getCurrentThreadInterpreter() {
+        BoundInterpreter interpreter = THREAD_INTERPRETERS.get();
+        if (interpreter != null && interpreter.instance != this) {
+            if (!interpreter.instance.stopped) {
+                return null;
+            }
+            // The other instance was stopped, so its interpreter can be closed now that its thread is running
+            interpreter.close();
+            interpreter = null;
+        }
+
+        if (this.stopped) {
+            if (interpreter != null) {
+                interpreter.close();
+            }
+            return null;
+        }
+
+        if (interpreter == null) {
+            interpreter = bindInterpreter();
+            if (interpreter == null) {
+                return null;
+            }
+            THREAD_INTERPRETERS.set(interpreter);
+        }
+        return interpreter.jep;
+    }
+
+    /**
+     * Creates an interpreter for the current thread and replays the evaluations that deserialized the model into it.
+     *
+     * @return The interpreter bound to the current thread, or {@code null} if it could not be created.
+     */
+    private BoundInterpreter bindInterpreter() {
+        if (this.bindFailed && System.nanoTime() - this.bindFailureNanos < BIND_RETRY_DELAY_NANOS) {
+            return null;
+        }
+        if (!reserveInterpreter()) {
+            return null;
+        }
+
+        Jep jep = null;
+        try {
+            jep = createJep();
+            for (final JepFunction<?> loadEvaluation : this.loadEvaluations) {
+                loadEvaluation.apply(jep);
+            }
+        } catch (final JepException | RuntimeException e) {
+            logger.error("Could not load the model into a thread-bound interpreter; using the dedicated thread.", e);
+            if (jep != null) {
+                closeJep(jep);
+            }
+            this.interpreterCount.decrementAndGet();
+            this.bindFailureNanos = System.nanoTime();
+            this.bindFailed = true;
+            return null;
+        }
+
+        this.bindFailed = false;
+        final BoundInterpreter interpreter = new BoundInterpreter(this, jep, Thread.currentThread());
+        this.openInterpreters.add(interpreter);
+        return interpreter;
+    }
+
+    /**
+     * Reserves one of the {@link #maxInterpreters} interpreters, first releasing the ones of threads that died if
+     * there are none left.
+     *
+     * @return {@code true} if an interpreter was reserved, {@code false} otherwise.
+     */
+    private boolean reserveInterpreter() {
+        if (this.interpreterCount.incrementAndGet() <= this.maxInterpreters) {
+            return true;
+        }
+        this.interpreterCount.decrementAndGet();
+        return releaseDeadInterpreters() > 0 && reserveInterpreter();
+    }
+
+    /**
+     * Releases the interpreters of the threads that died, which can no longer be closed, so that other threads can
+     * create theirs.
+     *
+     * @return The number of released interpreters.
+     */
+    private int releaseDeadInterpreters() {
+        int released = 0;
+        for (final BoundInterpreter interpreter : this.openInterpreters) {
+            if (!interpreter.owner.isAlive() && this.openInterpreters.remove(interpreter)) {
+                this.interpreterCount.decrementAndGet();
+                released++;
+                logger.warn("The thread {} died without closing its interpreter, which cannot be closed by another thread.", interpreter.owner.getName());
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Closes a Jep interpreter, logging any problem.
+     *
+     * @param jep The interpreter.
+     */
+    private static void closeJep(final Jep jep) {
+        try {
+            jep.close();
+        } catch (final RuntimeException e) {
+            logger.warn("Could not close a thread-bound interpreter.", e);
+        }
+    }
+
+    /**
+     * A Jep interpreter bound to a thread.
+     */
+    private static final class BoundInterpreter {
+
+        /**
+         * The instance that created the interpreter.
+         */
+        private final ThreadBoundJepInstance instance;
+
+        /**
+         * The interpreter.
+         */
+        private final Jep jep;
+
+        /**
+         * The thread that created the interpreter.
+         */
+        private final Thread owner;
+
+        /**
+         * Constructor.
+         *
+         * @param instance The instance that created the interpreter.
+         * @param jep      The interpreter.
+         * @param owner    The thread that created the interpreter.
+         */
+        private BoundInterpreter(final ThreadBoundJepInstance instance, final Jep jep, final Thread owner) {
+            this.instance = instance;
+            this.jep = jep;
+            this.owner = owner;
+        }
+
+        /**
+         * Closes the interpreter and unbinds it from its thread. Must be called by the thread that created it.
+         */
+        private void close() {
+            THREAD_INTERPRETERS.remove();
+            if (this.instance.openInterpreters.remove(this)) {
+                this.instance.interpreterCount.decrementAndGet();
+            }
+            closeJep(this.jep);
+        }
+    }
+}
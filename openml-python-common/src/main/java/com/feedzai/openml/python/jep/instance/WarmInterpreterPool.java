@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python.jep.instance;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import jep.JepException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A background supply of started {@link JepInstance Jep instances} with the common Python modules already imported,
+ * so that loading a model only pays for deserializing it instead of starting interpreters from scratch.
+ * <p>
+ * A background thread keeps up to {@link #targetSize} warm instances ready, starting a new one each time an instance
+ * is taken. {@link #acquire(int, JepInstancePool.RoutingStrategy)} hands warm instances over to a model, which owns
+ * them from then on, and starts cold ones if there are not enough warm instances ready.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class WarmInterpreterPool implements AutoCloseable {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(WarmInterpreterPool.class);
+
+    /**
+     * The Python modules imported into every Jep instance by default.
+     */
+    public static final List<String> DEFAULT_IMPORTS = ImmutableList.of("numpy", "scipy", "sklearn", "xgboost");
+
+    /**
+     * The delay, in milliseconds, before retrying to warm up an interpreter after a first failure.
+     */
+    private static final long MIN_RETRY_DELAY_MILLIS = 100;
+
+    /**
+     * The maximum delay, in milliseconds, before retrying to warm up an interpreter after consecutive failures.
+     */
+    private static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * The number of warm instances kept ready.
+     */
+    private final int targetSize;
+
+    /**
+     * The Python modules imported into each instance before it is ready.
+     */
+    private final List<String> imports;
+
+    /**
+     * Creates the evaluation dispatcher of each Jep instance.
+     */
+    private final Supplier<? extends EvaluationDispatcher> dispatcherFactory;
+
+    /**
+     * Handles the evaluations that the dispatcher of a Jep instance has no room for.
+     */
+    private final RejectionHandler rejectionHandler;
+
+    /**
+     * The warm instances ready to be taken.
+     */
+    private final BlockingQueue<JepInstance> ready;
+
+    /**
+     * The number of instances the background thread still has to warm up to reach the {@link #targetSize}.
+     */
+    private final Semaphore missing;
+
+    /**
+     * The thread that warms up new instances.
+     */
+    private final Thread warmer;
+
+    /**
+     * Whether this pool was closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructor with the {@link #DEFAULT_IMPORTS default imports}.
+     *
+     * @param targetSize The number of warm instances kept ready.
+     */
+    public WarmInterpreterPool(final int targetSize) {
+        this(targetSize, DEFAULT_IMPORTS, LinkedQueueDispatcher::new, RejectionHandler.FAIL_FAST);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param targetSize        The number of warm instances kept ready.
+     * @param imports           The Python modules imported into each instance before it is ready; modules that are
+     *                          not installed are skipped.
+     * @param dispatcherFactory Creates the evaluation dispatcher of each Jep instance.
+     * @param rejectionHandler  Handles the evaluations that the dispatcher of a Jep instance has no room for.
+     */
+    public WarmInterpreterPool(final int targetSize,
+                               final List<String> imports,
+                               final Supplier<? extends EvaluationDispatcher> dispatcherFactory,
+                               final RejectionHandler rejectionHandler) {
+        Preconditions.checkArgument(targetSize > 0, "The number of warm interpreters must be positive. Got %s", targetSize);
+        this.targetSize = targetSize;
+        this.imports = ImmutableList.copyOf(imports);
+        this.dispatcherFactory = Preconditions.checkNotNull(dispatcherFactory);
+        this.rejectionHandler = Preconditions.checkNotNull(rejectionHandler);
+        this.ready = new LinkedBlockingQueue<>();
+        this.missing = new Semaphore(targetSize);
+
+        this.warmer = new Thread(this::warmUp, "openml-python-interpreter-warmer");
+        this.warmer.setDaemon(true);
+        this.warmer.start();
+    }
+
+    /**
+     * Takes Jep instances for a model, warm ones first, which the model owns from then on.
+     *
+     * @param size            The number of Jep instances.
+     * @param routingStrategy The strategy used to choose which instance runs each evaluation.
+     * @return A pool with the (already started) instances, which are stopped when the pool is stopped.
+     */
+    public JepInstancePool acquire(final int size, final JepInstancePool.RoutingStrategy routingStrategy) {
+        Preconditions.checkState(!this.closed, "The warm interpreter pool is closed.");
+        Preconditions.checkArgument(size > 0, "The size of a pool of Jep instances must be positive. Got %s", size);
+
+        final List<JepInstance> instances = new ArrayList<>(size);
+        int cold = 0;
+        while (instances.size() < size) {
+            final JepInstance instance = this.ready.poll();
+            if (instance != null) {
+                this.missing.release();
+                instances.add(instance);
+            } else {
+                instances.add(startInstance());
+                cold++;
+            }
+        }
+        logger.debug("Acquired {} warm and {} cold interpreter(s).", size - cold, cold);
+
+        return new StartedJepInstancePool(instances, routingStrategy);
+    }
+
+    /**
+     * Gets the number of warm instances ready to be taken.
+     *
+     * @return The number of warm instances.
+     */
+    public int getReadyCount() {
+        return this.ready.size();
+    }
+
+    /**
+     * Gets the number of warm instances kept ready.
+     *
+     * @return The target number of warm instances.
+     */
+    public int getTargetSize() {
+        return this.targetSize;
+    }
+
+    /**
+     * Stops the background thread and the warm instances that were not taken. The instances already taken by models
+     * keep running until their models are closed.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.warmer.interrupt();
+        try {
+            this.warmer.join();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        JepInstance instance;
+        while ((instance = this.ready.poll()) != null) {
+            instance.stop();
+        }
+    }
+
+    /**
+     * Runs in the background thread, warming up a new instance each time one is missing to reach the target size.
+     * <p>
+     * Failures to start an instance are retried after a delay that doubles with each consecutive failure, up to
+     * {@link #MAX_RETRY_DELAY_MILLIS}; meanwhile models take cold instances.
+     */
+    private void warmUp() {
+        long retryDelayMillis = MIN_RETRY_DELAY_MILLIS;
+        try {
+            while (!this.closed) {
+                this.missing.acquire();
+                final JepInstance instance;
+                try {
+                    instance = startInstance();
+                } catch (final RuntimeException e) {
+                    logger.error("Could not warm up an interpreter, retrying in {} ms.", retryDelayMillis, e);
+                    this.missing.release();
+                    Thread.sleep(retryDelayMillis);
+                    retryDelayMillis = Math.min(2 * retryDelayMillis, MAX_RETRY_DELAY_MILLIS);
+                    continue;
+                }
+                retryDelayMillis = MIN_RETRY_DELAY_MILLIS;
+
+                if (this.closed) {
+                    instance.stop();
+                    return;
+                }
+                this.ready.add(instance);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts a Jep instance and imports the configured Python modules into it.
+     *
+     * @return The started instance.
+     * @throws RuntimeException If the instance cannot be started.
+     */
+    private JepInstance startInstance() {
+        final JepInstance instance = new JepInstance(this.dispatcherFactory.get(), this.rejectionHandler);
+        instance.start();
+        try {
+            instance.submitEvaluation(jep -> {
+                for (final String module : this.imports) {
+                    try {
+                        jep.eval(String.format("import %s", module));
+                    } catch (final JepException e) {
+                        logger.debug("Python module {} is not available, skipping it.", module);
+                    }
+                }
+                return null;
+            }).get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while importing the common Python modules into an interpreter.");
+        } catch (final ExecutionException e) {
+            logger.warn("Could not import the common Python modules into an interpreter.", e);
+        } catch (final RuntimeException e) {
+            instance.stop();
+            throw e;
+        }
+        return instance;
+    }
+
+    /**
+     * A pool of Jep instances that were already started.
+     */
+    private static final class StartedJepInstancePool extends JepInstancePool {
+
+        /**
+         * Constructor.
+         *
+         * @param instances       The started Jep instances.
+         * @param routingStrategy The strategy used to choose which instance runs each evaluation.
+         */
+        private StartedJepInstancePool(final List<JepInstance> instances, final RoutingStrategy routingStrategy) {
+            super(instances, routingStrategy);
+        }
+
+        /**
+         * Does nothing, since the instances were started by the warm interpreter pool.
+         */
+        @Override
+        public void start() {
+        }
+    }
+}
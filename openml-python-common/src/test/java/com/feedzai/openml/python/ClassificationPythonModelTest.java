@@ -16,24 +16,39 @@
 
 package com.feedzai.openml.python;
 
+import com.feedzai.openml.data.Instance;
 import com.feedzai.openml.data.schema.CategoricalValueSchema;
 import com.feedzai.openml.data.schema.DatasetSchema;
 import com.feedzai.openml.data.schema.FieldSchema;
 import com.feedzai.openml.data.schema.NumericValueSchema;
 import com.feedzai.openml.mocks.MockInstance;
 import com.feedzai.openml.python.jep.instance.JepInstance;
+import com.feedzai.openml.python.jep.instance.JepInstancePool;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
@@ -56,6 +71,36 @@ public class ClassificationPythonModelTest {
     private static final FieldSchema CATEGORICAL_FIELD_SCHEMA =
             new FieldSchema("categorical", 1, new CategoricalValueSchema(false, ImmutableSet.of("this", "that")));
 
+    /**
+     * A categorical target field with as many classes as the class distributions of the dummy model.
+     */
+    private static final FieldSchema TARGET_FIELD_SCHEMA =
+            new FieldSchema("target", 1, new CategoricalValueSchema(false, ImmutableSet.of("this", "that", "other")));
+
+    /**
+     * A schema with as many predictive fields as the classes of the dummy model, so that the features sent to the
+     * model fit in its class distributions, and with the target between them.
+     */
+    private static final DatasetSchema ECHO_SCHEMA = new DatasetSchema(1, ImmutableList.of(
+            new FieldSchema("first", 0, new NumericValueSchema(false)),
+            TARGET_FIELD_SCHEMA,
+            new FieldSchema("second", 2, new NumericValueSchema(false)),
+            new FieldSchema("third", 3, new NumericValueSchema(false))
+    ));
+
+    /**
+     * Instances of the {@link #ECHO_SCHEMA}, with some of their features zero.
+     */
+    private static final List<Instance> ECHO_INSTANCES = ImmutableList.of(
+            new MockInstance(new double[]{0.5, 0, 0.0, 2.0}),
+            new MockInstance(new double[]{0.0, 0, 3.0, 0.0})
+    );
+
+    /**
+     * The features of the {@link #ECHO_INSTANCES}.
+     */
+    private static final double[][] ECHO_FEATURES = {{0.5, 0.0, 2.0}, {0.0, 3.0, 0.0}};
+
     /**
      * The wrapper for the Jep object used in the tests.
      */
@@ -89,30 +134,619 @@ public class ClassificationPythonModelTest {
      */
     @Test
     public final void testInvalidClass() throws URISyntaxException, ExecutionException, InterruptedException {
-        final Path modelPath = Paths.get(getClass().getResource("/dummy_model").toURI());
         final String id = "classificationModel";
         final List<FieldSchema> fields = ImmutableList.of(FIELD_SCHEMA, CATEGORICAL_FIELD_SCHEMA);
         final String illegalTargetValue = "those";
         final DatasetSchema schema = new DatasetSchema(1, fields);
         final Random random = new Random();
 
+        loadDummyModel(id, illegalTargetValue);
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(this.jepInstance, schema, id, "classify", "getClassDistribution");
+
+        assertThatThrownBy(() -> model.classify(new MockInstance(schema, random)))
+                .as("A classifier that does not return a valid target value will fail with a null pointer exception")
+                .isInstanceOf(NullPointerException.class);
+    }
+
+    /**
+     * Tests that concurrent class distribution calls coalesced into micro-batches get the class distribution of their
+     * own instance.
+     */
+    @Test
+    public final void testMicroBatchedClassDistribution() throws Exception {
+        final String id = "microBatchedModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+        final Random random = new Random();
+        final int numberCalls = 32;
+
+        loadDummyModel(id, "this");
+
+        final PythonModelConfig config = PythonModelConfig.builder()
+                .withMicroBatching(8, 1000)
+                .build();
+        final ClassificationPythonModel model = new ClassificationPythonModel(
+                new JepInstancePool(this.jepInstance),
+                schema,
+                id,
+                config
+        );
+
+        final ExecutorService executor = Executors.newFixedThreadPool(numberCalls);
+        try {
+            final List<Future<double[]>> distributions = new ArrayList<>();
+            for (int i = 0; i < numberCalls; i++) {
+                distributions.add(executor.submit(() -> model.getClassDistribution(new MockInstance(schema, random))));
+            }
+            for (final Future<double[]> distribution : distributions) {
+                assertThat(distribution.get())
+                        .as("The class distribution of a micro-batched call")
+                        .containsExactly(1.0, 0.0, 0.0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Tests that a batch of instances is scored with a class distribution per instance.
+     */
+    @Test
+    public final void testBulkClassDistributions() throws Exception {
+        final String id = "bulkModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+        final Random random = new Random();
+
+        loadDummyModel(id, "this");
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(this.jepInstance, schema, id);
+        final List<Instance> instances = ImmutableList.of(
+                new MockInstance(schema, random),
+                new MockInstance(schema, random),
+                new MockInstance(schema, random)
+        );
+
+        assertThat(model.getClassDistributions(instances))
+                .as("The class distributions of a batch of instances")
+                .containsExactly(new double[]{1, 0, 0}, new double[]{1, 0, 0}, new double[]{1, 0, 0});
+        assertThat(model.getClassDistributions(ImmutableList.of()))
+                .as("The class distributions of an empty batch")
+                .isEmpty();
+    }
+
+    /**
+     * Tests that a batch call fails when the model returns class distributions without a value per class of the
+     * target variable, instead of splitting them into distributions of the wrong size.
+     */
+    @Test
+    public final void testBulkClassDistributionsOfWrongWidth() throws Exception {
+        final String id = "wrongWidthBulkModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, CATEGORICAL_FIELD_SCHEMA));
+        final Random random = new Random();
+
+        loadDummyModel(id, "this");
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(this.jepInstance, schema, id);
+
+        assertThatThrownBy(() -> model.getClassDistributions(ImmutableList.of(new MockInstance(schema, random), new MockInstance(schema, random))))
+                .as("Scoring a batch with a model that returns 3 values per instance for a target with 2 classes")
+                .hasRootCauseInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Tests that the class distribution of an instance is written into an array owned by the caller, which can be
+     * reused across calls, and that the model rejects arrays too small for the target variable.
+     */
+    @Test
+    public final void testClassDistributionIntoArray() throws Exception {
+        final String id = "reusedArrayModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+        final Random random = new Random();
+
+        loadDummyModel(id, "this");
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(this.jepInstance, schema, id);
+        final double[] distribution = new double[3];
+
+        for (int i = 0; i < 3; i++) {
+            model.getClassDistribution(new MockInstance(schema, random), distribution);
+            assertThat(distribution)
+                    .as("The class distribution written into a reused array")
+                    .containsExactly(1.0, 0.0, 0.0);
+        }
+
+        assertThatThrownBy(() -> model.getClassDistribution(new MockInstance(schema, random), new double[2]))
+                .as("Writing the class distribution into an array smaller than the number of classes")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Tests that a call fails, instead of hanging, when the model returns a class distribution without a value per
+     * class of the target variable, and that the Jep instance keeps running evaluations afterwards.
+     */
+    @Test
+    public final void testClassDistributionOfWrongWidth() throws Exception {
+        final String id = "wrongWidthModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, CATEGORICAL_FIELD_SCHEMA));
+        final Random random = new Random();
+
+        loadDummyModel(id, "this");
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(this.jepInstance, schema, id);
+        final CompletableFuture<double[]> distribution = model.getClassDistributionAsync(new MockInstance(schema, random));
+
+        assertThatThrownBy(() -> distribution.get(30, TimeUnit.SECONDS))
+                .as("Scoring with a model that returns 3 values for a target with 2 classes")
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(this.jepInstance.submitEvaluation(jep -> true).get(30, TimeUnit.SECONDS))
+                .as("An evaluation submitted after the failed call")
+                .isTrue();
+    }
+
+    /**
+     * Tests that the class and the class distribution of an instance obtained with a single call match the ones
+     * obtained separately.
+     */
+    @Test
+    public final void testClassifyWithDistribution() throws Exception {
+        final String id = "combinedModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+        final Random random = new Random();
+
+        loadDummyModel(id, "this");
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(this.jepInstance, schema, id);
+        final Instance instance = new MockInstance(schema, random);
+        final ClassificationResult result = model.classifyWithDistribution(instance);
+
+        assertThat(result.getClassIndex())
+                .as("The class obtained together with the class distribution")
+                .isEqualTo(model.classify(instance));
+        assertThat(result.getClassDistribution())
+                .as("The class distribution obtained together with the class")
+                .containsExactly(model.getClassDistribution(instance));
+    }
+
+    /**
+     * Tests that instances and matrices of features are scored when the features are transferred through off-heap
+     * buffers.
+     */
+    @Test
+    public final void testDirectFeatureTransfer() throws Exception {
+        final String id = "directTransferModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+        final Random random = new Random();
+
+        loadDummyModel(id, "this");
+
+        final PythonModelConfig config = PythonModelConfig.builder()
+                .withFeatureTransfer(PythonModelConfig.FeatureTransfer.DIRECT)
+                .build();
+        final ClassificationPythonModel model = new ClassificationPythonModel(
+                new JepInstancePool(this.jepInstance),
+                schema,
+                id,
+                config
+        );
+
+        assertThat(model.getClassDistributions(ImmutableList.of(new MockInstance(schema, random), new MockInstance(schema, random))))
+                .as("The class distributions of a batch of instances staged off-heap")
+                .containsExactly(new double[]{1, 0, 0}, new double[]{1, 0, 0});
+
+        final DoubleBuffer features = ByteBuffer.allocateDirect(3 * Double.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asDoubleBuffer();
+        features.put(new double[]{0.1, 0.2, 0.3});
+        features.flip();
+
+        assertThat(model.getClassDistributions(features, 3))
+                .as("The class distributions of an off-heap matrix of features")
+                .containsExactly(new double[]{1, 0, 0}, new double[]{1, 0, 0}, new double[]{1, 0, 0});
+        assertThat(features.position())
+                .as("The position of the matrix of features after scoring it")
+                .isZero();
+        assertThatThrownBy(() -> model.getClassDistributions(features, 4))
+                .as("Scoring more rows than the matrix of features holds")
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Tests that instances and matrices of features are scored when the features are sent in single precision, both
+     * through heap arrays and through off-heap buffers.
+     */
+    @Test
+    public final void testFloatFeaturePrecision() throws Exception {
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+        final Random random = new Random();
+
+        for (final PythonModelConfig.FeatureTransfer featureTransfer : PythonModelConfig.FeatureTransfer.values()) {
+            final String id = "floatModel" + featureTransfer;
+            loadDummyModel(id, "this");
+
+            final PythonModelConfig config = PythonModelConfig.builder()
+                    .withFeatureTransfer(featureTransfer)
+                    .withFeaturePrecision(PythonModelConfig.FeaturePrecision.FLOAT)
+                    .build();
+            final ClassificationPythonModel model = new ClassificationPythonModel(
+                    new JepInstancePool(this.jepInstance),
+                    schema,
+                    id,
+                    config
+            );
+
+            assertThat(model.getClassDistribution(new MockInstance(schema, random)))
+                    .as("The class distribution of an instance sent in single precision")
+                    .containsExactly(1, 0, 0);
+            assertThat(model.getClassDistributions(ImmutableList.of(new MockInstance(schema, random), new MockInstance(schema, random))))
+                    .as("The class distributions of a batch of instances sent in single precision")
+                    .containsExactly(new double[]{1, 0, 0}, new double[]{1, 0, 0});
+            assertThat(model.getClassDistributions(new double[]{0.1, 0.2}, 2))
+                    .as("The class distributions of a matrix of doubles sent in single precision")
+                    .containsExactly(new double[]{1, 0, 0}, new double[]{1, 0, 0});
+        }
+    }
+
+    /**
+     * Tests that the features sent in single precision reach the model as float32 arrays holding the features rounded
+     * to floats, with every feature transfer and through instances, heap matrices and off-heap matrices.
+     */
+    @Test
+    public final void testFloatFeatureValues() throws Exception {
+        final double[] features = {0.1, 2.0, -1.5};
+        final double[] expected = {(float) 0.1, 2.0, -1.5};
+        final Instance instance = new MockInstance(new double[]{features[0], 0, features[1], features[2]});
+        final DoubleBuffer directFeatures = ByteBuffer.allocateDirect(features.length * Double.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asDoubleBuffer()
+                .put(features);
+        directFeatures.flip();
+
+        for (final PythonModelConfig.FeatureTransfer featureTransfer : PythonModelConfig.FeatureTransfer.values()) {
+            final String id = "floatEchoModel" + featureTransfer;
+            loadDummyModel(id, "EchoClassifier", "this");
+
+            final ClassificationPythonModel model = new ClassificationPythonModel(
+                    new JepInstancePool(this.jepInstance),
+                    ECHO_SCHEMA,
+                    id,
+                    PythonModelConfig.builder()
+                            .withFeatureTransfer(featureTransfer)
+                            .withFeaturePrecision(PythonModelConfig.FeaturePrecision.FLOAT)
+                            .build()
+            );
+            final String dtype = String.format("str(%s.received.dtype)", id);
+
+            assertThat(model.getClassDistribution(instance))
+                    .as("The features of an instance received by the model with the %s transfer", featureTransfer)
+                    .containsExactly(expected);
+            assertThat(getPythonValue(dtype))
+                    .as("The type of the features of an instance with the %s transfer", featureTransfer)
+                    .isEqualTo("float32");
+
+            assertThat(model.getClassDistributions(ImmutableList.of(instance, instance)))
+                    .as("The features of a batch received by the model with the %s transfer", featureTransfer)
+                    .containsExactly(expected, expected);
+            assertThat(getPythonValue(dtype))
+                    .as("The type of the features of a batch with the %s transfer", featureTransfer)
+                    .isEqualTo("float32");
+
+            assertThat(model.getClassDistributions(features, 1))
+                    .as("The features of a heap matrix received by the model with the %s transfer", featureTransfer)
+                    .containsExactly(expected);
+            assertThat(getPythonValue(dtype))
+                    .as("The type of the features of a heap matrix with the %s transfer", featureTransfer)
+                    .isEqualTo("float32");
+
+            assertThat(model.getClassDistributions(directFeatures, 1))
+                    .as("The features of an off-heap matrix received by the model with the %s transfer", featureTransfer)
+                    .containsExactly(expected);
+            assertThat(getPythonValue(dtype))
+                    .as("The type of the features of an off-heap matrix with the %s transfer", featureTransfer)
+                    .isEqualTo("float32");
+        }
+    }
+
+    /**
+     * Tests that instances are scored with every feature format: dense matrices, sparse matrices, a format chosen from
+     * the density of the features, and data frames.
+     */
+    @Test
+    public final void testFeatureFormats() throws Exception {
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+        final Random random = new Random();
+
+        for (final PythonModelConfig.FeatureFormat featureFormat : PythonModelConfig.FeatureFormat.values()) {
+            final String id = "formatModel" + featureFormat;
+            loadDummyModel(id, "this");
+
+            final PythonModelConfig config = PythonModelConfig.builder()
+                    .withFeatureFormat(featureFormat)
+                    .build();
+            final ClassificationPythonModel model = new ClassificationPythonModel(
+                    new JepInstancePool(this.jepInstance),
+                    schema,
+                    id,
+                    config
+            );
+
+            assertThat(model.getClassDistribution(new MockInstance(schema, random)))
+                    .as("The class distribution of an instance sent as %s", featureFormat)
+                    .containsExactly(1, 0, 0);
+            assertThat(model.classify(new MockInstance(schema, random)))
+                    .as("The class of an instance sent as %s", featureFormat)
+                    .isEqualTo(2);
+            assertThat(model.getClassDistributions(ImmutableList.of(new MockInstance(schema, random), new MockInstance(schema, random))))
+                    .as("The class distributions of a batch of instances sent as %s", featureFormat)
+                    .containsExactly(new double[]{1, 0, 0}, new double[]{1, 0, 0});
+        }
+    }
+
+    /**
+     * Tests that the features sent as CSR matrices decode into the features of the instances, row by row and column
+     * by column, and that only their non-zero values are sent.
+     */
+    @Test
+    public final void testCsrFeatureEncoding() throws Exception {
+        final String id = "csrEchoModel";
+        loadDummyModel(id, "EchoClassifier", "this");
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(
+                new JepInstancePool(this.jepInstance),
+                ECHO_SCHEMA,
+                id,
+                PythonModelConfig.builder().withFeatureFormat(PythonModelConfig.FeatureFormat.CSR).build()
+        );
+
+        assertThat(model.getClassDistributions(ECHO_INSTANCES))
+                .as("The features received by the model, decoded from a CSR matrix")
+                .containsExactly(ECHO_FEATURES);
+        assertThat(getPythonValue(String.format("type(%s.received).__name__", id)))
+                .as("The type of the features received by the model")
+                .isEqualTo("csr_matrix");
+        assertThat(getPythonValue(String.format("str(%s.received.data.tolist())", id)))
+                .as("The values of the CSR matrix")
+                .isEqualTo("[0.5, 2.0, 3.0]");
+        assertThat(getPythonValue(String.format("str(%s.received.indices.tolist())", id)))
+                .as("The columns of the values of the CSR matrix")
+                .isEqualTo("[0, 2, 1]");
+        assertThat(getPythonValue(String.format("str(%s.received.indptr.tolist())", id)))
+                .as("The positions where each row of the CSR matrix starts")
+                .isEqualTo("[0, 2, 3]");
+    }
+
+    /**
+     * Tests that the features sent as data frames reach the model with a column per predictive field, named after the
+     * field and in the order of the schema, holding the features of the instances.
+     */
+    @Test
+    public final void testDataFrameColumns() throws Exception {
+        final String id = "dataFrameEchoModel";
+        loadDummyModel(id, "EchoClassifier", "this");
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(
+                new JepInstancePool(this.jepInstance),
+                ECHO_SCHEMA,
+                id,
+                PythonModelConfig.builder().withFeatureFormat(PythonModelConfig.FeatureFormat.DATAFRAME).build()
+        );
+
+        assertThat(model.getClassDistributions(ECHO_INSTANCES))
+                .as("The features received by the model, read from a data frame")
+                .containsExactly(ECHO_FEATURES);
+        assertThat(getPythonValue(String.format("type(%s.received).__name__", id)))
+                .as("The type of the features received by the model")
+                .isEqualTo("DataFrame");
+        assertThat(getPythonValue(String.format("str(list(%s.received.columns))", id)))
+                .as("The columns of the data frame")
+                .isEqualTo("['first', 'second', 'third']");
+        assertThat(getPythonValue(String.format("str(%s.received['second'].tolist())", id)))
+                .as("The values of a column of the data frame")
+                .isEqualTo("[0.0, 3.0]");
+    }
+
+    /**
+     * Tests that warming up a model profiles the latency of every batch size.
+     */
+    @Test
+    public final void testWarmUp() throws Exception {
+        final String id = "warmUpModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+
+        loadDummyModel(id, "this");
+        final ClassificationPythonModel model = new ClassificationPythonModel(
+                new JepInstancePool(this.jepInstance),
+                schema,
+                id,
+                PythonModelConfig.DEFAULT
+        );
+
+        final LatencyProfile profile = new ModelWarmUp(model, ImmutableList.of(1, 8), 20).run();
+
+        assertThat(profile.getBatchSizes())
+                .as("The profiled batch sizes")
+                .containsExactly(1, 8);
+        for (final int batchSize : profile.getBatchSizes()) {
+            assertThat(profile.getP50(batchSize))
+                    .as("The median latency of batches of %s instances", batchSize)
+                    .isLessThanOrEqualTo(profile.getP99(batchSize));
+            assertThat(profile.getSamples(batchSize))
+                    .as("The number of calls profiled with batches of %s instances", batchSize)
+                    .isGreaterThanOrEqualTo(ModelWarmUp.MIN_PROFILE_SAMPLES);
+        }
+    }
+
+    /**
+     * Tests that the asynchronous scoring methods complete with the same results as the blocking ones.
+     */
+    @Test
+    public final void testAsyncScoring() throws Exception {
+        final String id = "asyncModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+        final Random random = new Random();
+
+        loadDummyModel(id, "this");
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(this.jepInstance, schema, id);
+        final Instance instance = new MockInstance(schema, random);
+        final int expectedClass = model.classify(instance);
+
+        final CompletableFuture<Integer> classIndex = model.classifyAsync(instance);
+        final CompletableFuture<int[]> classIndexes = model.classifyAllAsync(ImmutableList.of(instance, instance));
+        final CompletableFuture<double[][]> distributions = model.getClassDistributionsAsync(ImmutableList.of(instance));
+
+        assertThat(classIndex.get())
+                .as("The class of an instance classified asynchronously")
+                .isEqualTo(expectedClass);
+        assertThat(classIndexes.get())
+                .as("The classes of a batch of instances classified asynchronously")
+                .containsExactly(expectedClass, expectedClass);
+        assertThat(distributions.get())
+                .as("The class distributions of a batch of instances scored asynchronously")
+                .containsExactly(new double[]{1, 0, 0});
+    }
+
+    /**
+     * Tests that a stream of instances is scored in chunks whose results reach the sink in order, including a last
+     * partial chunk.
+     */
+    @Test
+    public final void testStreamingScorer() throws Exception {
+        final String id = "streamedModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+        final Random random = new Random();
+        final int numberInstances = 10;
+
+        loadDummyModel(id, "this");
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(this.jepInstance, schema, id);
+        final List<Instance> instances = new ArrayList<>();
+        for (int i = 0; i < numberInstances; i++) {
+            instances.add(new MockInstance(schema, random));
+        }
+
+        final StreamingScorer scorer = new StreamingScorer(model, 3, 2);
+        final List<Long> firstRows = new ArrayList<>();
+        final List<double[]> distributions = new ArrayList<>();
+        final long scoredRows = scorer.scoreDistributions(instances.iterator(), (firstRow, chunk) -> {
+            firstRows.add(firstRow);
+            distributions.addAll(Arrays.asList(chunk));
+        });
+
+        assertThat(scoredRows)
+                .as("The number of instances scored by the streaming scorer")
+                .isEqualTo(numberInstances);
+        assertThat(firstRows)
+                .as("The first row of each chunk handed to the sink")
+                .containsExactly(0L, 3L, 6L, 9L);
+        assertThat(distributions)
+                .as("The class distributions of the streamed instances")
+                .hasSize(numberInstances)
+                .allSatisfy(distribution -> assertThat(distribution).containsExactly(1, 0, 0));
+    }
+
+    /**
+     * Tests that a features file is scored into memory-mapped results files, in chunks.
+     */
+    @Test
+    public final void testMappedFileScorer() throws Exception {
+        final String id = "mappedModel";
+        final DatasetSchema schema = new DatasetSchema(1, ImmutableList.of(FIELD_SCHEMA, TARGET_FIELD_SCHEMA));
+        final int rows = 5;
+
+        loadDummyModel(id, "this");
+
+        final ClassificationPythonModel model = new ClassificationPythonModel(this.jepInstance, schema, id);
+        final Path features = Files.createTempFile("features", ".bin");
+        final Path distributions = Files.createTempFile("distributions", ".bin");
+        final Path classes = Files.createTempFile("classes", ".bin");
+        try {
+            final ByteBuffer featureBytes = ByteBuffer.allocate(rows * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int row = 0; row < rows; row++) {
+                featureBytes.putDouble(row);
+            }
+            Files.write(features, featureBytes.array());
+
+            final MappedFileScorer scorer = new MappedFileScorer(model, 2, 2);
+
+            assertThat(scorer.scoreDistributions(features, distributions))
+                    .as("The number of instances of the features file")
+                    .isEqualTo(rows);
+            final DoubleBuffer distributionValues = ByteBuffer.wrap(Files.readAllBytes(distributions))
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asDoubleBuffer();
+            final double[] expectedDistributions = new double[rows * 3];
+            for (int row = 0; row < rows; row++) {
+                expectedDistributions[row * 3] = 1;
+            }
+            final double[] actualDistributions = new double[distributionValues.remaining()];
+            distributionValues.get(actualDistributions);
+            assertThat(actualDistributions)
+                    .as("The class distributions written into the results file")
+                    .containsExactly(expectedDistributions);
+
+            assertThat(scorer.classify(features, classes))
+                    .as("The number of instances of the features file")
+                    .isEqualTo(rows);
+            final IntBuffer classValues = ByteBuffer.wrap(Files.readAllBytes(classes))
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asIntBuffer();
+            final int[] actualClasses = new int[classValues.remaining()];
+            classValues.get(actualClasses);
+            assertThat(actualClasses)
+                    .as("The class indexes written into the results file")
+                    .containsOnly(2)
+                    .hasSize(rows);
+        } finally {
+            Files.deleteIfExists(features);
+            Files.deleteIfExists(distributions);
+            Files.deleteIfExists(classes);
+        }
+    }
+
+    /**
+     * Loads the dummy model into the Jep instance used in the tests.
+     *
+     * @param id          The name of the variable that stores the model.
+     * @param targetValue The class the dummy model predicts for every instance.
+     */
+    private void loadDummyModel(final String id, final String targetValue) throws URISyntaxException, ExecutionException, InterruptedException {
+        loadDummyModel(id, "Classifier", targetValue);
+    }
+
+    /**
+     * Loads one of the classes of the dummy model into the Jep instance.
+     *
+     * @param id          The name of the variable that holds the model.
+     * @param className   The name of the class of the model in the dummy model's module.
+     * @param targetValue The class predicted by the model.
+     */
+    private void loadDummyModel(final String id,
+                                final String className,
+                                final String targetValue) throws URISyntaxException, ExecutionException, InterruptedException {
+        final Path modelPath = Paths.get(getClass().getResource("/dummy_model").toURI());
+
         this.jepInstance.submitEvaluation(jep -> {
             // Add the model folder to the python import path
             jep.eval("import sys");
             jep.eval(String.format("sys.path.append(\"%s\")", modelPath.toAbsolutePath()));
 
             // Import the Classifier custom class and store an instance of it in a variable with the name passed in "id"
-            jep.eval("from classifier import Classifier");
-            jep.eval(String.format("%s = Classifier('%s')", id, illegalTargetValue));
+            jep.eval(String.format("from classifier import %s", className));
+            jep.eval(String.format("%s = %s('%s')", id, className, targetValue));
+            jep.eval("import numpy");
 
             return null;
         }).get();
-
-        final ClassificationPythonModel model = new ClassificationPythonModel(this.jepInstance, schema, id, "classify", "getClassDistribution");
-
-        assertThatThrownBy(() -> model.classify(new MockInstance(schema, random)))
-                .as("A classifier that does not return a valid target value will fail with a null pointer exception")
-                .isInstanceOf(NullPointerException.class);
     }
 
+    /**
+     * Gets the value of a Python expression in the Jep instance, e.g. to inspect what a model received.
+     *
+     * @param expression The expression.
+     * @return The value of the expression.
+     */
+    private Object getPythonValue(final String expression) throws ExecutionException, InterruptedException {
+        return this.jepInstance.submitEvaluation(jep -> jep.getValue(expression)).get();
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.feedzai.openml.python;
+
+import com.feedzai.openml.mocks.MockInstance;
+import com.feedzai.openml.python.jep.instance.AbstractJepEvaluation;
+import com.feedzai.openml.python.jep.instance.JepInstancePool;
+import com.feedzai.openml.python.jep.instance.LinkedQueueDispatcher;
+import com.feedzai.openml.python.jep.instance.RejectionHandler;
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Contains the tests for the {@link MicroBatchScheduler}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class MicroBatchSchedulerTest {
+
+    /**
+     * The maximum time, in seconds, to wait for a result in the tests.
+     */
+    private static final long TIMEOUT_SECONDS = 30;
+
+    /**
+     * A pool with a single Jep instance whose queue holds a single evaluation and rejects the others by completing
+     * them exceptionally.
+     */
+    private JepInstancePool jepInstancePool;
+
+    /**
+     * Initializes and starts the {@link JepInstancePool}.
+     */
+    @Before
+    public void setUp() {
+        this.jepInstancePool = JepInstancePool.create(
+                1,
+                JepInstancePool.RoutingStrategy.ROUND_ROBIN,
+                () -> new LinkedQueueDispatcher(1),
+                RejectionHandler.COMPLETE_EXCEPTIONALLY
+        );
+        this.jepInstancePool.start();
+    }
+
+    /**
+     * Tears down the {@link JepInstancePool}.
+     */
+    @After
+    public void tearDown() {
+        this.jepInstancePool.stop();
+    }
+
+    /**
+     * Tests that requests whose drain is rejected by a full Jep instance fail instead of waiting forever, and that the
+     * scheduler keeps scoring once the instance has room again.
+     *
+     * @throws Exception If there is a problem while getting the results.
+     */
+    @Test
+    public void rejectedDrainTest() throws Exception {
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AbstractJepEvaluation<Object> blocker = this.jepInstancePool.submitEvaluation(jep -> {
+            running.countDown();
+            Uninterruptibles.awaitUninterruptibly(release);
+            return null;
+        });
+        assertThat(running.await(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .as("Whether the evaluation that occupies the Jep instance started")
+                .isTrue();
+        final AbstractJepEvaluation<Object> filler = this.jepInstancePool.submitEvaluation(jep -> null);
+
+        final MicroBatchScheduler<Double> scheduler = new MicroBatchScheduler<>(
+                this.jepInstancePool,
+                (jep, instances) -> instances.stream().map(instance -> instance.getValue(0)).collect(Collectors.toList()),
+                10,
+                0,
+                0
+        );
+
+        // more requests than concurrent drains, each of which would otherwise leave a drain counted as active
+        for (int request = 0; request < 3; request++) {
+            assertThatThrownBy(() -> scheduler.submit(new MockInstance(new double[]{1.0})).get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                    .as("The result of a request whose drain was rejected")
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(RejectedExecutionException.class);
+        }
+
+        release.countDown();
+        blocker.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        filler.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertThat(scheduler.submit(new MockInstance(new double[]{2.0})).get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .as("The result of a request submitted once the Jep instance has room")
+                .isEqualTo(2.0);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python.jep.instance;
+
+import jep.Jep;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Contains the tests for the deadlines of {@link AbstractJepEvaluation}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class AbstractJepEvaluationTest {
+
+    /**
+     * Tests that an evaluation whose deadline passed before it was picked up is dropped and fails with a
+     * {@link TimeoutException}.
+     */
+    @Test
+    public void expiredEvaluationTest() {
+        final AtomicBoolean ran = new AtomicBoolean();
+        final AbstractJepEvaluation<Integer> evaluation = evaluation(ran);
+        evaluation.setDeadline(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(1));
+
+        evaluation.evaluate(null);
+
+        assertThat(ran)
+                .as("Whether the expired evaluation ran")
+                .isFalse();
+        assertThatThrownBy(evaluation::get)
+                .as("The result of an expired evaluation")
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+    }
+
+    /**
+     * Tests that an evaluation picked up before its deadline runs normally.
+     *
+     * @throws Exception If there is a problem while getting the result.
+     */
+    @Test
+    public void evaluationWithinDeadlineTest() throws Exception {
+        final AtomicBoolean ran = new AtomicBoolean();
+        final AbstractJepEvaluation<Integer> evaluation = evaluation(ran);
+        evaluation.setDeadline(System.nanoTime() + TimeUnit.MINUTES.toNanos(1));
+
+        evaluation.evaluate(null);
+
+        assertThat(evaluation.get())
+                .as("The result of an evaluation within its deadline")
+                .isEqualTo(3);
+        assertThat(ran)
+                .as("Whether the evaluation within its deadline ran")
+                .isTrue();
+    }
+
+    /**
+     * Creates an evaluation that records that it ran and returns 3.
+     *
+     * @param ran Set when the evaluation runs.
+     * @return The evaluation.
+     */
+    private static AbstractJepEvaluation<Integer> evaluation(final AtomicBoolean ran) {
+        return new AbstractJepEvaluation<Integer>() {
+            @Override
+            public Integer apply(final Jep jep) {
+                ran.set(true);
+                return 3;
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python.jep.instance;
+
+import jep.Jep;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Compares the hand-off latency of the {@link EvaluationDispatcher evaluation dispatchers} without a Python
+ * interpreter.
+ * <p>
+ * Each producer thread submits an evaluation, waits for the consumer thread (which plays the role of the thread of a
+ * {@link JepInstance}) to complete it and records the round trip, which is the overhead a scoring call pays on top of
+ * the Python work. Run it with:
+ * <pre>
+ * java -cp &lt;test classpath&gt; com.feedzai.openml.python.jep.instance.EvaluationDispatcherBenchmark [producers] [calls]
+ * </pre>
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public final class EvaluationDispatcherBenchmark {
+
+    /**
+     * Capacity of the ring buffers that are benchmarked.
+     */
+    private static final int RING_BUFFER_CAPACITY = 1024;
+
+    /**
+     * Private constructor of this runnable class.
+     */
+    private EvaluationDispatcherBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optionally, the number of producer threads and the number of calls of each producer.
+     * @throws Exception If there is a problem running the benchmark.
+     */
+    public static void main(final String[] args) throws Exception {
+        final int producers = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        final int calls = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        final List<String> names = new ArrayList<>();
+        final List<Supplier<EvaluationDispatcher>> dispatchers = new ArrayList<>();
+        names.add("LinkedBlockingQueue");
+        dispatchers.add(LinkedQueueDispatcher::new);
+        for (final RingBufferDispatcher.WaitStrategy waitStrategy : RingBufferDispatcher.WaitStrategy.values()) {
+            names.add("RingBuffer/" + waitStrategy);
+            dispatchers.add(() -> new RingBufferDispatcher(RING_BUFFER_CAPACITY, waitStrategy));
+        }
+
+        System.out.printf("%d producer(s), %d calls each%n", producers, calls);
+        System.out.printf("%-24s %12s %10s %10s %10s%n", "dispatcher", "calls/s", "p50 (us)", "p99 (us)", "p99.9 (us)");
+        for (int i = 0; i < dispatchers.size(); i++) {
+            // The first run warms up the JIT
+            run(dispatchers.get(i).get(), producers, calls / 10);
+            final long[] latencies = new long[producers * calls];
+            final long elapsedNanos = run(dispatchers.get(i).get(), producers, calls, latencies);
+
+            Arrays.sort(latencies);
+            System.out.printf(
+                    "%-24s %12.0f %10.2f %10.2f %10.2f%n",
+                    names.get(i),
+                    latencies.length * 1e9 / elapsedNanos,
+                    percentile(latencies, 0.5) / 1e3,
+                    percentile(latencies, 0.99) / 1e3,
+                    percentile(latencies, 0.999) / 1e3
+            );
+        }
+    }
+
+    /**
+     * Runs the benchmark for a dispatcher without recording the latencies.
+     *
+     * @param dispatcher The dispatcher.
+     * @param producers  The number of producer threads.
+     * @param calls      The number of calls of each producer.
+     * @throws Exception If there is a problem running the benchmark.
+     */
+    private static void run(final EvaluationDispatcher dispatcher, final int producers, final int calls) throws Exception {
+        run(dispatcher, producers, calls, new long[producers * calls]);
+    }
+
+    /**
+     * Runs the benchmark for a dispatcher.
+     *
+     * @param dispatcher The dispatcher.
+     * @param producers  The number of producer threads.
+     * @param calls      The number of calls of each producer.
+     * @param latencies  Where the round trip of each call, in nanoseconds, is recorded.
+     * @return The time, in nanoseconds, it took for all the calls to complete.
+     * @throws Exception If there is a problem running the benchmark.
+     */
+    private static long run(final EvaluationDispatcher dispatcher,
+                            final int producers,
+                            final int calls,
+                            final long[] latencies) throws Exception {
+        final Thread consumer = new Thread(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    dispatcher.take().evaluate(null);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            final long start = System.nanoTime();
+            final List<Future<?>> results = new ArrayList<>();
+            for (int producer = 0; producer < producers; producer++) {
+                final int offset = producer * calls;
+                results.add(executor.submit(() -> {
+                    for (int call = 0; call < calls; call++) {
+                        final long submitted = System.nanoTime();
+                        final AbstractJepEvaluation<Long> evaluation = new AbstractJepEvaluation<Long>() {
+                            @Override
+                            public Long apply(final Jep jep) {
+                                return submitted;
+                            }
+                        };
+                        while (!dispatcher.offer(evaluation)) {
+                            Thread.yield();
+                        }
+                        evaluation.join();
+                        latencies[offset + call] = System.nanoTime() - submitted;
+                    }
+                }));
+            }
+            for (final Future<?> result : results) {
+                result.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+            consumer.interrupt();
+            consumer.join();
+        }
+    }
+
+    /**
+     * Gets a percentile of a sorted array of latencies.
+     *
+     * @param latencies  The sorted latencies.
+     * @param percentile The percentile, between 0 and 1.
+     * @return The latency at that percentile.
+     */
+    private static long percentile(final long[] latencies, final double percentile) {
+        return latencies[(int) Math.min(latencies.length - 1, Math.round(percentile * latencies.length))];
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python.jep.instance;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contains the tests for the pool of Jep instances.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class JepInstancePoolTest {
+
+    /**
+     * The number of Jep instances in the pool used in the tests.
+     */
+    private static final int POOL_SIZE = 2;
+
+    /**
+     * The pool of Jep instances used in the tests.
+     */
+    private JepInstancePool jepInstancePool;
+
+    /**
+     * Initializes and starts the {@link JepInstancePool}.
+     */
+    @Before
+    public void setUp() {
+        this.jepInstancePool = JepInstancePool.create(POOL_SIZE, JepInstancePool.RoutingStrategy.LEAST_QUEUE_DEPTH);
+        this.jepInstancePool.start();
+    }
+
+    /**
+     * Tears down the {@link JepInstancePool}.
+     */
+    @After
+    public void tearDown() {
+        this.jepInstancePool.stop();
+    }
+
+    /**
+     * Tests that an evaluation submitted to all the instances changes the state of every replica, and that
+     * evaluations routed to any instance see that state.
+     *
+     * @throws Exception If there is a problem while getting the results.
+     */
+    @Test
+    public void submitEvaluationToAllTest() throws Exception {
+        final List<AbstractJepEvaluation<Object>> evaluations = this.jepInstancePool.submitEvaluationToAll(jep -> {
+            jep.eval("x = 3");
+            return null;
+        });
+        assertThat(evaluations)
+                .as("The evaluations submitted to the pool")
+                .hasSize(POOL_SIZE);
+        for (final AbstractJepEvaluation<Object> evaluation : evaluations) {
+            evaluation.get();
+        }
+
+        for (int i = 0; i < POOL_SIZE * 2; i++) {
+            assertThat(this.jepInstancePool.submitEvaluation(jep -> jep.getValue("x + 1")).get().toString())
+                    .as("The result of an evaluation on a replica")
+                    .isEqualTo("4");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package com.feedzai.openml.python.jep.instance;
+
+import jep.Jep;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contains the tests for the {@link LinkedQueueDispatcher}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class LinkedQueueDispatcherTest {
+
+    /**
+     * Tests that a bounded {@link LinkedQueueDispatcher} rejects evaluations once it is full, and accepts them again
+     * once an evaluation is taken.
+     *
+     * @throws Exception If there is a problem while taking the evaluations.
+     */
+    @Test
+    public void boundedQueueTest() throws Exception {
+        final LinkedQueueDispatcher dispatcher = new LinkedQueueDispatcher(1);
+
+        assertThat(dispatcher.offer(evaluation(0)))
+                .as("Whether an evaluation offered to a queue with room is accepted")
+                .isTrue();
+        assertThat(dispatcher.offer(evaluation(1)))
+                .as("Whether an evaluation offered to a full queue is accepted")
+                .isFalse();
+        assertThat(dispatcher.size())
+                .as("The number of evaluations in a full queue")
+                .isEqualTo(1);
+
+        dispatcher.take();
+        assertThat(dispatcher.offer(evaluation(1)))
+                .as("Whether an evaluation offered after one is taken is accepted")
+                .isTrue();
+    }
+
+    /**
+     * Creates an evaluation that returns a value.
+     *
+     * @param value The value.
+     * @return The evaluation.
+     */
+    private static AbstractJepEvaluation<Integer> evaluation(final int value) {
+        return new AbstractJepEvaluation<Integer>() {
+            @Override
+            public Integer apply(final Jep jep) {
+                return value;
+            }
+        };
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python.jep.instance;
+
+import jep.Jep;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contains the tests for the {@link RingBufferDispatcher}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class RingBufferDispatcherTest {
+
+    /**
+     * The number of producer threads used in the concurrency tests.
+     */
+    private static final int PRODUCERS = 4;
+
+    /**
+     * The number of evaluations each producer submits in the concurrency tests.
+     */
+    private static final int EVALUATIONS_PER_PRODUCER = 10_000;
+
+    /**
+     * Tests that the capacity is rounded up to a power of two and that evaluations are rejected once it is reached.
+     *
+     * @throws Exception If there is a problem while taking the evaluations.
+     */
+    @Test
+    public void capacityTest() throws Exception {
+        final RingBufferDispatcher dispatcher = new RingBufferDispatcher(3, RingBufferDispatcher.WaitStrategy.BUSY_SPIN);
+        assertThat(dispatcher.getCapacity())
+                .as("The capacity of the ring buffer")
+                .isEqualTo(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(dispatcher.offer(evaluation(i)))
+                    .as("An evaluation offered to a ring buffer with free slots is accepted")
+                    .isTrue();
+        }
+        assertThat(dispatcher.offer(evaluation(4)))
+                .as("Whether an evaluation offered to a full ring buffer is accepted")
+                .isFalse();
+        assertThat(dispatcher.size())
+                .as("The number of evaluations in a full ring buffer")
+                .isEqualTo(4);
+
+        dispatcher.take();
+        assertThat(dispatcher.offer(evaluation(4)))
+                .as("An evaluation offered after a slot is freed is accepted")
+                .isTrue();
+    }
+
+    /**
+     * Tests that every evaluation submitted by concurrent producers is taken exactly once and in submission order for
+     * each producer, with every wait strategy.
+     *
+     * @throws Exception If there is a problem with the producers or the consumer.
+     */
+    @Test
+    public void concurrentProducersTest() throws Exception {
+        for (final RingBufferDispatcher.WaitStrategy waitStrategy : RingBufferDispatcher.WaitStrategy.values()) {
+            final RingBufferDispatcher dispatcher = new RingBufferDispatcher(64, waitStrategy);
+            final int total = PRODUCERS * EVALUATIONS_PER_PRODUCER;
+            final ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + 1);
+
+            try {
+                final Future<int[]> consumer = executor.submit(() -> {
+                    final int[] lastTaken = new int[PRODUCERS];
+                    Arrays.fill(lastTaken, -1);
+                    for (int taken = 0; taken < total; taken++) {
+                        final int value = (int) dispatcher.take().apply(null);
+                        final int producer = value / EVALUATIONS_PER_PRODUCER;
+                        final int sequence = value % EVALUATIONS_PER_PRODUCER;
+                        assertThat(sequence)
+                                .as("The next evaluation of producer %s taken with %s", producer, waitStrategy)
+                                .isEqualTo(lastTaken[producer] + 1);
+                        lastTaken[producer] = sequence;
+                    }
+                    return lastTaken;
+                });
+
+                final List<Future<?>> producers = new ArrayList<>();
+                for (int producer = 0; producer < PRODUCERS; producer++) {
+                    final int base = producer * EVALUATIONS_PER_PRODUCER;
+                    producers.add(executor.submit(() -> {
+                        for (int sequence = 0; sequence < EVALUATIONS_PER_PRODUCER; sequence++) {
+                            final AbstractJepEvaluation<Integer> evaluation = evaluation(base + sequence);
+                            while (!dispatcher.offer(evaluation)) {
+                                Thread.yield();
+                            }
+                        }
+                    }));
+                }
+                for (final Future<?> producer : producers) {
+                    producer.get(30, TimeUnit.SECONDS);
+                }
+
+                assertThat(consumer.get(30, TimeUnit.SECONDS))
+                        .as("The last evaluation taken from each producer with %s", waitStrategy)
+                        .containsOnly(EVALUATIONS_PER_PRODUCER - 1);
+                assertThat(dispatcher.size())
+                        .as("The number of evaluations left with %s", waitStrategy)
+                        .isZero();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Tests that a consumer blocked waiting for an evaluation wakes up when it is interrupted.
+     *
+     * @throws Exception If there is a problem with the consumer.
+     */
+    @Test
+    public void interruptTest() throws Exception {
+        final RingBufferDispatcher dispatcher = new RingBufferDispatcher(4, RingBufferDispatcher.WaitStrategy.BLOCKING);
+        final CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+
+        final Thread consumer = new Thread(() -> {
+            try {
+                dispatcher.take();
+                interrupted.complete(false);
+            } catch (final InterruptedException e) {
+                interrupted.complete(true);
+            }
+        });
+        consumer.start();
+        consumer.interrupt();
+
+        assertThat(interrupted.get(10, TimeUnit.SECONDS))
+                .as("Whether the consumer was woken up by the interruption")
+                .isTrue();
+    }
+
+    /**
+     * Creates an evaluation that returns a given value without using the Jep instance.
+     *
+     * @param value The value of the evaluation.
+     * @return The evaluation.
+     */
+    private static AbstractJepEvaluation<Integer> evaluation(final int value) {
+        return new AbstractJepEvaluation<Integer>() {
+            @Override
+            public Integer apply(final Jep jep) {
+                return value;
+            }
+        };
+    }
+}
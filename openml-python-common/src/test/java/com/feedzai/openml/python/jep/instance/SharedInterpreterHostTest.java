@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python.jep.instance;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contains the tests for the {@link SharedInterpreterHost}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class SharedInterpreterHostTest {
+
+    /**
+     * The interpreter host used in the tests.
+     */
+    private SharedInterpreterHost host;
+
+    /**
+     * Initializes the {@link SharedInterpreterHost} with two interpreters.
+     */
+    @Before
+    public void setUp() {
+        this.host = new SharedInterpreterHost(2);
+    }
+
+    /**
+     * Closes the {@link SharedInterpreterHost}.
+     */
+    @After
+    public void tearDown() {
+        this.host.close();
+    }
+
+    /**
+     * Tests that models are placed in the least loaded interpreters and that releasing a model only removes its
+     * variables, leaving the shared interpreter running for the other models.
+     *
+     * @throws Exception If there is a problem while getting the results.
+     */
+    @Test
+    public void placementAndReleaseTest() throws Exception {
+        final JepInstancePool first = this.host.acquire("first", 1);
+        final JepInstancePool second = this.host.acquire("second", 1);
+        final JepInstancePool third = this.host.acquire("third", 1);
+
+        assertThat(this.host.getHostedModelCounts())
+                .as("The number of models hosted by each interpreter")
+                .containsExactlyInAnyOrder(2, 1);
+
+        first.submitEvaluation(jep -> {
+            jep.eval("first = [0] * 1000");
+            jep.eval("first_callable = len");
+            return null;
+        }).get();
+        this.host.measureModel("first", first);
+
+        assertThat(this.host.getModelMemoryBytes())
+                .as("The measured memory of the models")
+                .containsOnlyKeys("first");
+        assertThat(this.host.getModelMemoryBytes().get("first"))
+                .as("The measured memory of a model")
+                .isGreaterThan(0L);
+
+        first.stop();
+
+        assertThat(first.submitEvaluation(jep -> jep.getValue("'first' in globals() or 'first_callable' in globals()")).get())
+                .as("Whether the variables of a released model are still defined")
+                .isEqualTo(false);
+        assertThat(this.host.getHostedModelCounts())
+                .as("The number of models hosted by each interpreter after a release")
+                .containsExactly(1, 1);
+        assertThat(this.host.getModelMemoryBytes())
+                .as("The measured memory of the models after a release")
+                .isEmpty();
+
+        second.stop();
+        third.stop();
+    }
+
+    /**
+     * Tests that releasing a model also removes the modules it imported under its own names, and the directory it
+     * added to {@code sys.path} once no other model in the interpreter added it too.
+     *
+     * @throws Exception If there is a problem while getting the results.
+     */
+    @Test
+    public void releaseRemovesModulesAndImportPathTest() throws Exception {
+        final JepInstancePool first = this.host.acquire("first", 1);
+        final JepInstancePool second = this.host.acquire("second", 2);
+        final JepInstance sharedInstance = first.getInstances().get(0);
+
+        for (final String model : ImmutableList.of("first", "second")) {
+            sharedInstance.submitEvaluation(jep -> {
+                jep.eval("import sys, types");
+                jep.eval(String.format("%s_sys_path = '/models/shared'", model));
+                jep.eval(String.format("sys.modules['%s_classifier'] = types.ModuleType('%s_classifier')", model, model));
+                return null;
+            }).get();
+        }
+        sharedInstance.submitEvaluation(jep -> {
+            jep.eval("sys.path.append('/models/shared')");
+            return null;
+        }).get();
+
+        first.stop();
+
+        assertThat(sharedInstance.submitEvaluation(jep -> jep.getValue("'first_classifier' in sys.modules")).get())
+                .as("Whether the module of a released model is still imported")
+                .isEqualTo(false);
+        assertThat(sharedInstance.submitEvaluation(jep -> jep.getValue("'second_classifier' in sys.modules")).get())
+                .as("Whether the module of a model that was not released is still imported")
+                .isEqualTo(true);
+        assertThat(sharedInstance.submitEvaluation(jep -> jep.getValue("'/models/shared' in sys.path")).get())
+                .as("Whether a directory also added by another model is still in the import path")
+                .isEqualTo(true);
+
+        second.stop();
+
+        assertThat(sharedInstance.submitEvaluation(jep -> jep.getValue("'/models/shared' in sys.path")).get())
+                .as("Whether the directory added by released models is still in the import path")
+                .isEqualTo(false);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python.jep.instance;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contains the tests for the {@link ThreadBoundJepInstance}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class ThreadBoundJepInstanceTest {
+
+    /**
+     * The maximum number of thread-bound interpreters used in the tests.
+     */
+    private static final int MAX_INTERPRETERS = 2;
+
+    /**
+     * The Jep instance used in the tests.
+     */
+    private ThreadBoundJepInstance jepInstance;
+
+    /**
+     * Initializes and starts the {@link ThreadBoundJepInstance}.
+     */
+    @Before
+    public void setUp() {
+        this.jepInstance = new ThreadBoundJepInstance(new LinkedQueueDispatcher(), RejectionHandler.FAIL_FAST, MAX_INTERPRETERS);
+        this.jepInstance.start();
+    }
+
+    /**
+     * Tears down the {@link ThreadBoundJepInstance}.
+     */
+    @After
+    public void tearDown() {
+        this.jepInstance.stop();
+    }
+
+    /**
+     * Tests that the evaluations submitted before the instance is marked as loaded are replayed into the interpreter
+     * of each calling thread, and that threads beyond the maximum number of interpreters fall back to the dedicated
+     * thread.
+     *
+     * @throws Exception If there is a problem while getting the results.
+     */
+    @Test
+    public void callerRunsTest() throws Exception {
+        this.jepInstance.submitEvaluation(jep -> {
+            jep.eval("x = 3");
+            return null;
+        }).get();
+        this.jepInstance.markLoaded();
+
+        final int threads = MAX_INTERPRETERS + 1;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> this.jepInstance.submitEvaluation(jep -> jep.getValue("x + 1")).get()));
+            }
+            for (final Future<Object> result : results) {
+                assertThat(result.get().toString())
+                        .as("The result of an evaluation that sees the replayed state")
+                        .isEqualTo("4");
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(this.jepInstance.getInterpreterCount())
+                .as("The number of thread-bound interpreters")
+                .isLessThanOrEqualTo(MAX_INTERPRETERS);
+    }
+
+    /**
+     * Tests that only the evaluations submitted before the instance is marked as deserialized are replayed into the
+     * thread-bound interpreters.
+     *
+     * @throws Exception If there is a problem while getting the results.
+     */
+    @Test
+    public void onlyDeserializationIsReplayedTest() throws Exception {
+        this.jepInstance.submitEvaluation(jep -> {
+            jep.eval("x = 3");
+            return null;
+        }).get();
+        this.jepInstance.markDeserialized();
+        this.jepInstance.submitEvaluation(jep -> {
+            jep.eval("x = 5");
+            return null;
+        }).get();
+        this.jepInstance.markLoaded();
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThat(executor.submit(() -> this.jepInstance.submitEvaluation(jep -> jep.getValue("x")).get()).get().toString())
+                    .as("The state of a thread-bound interpreter")
+                    .isEqualTo("3");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a thread bound to the interpreter of an instance falls back to the dedicated thread of other
+     * instances, and that it is bound to another instance once the first one is stopped.
+     *
+     * @throws Exception If there is a problem while getting the results.
+     */
+    @Test
+    public void oneInterpreterPerThreadTest() throws Exception {
+        final ThreadBoundJepInstance otherInstance = new ThreadBoundJepInstance(new LinkedQueueDispatcher(), RejectionHandler.FAIL_FAST, MAX_INTERPRETERS);
+        otherInstance.start();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            this.jepInstance.markLoaded();
+            otherInstance.markLoaded();
+
+            executor.submit(() -> this.jepInstance.submitEvaluation(jep -> jep.getValue("1")).get()).get();
+            executor.submit(() -> otherInstance.submitEvaluation(jep -> jep.getValue("1")).get()).get();
+            assertThat(otherInstance.getInterpreterCount())
+                    .as("The number of interpreters of an instance used by a thread bound to another one")
+                    .isZero();
+
+            this.jepInstance.stop();
+            executor.submit(() -> otherInstance.submitEvaluation(jep -> jep.getValue("1")).get()).get();
+            assertThat(this.jepInstance.getInterpreterCount())
+                    .as("The number of interpreters of the stopped instance")
+                    .isZero();
+            assertThat(otherInstance.getInterpreterCount())
+                    .as("The number of interpreters of the instance used after the other one was stopped")
+                    .isEqualTo(1);
+        } finally {
+            executor.shutdown();
+            otherInstance.stop();
+        }
+    }
+}
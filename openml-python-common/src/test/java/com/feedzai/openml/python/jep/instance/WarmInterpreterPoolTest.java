@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.python.jep.instance;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contains the tests for the {@link WarmInterpreterPool}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class WarmInterpreterPoolTest {
+
+    /**
+     * Maximum time, in milliseconds, to wait for the warm interpreters to be ready.
+     */
+    private static final long WARM_UP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * The warm interpreter pool used in the tests.
+     */
+    private WarmInterpreterPool pool;
+
+    /**
+     * Initializes the {@link WarmInterpreterPool} with two warm interpreters that import numpy.
+     */
+    @Before
+    public void setUp() {
+        this.pool = new WarmInterpreterPool(2, ImmutableList.of("numpy"), LinkedQueueDispatcher::new, RejectionHandler.FAIL_FAST);
+    }
+
+    /**
+     * Closes the {@link WarmInterpreterPool}.
+     */
+    @After
+    public void tearDown() {
+        this.pool.close();
+    }
+
+    /**
+     * Tests that the acquired interpreters are already running with the common modules imported, and that the pool
+     * is topped up again after they are taken.
+     *
+     * @throws Exception If there is a problem while getting the results.
+     */
+    @Test
+    public void acquireAndRefillTest() throws Exception {
+        awaitReady(2);
+
+        final JepInstancePool jepInstancePool = this.pool.acquire(3, JepInstancePool.RoutingStrategy.ROUND_ROBIN);
+        jepInstancePool.start();
+        try {
+            assertThat(jepInstancePool.getInstances())
+                    .as("The acquired interpreters")
+                    .hasSize(3)
+                    .allMatch(JepInstance::isRunning);
+            for (final AbstractJepEvaluation<Object> imported : jepInstancePool.submitEvaluationToAll(jep -> jep.getValue("'numpy' in globals()"))) {
+                assertThat(imported.get())
+                        .as("Whether the common modules are imported into an acquired interpreter")
+                        .isEqualTo(true);
+            }
+        } finally {
+            jepInstancePool.stop();
+        }
+
+        awaitReady(2);
+        assertThat(this.pool.getReadyCount())
+                .as("The number of warm interpreters after the pool is topped up")
+                .isEqualTo(this.pool.getTargetSize());
+    }
+
+    /**
+     * Tests that the background thread keeps warming up interpreters after it fails to start one.
+     *
+     * @throws Exception If there is a problem while waiting.
+     */
+    @Test
+    public void retryAfterFailureTest() throws Exception {
+        this.pool.close();
+
+        final AtomicBoolean failed = new AtomicBoolean();
+        this.pool = new WarmInterpreterPool(1, ImmutableList.of(), () -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Simulated failure to start an interpreter.");
+            }
+            return new LinkedQueueDispatcher();
+        }, RejectionHandler.FAIL_FAST);
+
+        awaitReady(1);
+        assertThat(failed)
+                .as("Whether starting an interpreter failed")
+                .isTrue();
+        assertThat(this.pool.getReadyCount())
+                .as("The number of warm interpreters after a failure")
+                .isEqualTo(1);
+    }
+
+    /**
+     * Waits for a number of warm interpreters to be ready.
+     *
+     * @param count The number of warm interpreters.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    private void awaitReady(final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + WARM_UP_TIMEOUT_MILLIS;
+        while (this.pool.getReadyCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -5,8 +5,27 @@ class Classifier(object):
         self.multiplier = [1, 0, 0]
 
     def classify(self, instances):
-        return self.target_value
+        return [self.target_value] * instances.shape[0]
 
 
     def getClassDistribution(self, instances):
-        return [self.multiplier] * len(instances)
+        return [self.multiplier] * instances.shape[0]
+
+
+class EchoClassifier(object):
+    """Gives each instance its own features as class distribution, and keeps the last features it received."""
+
+    def __init__(self, target_value):
+        self.target_value = target_value
+        self.received = None
+
+    def classify(self, instances):
+        self.received = instances
+        return [self.target_value] * instances.shape[0]
+
+    def getClassDistribution(self, instances):
+        import numpy
+        self.received = instances
+        if hasattr(instances, 'toarray'):
+            return instances.toarray().astype(numpy.float64)
+        return numpy.asarray(instances, dtype=numpy.float64)
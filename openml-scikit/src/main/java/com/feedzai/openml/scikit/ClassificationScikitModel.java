@@ -16,12 +16,25 @@
 
 package com.feedzai.openml.scikit;
 
+import com.feedzai.openml.data.Instance;
 import com.feedzai.openml.data.schema.DatasetSchema;
 import com.feedzai.openml.python.ClassificationPythonModel;
-import com.feedzai.openml.python.jep.instance.JepInstance;
+import com.feedzai.openml.python.ClassificationResult;
+import com.feedzai.openml.python.PythonModelConfig;
+import com.feedzai.openml.python.jep.instance.JepInstancePool;
+import com.feedzai.openml.scikit.evaluator.NativeEvaluator;
+import com.google.common.base.Preconditions;
+
+import java.nio.DoubleBuffer;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 /**
  * Specific implementation of {@link ClassificationPythonModel} for scikit-learn.
+ * <p>
+ * When the model was compiled into a {@link NativeEvaluator}, every scoring method uses it instead of calling Python.
  *
  * @author Henrique Costa (henrique.costa@feedzai.com)
  * @since 0.1.0
@@ -42,16 +55,323 @@ public class ClassificationScikitModel extends ClassificationPythonModel {
      */
     private static final String GETCLASSDISTRIBUTION_FUNCTION_NAME = "predict_proba";
 
+    /**
+     * Attribute of the Scikit model that holds the labels of the classes it predicts.
+     *
+     * @see ClassificationPythonModel#getClassLabelsAttributeName()
+     */
+    private static final String CLASS_LABELS_ATTRIBUTE_NAME = "classes_";
+
+    /**
+     * The size of the numpy arrays of this model mapped from disk in each of its Jep instances, zero if none are.
+     */
+    private volatile long memoryMappedBytes;
+
+    /**
+     * The memory saved by sharing the mapped arrays between the Jep instances of this model instead of copying them
+     * into each one.
+     */
+    private volatile long memorySavedBytes;
+
+    /**
+     * The indexes of the predictive (i.e. non-target) fields of the instances, which are the features of the native
+     * evaluator.
+     */
+    private final int[] predictiveFieldIndexes;
+
+    /**
+     * The buffer of each thread where the features of an instance are encoded for the native evaluator.
+     */
+    private final ThreadLocal<double[]> nativeFeatures;
+
+    /**
+     * The evaluator written in Java that scores the instances, {@code null} if they are scored in Python.
+     */
+    private volatile NativeEvaluator nativeEvaluator;
+
     /**
      * Constructor for this model's representation.
      *
-     * @param jepInstance Jep instance where this model is loaded.
-     * @param schema      Schema of the instances this model receives.
-     * @param id          Name of the variable that stores this model in the Jep instance.
+     * @param jepInstancePool Pool of Jep instances where this model is loaded.
+     * @param schema          Schema of the instances this model receives.
+     * @param id              Name of the variable that stores this model in the Jep instances.
+     * @param config          The configuration of this model.
      */
-    ClassificationScikitModel(final JepInstance jepInstance,
+    ClassificationScikitModel(final JepInstancePool jepInstancePool,
                               final DatasetSchema schema,
-                              final String id) {
-        super(jepInstance, schema, id, CLASSIFY_FUNCTION_NAME, GETCLASSDISTRIBUTION_FUNCTION_NAME);
+                              final String id,
+                              final PythonModelConfig config) {
+        super(jepInstancePool, schema, id, CLASSIFY_FUNCTION_NAME, GETCLASSDISTRIBUTION_FUNCTION_NAME, config);
+        final int targetIndex = schema.getTargetIndex()
+                .orElseThrow(() -> new IllegalArgumentException("Python classification models do not support datasets without schema."));
+        this.predictiveFieldIndexes = IntStream.range(0, schema.getFieldSchemas().size())
+                .filter(index -> index != targetIndex)
+                .toArray();
+        this.nativeFeatures = ThreadLocal.withInitial(() -> new double[this.predictiveFieldIndexes.length]);
+    }
+
+    /**
+     * Gets the evaluator written in Java that scores the instances of this model without calling Python.
+     *
+     * @return The native evaluator, or {@link Optional#empty()} if this model is scored in Python.
+     * @see PythonModelConfig.Builder#withNativeEvaluation()
+     * @since @@@feedzai.next.release@@@
+     */
+    public Optional<NativeEvaluator> getNativeEvaluator() {
+        return Optional.ofNullable(this.nativeEvaluator);
+    }
+
+    /**
+     * Sets the evaluator written in Java that scores the instances of this model from now on.
+     *
+     * @param nativeEvaluator The native evaluator, which must agree with the Python model.
+     */
+    void setNativeEvaluator(final NativeEvaluator nativeEvaluator) {
+        this.nativeEvaluator = Preconditions.checkNotNull(nativeEvaluator);
+    }
+
+    /**
+     * Gets the size of the numpy arrays of this model that are memory-mapped read-only from disk in each of its Jep
+     * instances, instead of being copied into them.
+     *
+     * @return The size of the mapped arrays, in bytes, zero if the model was not loaded with memory mapping.
+     * @see ClassificationScikitModelLoader#ClassificationScikitModelLoader(PythonModelConfig, java.nio.file.Path)
+     * @since @@@feedzai.next.release@@@
+     */
+    public long getMemoryMappedBytes() {
+        return this.memoryMappedBytes;
+    }
+
+    /**
+     * Gets the memory saved by mapping the numpy arrays of this model from disk: the operating system keeps a single
+     * copy of the mapped arrays in its page cache for all the Jep instances of this model, where each one would
+     * otherwise have its own copy. Other processes that map the same model share that copy too, which is not counted.
+     *
+     * @return The memory saved, in bytes, zero if the model was not loaded with memory mapping.
+     * @since @@@feedzai.next.release@@@
+     */
+    public long getMemorySavedBytes() {
+        return this.memorySavedBytes;
+    }
+
+    /**
+     * Sets the size of the memory-mapped arrays of this model.
+     *
+     * @param mappedBytes     The size of the mapped arrays in each Jep instance, in bytes.
+     * @param numberInstances The number of Jep instances that share the mapped arrays.
+     */
+    void setMemoryMapping(final long mappedBytes, final int numberInstances) {
+        this.memoryMappedBytes = mappedBytes;
+        this.memorySavedBytes = mappedBytes * Math.max(0, numberInstances - 1);
+    }
+
+    @Override
+    public double[] getClassDistribution(final Instance instance) {
+        final NativeEvaluator evaluator = this.nativeEvaluator;
+        if (evaluator == null) {
+            return super.getClassDistribution(instance);
+        }
+        final double[] distribution = new double[evaluator.getNumberClasses()];
+        evaluator.getClassDistribution(encode(instance), distribution);
+        return distribution;
+    }
+
+    @Override
+    public CompletableFuture<double[]> getClassDistributionAsync(final Instance instance) {
+        return this.nativeEvaluator == null
+                ? super.getClassDistributionAsync(instance)
+                : CompletableFuture.completedFuture(getClassDistribution(instance));
+    }
+
+    @Override
+    public void getClassDistribution(final Instance instance, final double[] distribution) {
+        final NativeEvaluator evaluator = this.nativeEvaluator;
+        if (evaluator == null) {
+            super.getClassDistribution(instance, distribution);
+            return;
+        }
+        Preconditions.checkArgument(
+                distribution.length >= evaluator.getNumberClasses(),
+                "The class distribution array must have at least %s positions. Got %s",
+                evaluator.getNumberClasses(),
+                distribution.length
+        );
+        evaluator.getClassDistribution(encode(instance), distribution);
+    }
+
+    @Override
+    public int classify(final Instance instance) {
+        final NativeEvaluator evaluator = this.nativeEvaluator;
+        if (evaluator == null) {
+            return super.classify(instance);
+        }
+        return evaluator.getClassIndex(getClassDistribution(instance));
+    }
+
+    @Override
+    public CompletableFuture<Integer> classifyAsync(final Instance instance) {
+        return this.nativeEvaluator == null
+                ? super.classifyAsync(instance)
+                : CompletableFuture.completedFuture(classify(instance));
+    }
+
+    @Override
+    public ClassificationResult classifyWithDistribution(final Instance instance) {
+        final NativeEvaluator evaluator = this.nativeEvaluator;
+        if (evaluator == null) {
+            return super.classifyWithDistribution(instance);
+        }
+        final double[] distribution = getClassDistribution(instance);
+        return new ClassificationResult(evaluator.getClassIndex(distribution), distribution);
+    }
+
+    @Override
+    public CompletableFuture<ClassificationResult> classifyWithDistributionAsync(final Instance instance) {
+        return this.nativeEvaluator == null
+                ? super.classifyWithDistributionAsync(instance)
+                : CompletableFuture.completedFuture(classifyWithDistribution(instance));
+    }
+
+    @Override
+    public double[][] getClassDistributions(final List<? extends Instance> instances) {
+        final NativeEvaluator evaluator = this.nativeEvaluator;
+        if (evaluator == null) {
+            return super.getClassDistributions(instances);
+        }
+        final double[][] distributions = new double[instances.size()][];
+        for (int row = 0; row < distributions.length; row++) {
+            distributions[row] = new double[evaluator.getNumberClasses()];
+            evaluator.getClassDistribution(encode(instances.get(row)), distributions[row]);
+        }
+        return distributions;
+    }
+
+    @Override
+    public CompletableFuture<double[][]> getClassDistributionsAsync(final List<? extends Instance> instances) {
+        return this.nativeEvaluator == null
+                ? super.getClassDistributionsAsync(instances)
+                : CompletableFuture.completedFuture(getClassDistributions(instances));
+    }
+
+    @Override
+    public double[][] getClassDistributions(final DoubleBuffer features, final int rows) {
+        final NativeEvaluator evaluator = this.nativeEvaluator;
+        if (evaluator == null) {
+            return super.getClassDistributions(features, rows);
+        }
+        final int columns = this.predictiveFieldIndexes.length;
+        Preconditions.checkArgument(rows >= 0, "The number of rows cannot be negative. Got %s", rows);
+        Preconditions.checkArgument(
+                features.remaining() >= rows * columns,
+                "A matrix of %s rows needs %s features. Got %s",
+                rows,
+                rows * columns,
+                features.remaining()
+        );
+
+        final double[] row = this.nativeFeatures.get();
+        final double[][] distributions = new double[rows][];
+        for (int index = 0; index < rows; index++) {
+            final int offset = features.position() + index * columns;
+            for (int column = 0; column < columns; column++) {
+                row[column] = features.get(offset + column);
+            }
+            distributions[index] = new double[evaluator.getNumberClasses()];
+            evaluator.getClassDistribution(row, distributions[index]);
+        }
+        return distributions;
+    }
+
+    @Override
+    public CompletableFuture<double[][]> getClassDistributionsAsync(final DoubleBuffer features, final int rows) {
+        return this.nativeEvaluator == null
+                ? super.getClassDistributionsAsync(features, rows)
+                : CompletableFuture.completedFuture(getClassDistributions(features, rows));
+    }
+
+    @Override
+    public int[] classifyAll(final List<? extends Instance> instances) {
+        final NativeEvaluator evaluator = this.nativeEvaluator;
+        if (evaluator == null) {
+            return super.classifyAll(instances);
+        }
+        return toClassIndexes(evaluator, getClassDistributions(instances));
+    }
+
+    @Override
+    public CompletableFuture<int[]> classifyAllAsync(final List<? extends Instance> instances) {
+        return this.nativeEvaluator == null
+                ? super.classifyAllAsync(instances)
+                : CompletableFuture.completedFuture(classifyAll(instances));
+    }
+
+    @Override
+    public int[] classifyAll(final DoubleBuffer features, final int rows) {
+        final NativeEvaluator evaluator = this.nativeEvaluator;
+        if (evaluator == null) {
+            return super.classifyAll(features, rows);
+        }
+        return toClassIndexes(evaluator, getClassDistributions(features, rows));
+    }
+
+    @Override
+    public CompletableFuture<int[]> classifyAllAsync(final DoubleBuffer features, final int rows) {
+        return this.nativeEvaluator == null
+                ? super.classifyAllAsync(features, rows)
+                : CompletableFuture.completedFuture(classifyAll(features, rows));
+    }
+
+    /**
+     * Stops using the native evaluator, if any, and releases the Jep instances of this model.
+     */
+    @Override
+    public void close() {
+        this.nativeEvaluator = null;
+        super.close();
+    }
+
+    /**
+     * Encodes the predictive fields of an instance into the features of the native evaluator, in a buffer of the
+     * calling thread.
+     *
+     * @param instance The instance.
+     * @return The features of the instance, valid until the thread encodes another instance.
+     */
+    private double[] encode(final Instance instance) {
+        final double[] features = this.nativeFeatures.get();
+        for (int index = 0; index < features.length; index++) {
+            features[index] = instance.getValue(this.predictiveFieldIndexes[index]);
+        }
+        return features;
+    }
+
+    /**
+     * Gets the class predicted for each of a batch of class distributions.
+     *
+     * @param evaluator     The native evaluator.
+     * @param distributions The class distributions.
+     * @return The index of the class of each distribution.
+     */
+    private static int[] toClassIndexes(final NativeEvaluator evaluator, final double[][] distributions) {
+        final int[] classIndexes = new int[distributions.length];
+        for (int index = 0; index < distributions.length; index++) {
+            classIndexes[index] = evaluator.getClassIndex(distributions[index]);
+        }
+        return classIndexes;
+    }
+
+    @Override
+    protected Optional<String> getClassLabelsAttributeName() {
+        return Optional.of(CLASS_LABELS_ATTRIBUTE_NAME);
+    }
+
+    /**
+     * Scikit classifiers predict the class with the highest probability given by {@code predict_proba}.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    protected boolean isClassMostProbableInDistribution() {
+        return true;
     }
 }
@@ -21,10 +21,16 @@ import com.feedzai.openml.provider.descriptor.fieldtype.ParamValidationError;
 import com.feedzai.openml.provider.exception.ModelLoadingException;
 import com.feedzai.openml.python.AbstractClassificationPythonModelLoaderImpl;
 import com.feedzai.openml.python.ClassificationPythonModel;
+import com.feedzai.openml.python.PythonModelConfig;
 import com.feedzai.openml.python.jep.instance.JepInstance;
+import com.feedzai.openml.python.jep.instance.JepInstancePool;
+import com.feedzai.openml.scikit.evaluator.NativeEvaluators;
 import com.feedzai.openml.util.load.LoadModelUtils;
 import com.feedzai.openml.util.validate.ValidationUtils;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.nio.file.Path;
 import java.util.List;
@@ -39,6 +45,115 @@ import java.util.concurrent.ExecutionException;
  */
 public class ClassificationScikitModelLoader extends AbstractClassificationPythonModelLoaderImpl {
 
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ClassificationScikitModelLoader.class);
+
+    /**
+     * Python function that loads a joblib pickle with its numpy arrays memory-mapped read-only from disk.
+     * <p>
+     * joblib can only map the arrays of uncompressed pickles (which start with the pickle protocol opcode
+     * {@code 0x80}), so a compressed pickle is first extracted into an uncompressed copy in the cache directory, named
+     * after the path, size and modification time of the pickle. The copy is written to a temporary file that is then
+     * renamed, so that Jep instances loading the same model at the same time never map a partial copy.
+     */
+    private static final String JOBLIB_LOAD_MAPPED_FUNCTION = "exec('''\n"
+            + "def _openml_joblib_load_mapped(path, cache_dir):\n"
+            + "    import hashlib, os, uuid\n"
+            + "    from sklearn.externals import joblib\n"
+            + "    with open(path, 'rb') as pickle_file:\n"
+            + "        header = pickle_file.read(1)\n"
+            + "    if header and header[0] == 0x80:\n"
+            + "        return joblib.load(path, mmap_mode='r')\n"
+            + "    status = os.stat(path)\n"
+            + "    key = '%s:%d:%d' % (os.path.abspath(path), status.st_size, status.st_mtime_ns)\n"
+            + "    cached = os.path.join(cache_dir, hashlib.sha256(key.encode('utf-8')).hexdigest() + '.pkl')\n"
+            + "    if not os.path.exists(cached):\n"
+            + "        os.makedirs(cache_dir, exist_ok=True)\n"
+            + "        temporary = '%s.%s.tmp' % (cached, uuid.uuid4().hex)\n"
+            + "        joblib.dump(joblib.load(path), temporary, compress=0)\n"
+            + "        os.replace(temporary, cached)\n"
+            + "    return joblib.load(cached, mmap_mode='r')\n"
+            + "''')";
+
+    /**
+     * Python function that sums the size of the memory-mapped numpy arrays reachable from an object, by walking its
+     * references like {@code _openml_deep_size} of the shared interpreters does. Arrays copied into private memory
+     * when unpickled (e.g. the nodes of scikit-learn trees) are not mapped, so they are not counted.
+     */
+    private static final String MAPPED_BYTES_FUNCTION = "exec('''\n"
+            + "def _openml_mapped_bytes(root):\n"
+            + "    import gc, types, numpy\n"
+            + "    shared = (type, types.ModuleType, types.FunctionType, types.BuiltinFunctionType)\n"
+            + "    seen = set()\n"
+            + "    size = 0\n"
+            + "    objects = [root]\n"
+            + "    while objects:\n"
+            + "        unseen = []\n"
+            + "        for obj in objects:\n"
+            + "            if not isinstance(obj, shared) and id(obj) not in seen:\n"
+            + "                seen.add(id(obj))\n"
+            + "                if isinstance(obj, numpy.memmap):\n"
+            + "                    size += obj.nbytes\n"
+            + "                unseen.append(obj)\n"
+            + "        objects = gc.get_referents(*unseen)\n"
+            + "    return size\n"
+            + "''')";
+
+    /**
+     * The directory of the uncompressed copies of compressed pickles, or {@code null} if the models are not
+     * memory-mapped.
+     */
+    private final Path memoryMapCacheDirectory;
+
+    /**
+     * Constructor with the {@link PythonModelConfig#DEFAULT default configuration}.
+     */
+    public ClassificationScikitModelLoader() {
+        super();
+        this.memoryMapCacheDirectory = null;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param config The configuration of the models loaded by this loader.
+     */
+    public ClassificationScikitModelLoader(final PythonModelConfig config) {
+        super(config);
+        this.memoryMapCacheDirectory = null;
+    }
+
+    /**
+     * Constructor of a loader whose models have their numpy arrays memory-mapped read-only from disk
+     * ({@code joblib.load(path, mmap_mode='r')}) instead of copied into each Jep instance, so that the operating
+     * system shares a single copy of them, through its page cache, between the Jep instances of a model and between
+     * the processes that load the same model.
+     * <p>
+     * Compressed pickles cannot be mapped, so they are extracted once into an uncompressed copy in
+     * {@code memoryMapCacheDirectory}, which is kept for later loads of the same pickle. The memory saved by each
+     * model is reported by {@link ClassificationScikitModel#getMemorySavedBytes()}.
+     *
+     * @param config                  The configuration of the models loaded by this loader.
+     * @param memoryMapCacheDirectory The directory of the uncompressed copies of compressed pickles.
+     * @since @@@feedzai.next.release@@@
+     */
+    public ClassificationScikitModelLoader(final PythonModelConfig config, final Path memoryMapCacheDirectory) {
+        super(config);
+        this.memoryMapCacheDirectory = Preconditions.checkNotNull(memoryMapCacheDirectory).toAbsolutePath();
+    }
+
+    /**
+     * Checks whether the models of this loader have their numpy arrays memory-mapped from disk.
+     *
+     * @return {@code true} if the arrays are memory-mapped, {@code false} if they are copied into each Jep instance.
+     * @since @@@feedzai.next.release@@@
+     */
+    public boolean isMemoryMappingEnabled() {
+        return this.memoryMapCacheDirectory != null;
+    }
+
     @Override
     public List<ParamValidationError> validateForLoad(final Path modelPath,
                                                       final DatasetSchema schema,
@@ -63,8 +178,19 @@ public class ClassificationScikitModelLoader extends AbstractClassificationPytho
         final String modelFilePath = LoadModelUtils.getModelFilePath(modelPath).toAbsolutePath().toString();
 
         jepInstance.submitEvaluation((jep) -> {
-            jep.eval("from sklearn.externals import joblib");
-            jep.eval(String.format("%s = joblib.load('%s')", id, modelFilePath));
+            if (isMemoryMappingEnabled()) {
+                jep.eval(JOBLIB_LOAD_MAPPED_FUNCTION);
+                jep.eval(MAPPED_BYTES_FUNCTION);
+                jep.eval(String.format(
+                        "%s = _openml_joblib_load_mapped('%s', '%s')",
+                        id,
+                        modelFilePath,
+                        this.memoryMapCacheDirectory
+                ));
+            } else {
+                jep.eval("from sklearn.externals import joblib");
+                jep.eval(String.format("%s = joblib.load('%s')", id, modelFilePath));
+            }
 
             return null;
         }).get();
@@ -73,12 +199,64 @@ public class ClassificationScikitModelLoader extends AbstractClassificationPytho
 
     @Override
     protected ClassificationPythonModel getModelImpl(final DatasetSchema schema,
-                                                     final JepInstance jepInstance,
+                                                     final JepInstancePool jepInstancePool,
                                                      final String id) {
-        return new ClassificationScikitModel(
-                jepInstance,
+        final ClassificationScikitModel model = new ClassificationScikitModel(
+                jepInstancePool,
                 schema,
-                id
+                id,
+                getConfig()
         );
+        if (isMemoryMappingEnabled()) {
+            measureMappedMemory(model, jepInstancePool, id);
+        }
+        return model;
+    }
+
+    /**
+     * Compiles the model into an evaluator written in Java if the configuration
+     * {@link PythonModelConfig#isNativeEvaluationEnabled() enables it} and the model is supported, in which case
+     * the model is scored without calling Python. The Jep instances of a compiled model are kept, see
+     * {@link PythonModelConfig.Builder#withNativeEvaluation()}.
+     */
+    @Override
+    protected void postLoadLogic(final ClassificationPythonModel model,
+                                 final JepInstancePool jepInstancePool,
+                                 final String id) {
+        if (getConfig().isNativeEvaluationEnabled() && model instanceof ClassificationScikitModel) {
+            NativeEvaluators.compile(jepInstancePool.getInstances().get(0), model)
+                    .ifPresent(((ClassificationScikitModel) model)::setNativeEvaluator);
+        }
+    }
+
+    /**
+     * Measures the size of the memory-mapped arrays of a model, which are the same in each of its Jep instances. A
+     * model that cannot be measured is still loaded, without reporting its memory savings.
+     *
+     * @param model           The model.
+     * @param jepInstancePool The Jep instances where the model is loaded.
+     * @param id              The name of the variable that holds the model.
+     */
+    private void measureMappedMemory(final ClassificationScikitModel model,
+                                     final JepInstancePool jepInstancePool,
+                                     final String id) {
+        try {
+            final long mappedBytes = jepInstancePool.getInstances().get(0).submitEvaluation(
+                    jep -> ((Number) jep.getValue(String.format("_openml_mapped_bytes(%s)", id))).longValue()
+            ).get();
+            model.setMemoryMapping(mappedBytes, jepInstancePool.getInstances().size());
+            logger.info(
+                    "Model {} maps {} bytes of arrays from disk, saving {} bytes across its {} Jep instance(s).",
+                    id,
+                    mappedBytes,
+                    model.getMemorySavedBytes(),
+                    jepInstancePool.getInstances().size()
+            );
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while measuring the memory-mapped arrays of the model {}.", id);
+        } catch (final ExecutionException e) {
+            logger.warn("Could not measure the memory-mapped arrays of the model {}.", id, e);
+        }
     }
 }
@@ -0,0 +1,336 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.scikit.evaluator;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates linear classifiers: the decision function of each class is the dot product of the features with the
+ * coefficients of the class plus its intercept, and a link function turns the decision functions into a class
+ * distribution like the {@code predict_proba} of the model does. Binary models have a single decision function,
+ * for the second class.
+ * <p>
+ * Calibrated models ({@code CalibratedClassifierCV}) are ensembles of linear classifiers, one per cross-validation
+ * fold, whose decision functions are turned into probabilities by a sigmoid calibration of each class. The class
+ * distributions of the members of the ensemble are averaged.
+ * <p>
+ * The coefficients of each member are stored in a single row-major array, so computing the decision functions is a
+ * sequential pass over contiguous memory.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+final class LinearEvaluator extends NativeEvaluator {
+
+    /**
+     * The maximum amount by which calibrated probabilities above 1 are considered rounding errors and clipped to 1,
+     * like Scikit-learn does.
+     */
+    private static final double CALIBRATION_CLIP_TOLERANCE = 1e-5;
+
+    /**
+     * How the decision functions are turned into a class distribution.
+     */
+    enum Link {
+
+        /**
+         * The logistic function of each decision function, normalized to sum 1 for multi-class models (one-vs-rest
+         * logistic regression and {@code SGDClassifier} with the log-loss).
+         */
+        LOGISTIC,
+
+        /**
+         * The softmax of the decision functions (multinomial logistic regression), where a binary model has the
+         * decision functions {@code -d} and {@code d}.
+         */
+        SOFTMAX,
+
+        /**
+         * The decision functions clipped to [-1, 1] and mapped to [0, 1], normalized to sum 1 for multi-class models
+         * ({@code SGDClassifier} with the modified Huber loss).
+         */
+        MODIFIED_HUBER,
+
+        /**
+         * The sigmoid calibration of each decision function, {@code 1 / (1 + exp(a * d + b))}, normalized to sum 1 for
+         * multi-class models ({@code CalibratedClassifierCV} with the sigmoid method).
+         */
+        CALIBRATED
+    }
+
+    /**
+     * How the decision functions are turned into a class distribution.
+     */
+    private final Link link;
+
+    /**
+     * The number of features of the instances.
+     */
+    private final int numberFeatures;
+
+    /**
+     * The number of decision functions of each member: 1 for binary models, the number of classes otherwise.
+     */
+    private final int numberFunctions;
+
+    /**
+     * The number of members of the ensemble, 1 for models that are not calibrated.
+     */
+    private final int numberMembers;
+
+    /**
+     * The coefficients of each decision function of each member, in row-major order.
+     */
+    private final double[] coefficients;
+
+    /**
+     * The intercept of each decision function of each member.
+     */
+    private final double[] intercepts;
+
+    /**
+     * The slope {@code a} of the sigmoid calibration of each decision function of each member, for
+     * {@link Link#CALIBRATED}.
+     */
+    private final double[] calibrationSlopes;
+
+    /**
+     * The offset {@code b} of the sigmoid calibration of each decision function of each member, for
+     * {@link Link#CALIBRATED}.
+     */
+    private final double[] calibrationOffsets;
+
+    /**
+     * The buffer of each thread where the class distribution of a member of an ensemble is computed.
+     */
+    private final ThreadLocal<double[]> memberDistributions;
+
+    /**
+     * Constructor.
+     *
+     * @param classIndexes       The index in the target field's schema of each class of the model.
+     * @param link               How the decision functions are turned into a class distribution.
+     * @param numberFeatures     The number of features of the instances.
+     * @param coefficients       The coefficients of each decision function of each member, in row-major order.
+     * @param intercepts         The intercept of each decision function of each member.
+     * @param calibrationSlopes  The slope of the sigmoid calibration of each decision function of each member, empty
+     *                           unless the link is {@link Link#CALIBRATED}.
+     * @param calibrationOffsets The offset of the sigmoid calibration of each decision function of each member, empty
+     *                           unless the link is {@link Link#CALIBRATED}.
+     */
+    LinearEvaluator(final int[] classIndexes,
+                    final Link link,
+                    final int numberFeatures,
+                    final double[] coefficients,
+                    final double[] intercepts,
+                    final double[] calibrationSlopes,
+                    final double[] calibrationOffsets) {
+        super(classIndexes);
+        final int numberClasses = classIndexes.length;
+        Preconditions.checkArgument(numberClasses >= 2, "A classifier needs at least 2 classes. Got %s", numberClasses);
+
+        this.link = link;
+        this.numberFeatures = numberFeatures;
+        this.numberFunctions = numberClasses == 2 ? 1 : numberClasses;
+        Preconditions.checkArgument(
+                intercepts.length > 0 && intercepts.length % this.numberFunctions == 0,
+                "Each member needs %s intercepts. Got %s in total",
+                this.numberFunctions,
+                intercepts.length
+        );
+        this.numberMembers = intercepts.length / this.numberFunctions;
+        Preconditions.checkArgument(
+                coefficients.length == intercepts.length * numberFeatures,
+                "Each decision function needs %s coefficients. Got %s for %s functions",
+                numberFeatures,
+                coefficients.length,
+                intercepts.length
+        );
+        final int numberCalibrations = link == Link.CALIBRATED ? intercepts.length : 0;
+        Preconditions.checkArgument(
+                calibrationSlopes.length == numberCalibrations && calibrationOffsets.length == numberCalibrations,
+                "Wrong number of calibrations for the %s link: %s",
+                link,
+                calibrationSlopes.length
+        );
+        Preconditions.checkArgument(
+                this.numberMembers == 1 || link == Link.CALIBRATED,
+                "Only calibrated models can have many members."
+        );
+
+        this.coefficients = coefficients;
+        this.intercepts = intercepts;
+        this.calibrationSlopes = calibrationSlopes;
+        this.calibrationOffsets = calibrationOffsets;
+        this.memberDistributions = ThreadLocal.withInitial(() -> new double[numberClasses]);
+    }
+
+    @Override
+    public void getClassDistribution(final double[] features, final double[] distribution) {
+        if (this.numberMembers == 1) {
+            getMemberDistribution(0, features, distribution);
+            return;
+        }
+
+        final int numberClasses = getNumberClasses();
+        final double[] memberDistribution = this.memberDistributions.get();
+        Arrays.fill(distribution, 0, numberClasses, 0.0);
+        for (int member = 0; member < this.numberMembers; member++) {
+            getMemberDistribution(member, features, memberDistribution);
+            for (int index = 0; index < numberClasses; index++) {
+                distribution[index] += memberDistribution[index];
+            }
+        }
+        for (int index = 0; index < numberClasses; index++) {
+            distribution[index] /= this.numberMembers;
+        }
+    }
+
+    /**
+     * Gets the class distribution given by a member of the ensemble.
+     *
+     * @param member       The index of the member.
+     * @param features     The features of the instance.
+     * @param distribution The array where the class distribution is written.
+     */
+    private void getMemberDistribution(final int member, final double[] features, final double[] distribution) {
+        final int numberClasses = getNumberClasses();
+        final int firstFunction = member * this.numberFunctions;
+
+        if (this.numberFunctions == 1) {
+            final double decision = decide(firstFunction, features);
+            switch (this.link) {
+                case LOGISTIC:
+                    distribution[1] = expit(decision);
+                    break;
+                case SOFTMAX:
+                    distribution[0] = -decision;
+                    distribution[1] = decision;
+                    softmax(distribution, numberClasses);
+                    return;
+                case MODIFIED_HUBER:
+                    distribution[1] = (Math.max(-1.0, Math.min(1.0, decision)) + 1.0) / 2.0;
+                    break;
+                case CALIBRATED:
+                    distribution[1] = clipCalibrated(calibrate(firstFunction, decision));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown link " + this.link);
+            }
+            distribution[0] = 1.0 - distribution[1];
+            return;
+        }
+
+        for (int function = 0; function < numberClasses; function++) {
+            distribution[function] = decide(firstFunction + function, features);
+        }
+        switch (this.link) {
+            case LOGISTIC:
+                for (int index = 0; index < numberClasses; index++) {
+                    distribution[index] = expit(distribution[index]);
+                }
+                normalize(distribution, numberClasses);
+                break;
+            case SOFTMAX:
+                softmax(distribution, numberClasses);
+                break;
+            case MODIFIED_HUBER:
+                for (int index = 0; index < numberClasses; index++) {
+                    distribution[index] = Math.max(-1.0, Math.min(1.0, distribution[index])) + 1.0;
+                }
+                normalize(distribution, numberClasses);
+                break;
+            case CALIBRATED:
+                for (int index = 0; index < numberClasses; index++) {
+                    distribution[index] = calibrate(firstFunction + index, distribution[index]);
+                }
+                normalize(distribution, numberClasses);
+                for (int index = 0; index < numberClasses; index++) {
+                    distribution[index] = clipCalibrated(distribution[index]);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown link " + this.link);
+        }
+    }
+
+    /**
+     * Computes a decision function: the dot product of the features with its coefficients plus its intercept.
+     *
+     * @param function The index of the decision function, across all members.
+     * @param features The features of the instance.
+     * @return The value of the decision function.
+     */
+    private double decide(final int function, final double[] features) {
+        final int offset = function * this.numberFeatures;
+        double decision = 0.0;
+        for (int feature = 0; feature < this.numberFeatures; feature++) {
+            decision += this.coefficients[offset + feature] * features[feature];
+        }
+        return decision + this.intercepts[function];
+    }
+
+    /**
+     * Applies the sigmoid calibration of a decision function.
+     *
+     * @param function The index of the decision function, across all members.
+     * @param decision The value of the decision function.
+     * @return The calibrated probability.
+     */
+    private double calibrate(final int function, final double decision) {
+        return 1.0 / (1.0 + Math.exp(this.calibrationSlopes[function] * decision + this.calibrationOffsets[function]));
+    }
+
+    /**
+     * Clips calibrated probabilities that exceed 1 by a rounding error.
+     *
+     * @param probability The calibrated probability.
+     * @return The probability, clipped to 1 if it was slightly above it.
+     */
+    private static double clipCalibrated(final double probability) {
+        return probability > 1.0 && probability <= 1.0 + CALIBRATION_CLIP_TOLERANCE ? 1.0 : probability;
+    }
+
+    /**
+     * Divides non-negative values by their sum, or replaces them by a uniform distribution if they are all zero.
+     *
+     * @param values        The values, replaced by the normalized ones.
+     * @param numberClasses The number of values.
+     */
+    private static void normalize(final double[] values, final int numberClasses) {
+        double sum = 0.0;
+        for (int index = 0; index < numberClasses; index++) {
+            sum += values[index];
+        }
+        for (int index = 0; index < numberClasses; index++) {
+            values[index] = sum == 0.0 ? 1.0 / numberClasses : values[index] / sum;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("link", this.link)
+                .add("members", this.numberMembers)
+                .add("features", this.numberFeatures)
+                .add("classes", getNumberClasses())
+                .toString();
+    }
+}
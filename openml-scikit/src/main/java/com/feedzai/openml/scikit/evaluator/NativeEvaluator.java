@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.scikit.evaluator;
+
+/**
+ * An evaluator written in Java that reproduces the {@code predict_proba} and {@code predict} methods of a Scikit-learn
+ * model from the parameters extracted from it, so that the model scores instances without calling Python.
+ * <p>
+ * Evaluators are created by {@link NativeEvaluators#compile}, which only returns the ones that agree with the Python
+ * model. They are immutable and can be used by any number of threads at the same time.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public abstract class NativeEvaluator {
+
+    /**
+     * The index in the target field's schema of each class of the model, in the order of the model's
+     * {@code classes_}.
+     */
+    private final int[] classIndexes;
+
+    /**
+     * Constructor.
+     *
+     * @param classIndexes The index in the target field's schema of each class of the model, in the order of the
+     *                     model's {@code classes_}.
+     */
+    NativeEvaluator(final int[] classIndexes) {
+        this.classIndexes = classIndexes.clone();
+    }
+
+    /**
+     * Gets the number of classes of the model, which is the length of each class distribution.
+     *
+     * @return The number of classes.
+     */
+    public int getNumberClasses() {
+        return this.classIndexes.length;
+    }
+
+    /**
+     * Gets the class probability distribution of an instance, as returned by {@code predict_proba}.
+     *
+     * @param features     The values of the predictive (i.e. non-target) fields of the instance, in the order of the
+     *                     schema, with categorical values encoded as the index of the value in the field's schema.
+     * @param distribution The array where the class distribution is written, with at least
+     *                     {@link #getNumberClasses()} positions.
+     */
+    public abstract void getClassDistribution(double[] features, double[] distribution);
+
+    /**
+     * Gets the index in the target field's schema of the class the model predicts for a class distribution, which is
+     * the most probable class, the one with the lowest index in case of ties.
+     *
+     * @param distribution The class distribution returned by {@link #getClassDistribution(double[], double[])}.
+     * @return The index of the predicted class.
+     */
+    public int getClassIndex(final double[] distribution) {
+        int maxIndex = 0;
+        for (int index = 1; index < this.classIndexes.length; index++) {
+            if (distribution[index] > distribution[maxIndex]) {
+                maxIndex = index;
+            }
+        }
+        return this.classIndexes[maxIndex];
+    }
+
+    /**
+     * Gets values of a feature that lie on the decision boundaries of the model, around which the instances used to
+     * check the evaluator against the Python model are generated.
+     *
+     * @param feature The index of the feature.
+     * @return The values of the feature, empty if the evaluator has no particular values for it.
+     */
+    double[] getBoundaryValues(final int feature) {
+        return new double[0];
+    }
+
+    /**
+     * The logistic function.
+     *
+     * @param value The value.
+     * @return {@code 1 / (1 + exp(-value))}.
+     */
+    protected static double expit(final double value) {
+        return 1.0 / (1.0 + Math.exp(-value));
+    }
+
+    /**
+     * Turns scores into probabilities with the softmax function, subtracting the highest score first so that the
+     * exponentials do not overflow.
+     *
+     * @param scores        The scores, replaced by the probabilities.
+     * @param numberClasses The number of scores.
+     */
+    protected static void softmax(final double[] scores, final int numberClasses) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int index = 0; index < numberClasses; index++) {
+            max = Math.max(max, scores[index]);
+        }
+        double sum = 0.0;
+        for (int index = 0; index < numberClasses; index++) {
+            scores[index] = Math.exp(scores[index] - max);
+            sum += scores[index];
+        }
+        for (int index = 0; index < numberClasses; index++) {
+            scores[index] /= sum;
+        }
+    }
+}
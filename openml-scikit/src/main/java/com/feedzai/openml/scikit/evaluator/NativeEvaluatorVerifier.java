@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.scikit.evaluator;
+
+import com.feedzai.openml.data.Instance;
+import com.feedzai.openml.data.schema.AbstractValueSchema;
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.python.ClassificationPythonModel;
+import com.feedzai.openml.python.SyntheticInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that a {@link NativeEvaluator} agrees with the Python model it was compiled from, by scoring generated
+ * instances with both.
+ * <p>
+ * The values of the categorical fields are random categories. The values of the other fields are mostly taken from
+ * the {@link NativeEvaluator#getBoundaryValues(int) decision boundaries} of the evaluator, exactly or at the closest
+ * float on either side of them, where a wrong comparison would send an instance the wrong way, and otherwise drawn
+ * from a standard normal distribution.
+ * <p>
+ * The class distributions must be equal up to {@link #TOLERANCE}, which absorbs the float32 arithmetic of some models
+ * (e.g. XGBoost), and the predicted classes must be equal unless the two most probable classes are tied within that
+ * tolerance.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+final class NativeEvaluatorVerifier {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(NativeEvaluatorVerifier.class);
+
+    /**
+     * The number of generated instances.
+     */
+    private static final int NUMBER_INSTANCES = 1000;
+
+    /**
+     * The maximum difference between the probabilities of a class given by the evaluator and by the Python model.
+     */
+    private static final double TOLERANCE = 1e-5;
+
+    /**
+     * The model the evaluator was compiled from.
+     */
+    private final ClassificationPythonModel model;
+
+    /**
+     * The evaluator to check.
+     */
+    private final NativeEvaluator evaluator;
+
+    /**
+     * Generates the values of the instances.
+     */
+    private final Random random;
+
+    /**
+     * Constructor.
+     *
+     * @param model     The model the evaluator was compiled from.
+     * @param evaluator The evaluator to check.
+     */
+    NativeEvaluatorVerifier(final ClassificationPythonModel model, final NativeEvaluator evaluator) {
+        this.model = model;
+        this.evaluator = evaluator;
+        this.random = new Random(0);
+    }
+
+    /**
+     * Checks the evaluator against the Python model, logging the first disagreement.
+     *
+     * @return {@code true} if they agree on every generated instance, {@code false} otherwise.
+     */
+    boolean verify() {
+        final List<SyntheticInstance> instances = generateInstances();
+
+        final double[][] expectedDistributions;
+        final int[] expectedClasses;
+        try {
+            expectedDistributions = this.model.getClassDistributions(instances);
+            expectedClasses = this.model.classifyAll(instances);
+        } catch (final RuntimeException e) {
+            logger.warn("Could not score the instances to check the Java evaluator of the model {}.", this.model.getId(), e);
+            return false;
+        }
+
+        final double[] distribution = new double[this.evaluator.getNumberClasses()];
+        for (int index = 0; index < instances.size(); index++) {
+            final double[] features = getFeatures(instances.get(index));
+            final double[] expected = expectedDistributions[index];
+            this.evaluator.getClassDistribution(features, distribution);
+
+            if (!isClose(distribution, expected)) {
+                logger.warn(
+                        "The Java evaluator of the model {} gives the class distribution {} to the features {}, but the model gives {}.",
+                        this.model.getId(),
+                        Arrays.toString(distribution),
+                        Arrays.toString(features),
+                        Arrays.toString(expected)
+                );
+                return false;
+            }
+
+            final int classIndex = this.evaluator.getClassIndex(distribution);
+            if (classIndex != expectedClasses[index] && !isTied(expected)) {
+                logger.warn(
+                        "The Java evaluator of the model {} gives the class {} to the features {}, but the model gives {}.",
+                        this.model.getId(),
+                        classIndex,
+                        Arrays.toString(features),
+                        expectedClasses[index]
+                );
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether two class distributions are equal up to the tolerance.
+     *
+     * @param actual   The class distribution given by the evaluator.
+     * @param expected The class distribution given by the Python model.
+     * @return {@code true} if the distributions are close, {@code false} otherwise.
+     */
+    private static boolean isClose(final double[] actual, final double[] expected) {
+        if (actual.length != expected.length) {
+            return false;
+        }
+        for (int index = 0; index < actual.length; index++) {
+            if (!(Math.abs(actual[index] - expected[index]) <= TOLERANCE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether the two most probable classes of a class distribution are tied up to the tolerance, in which
+     * case the predicted class depends on rounding.
+     *
+     * @param distribution The class distribution.
+     * @return {@code true} if the most probable classes are tied, {@code false} otherwise.
+     */
+    private static boolean isTied(final double[] distribution) {
+        final double[] sorted = distribution.clone();
+        Arrays.sort(sorted);
+        return sorted.length > 1 && sorted[sorted.length - 1] - sorted[sorted.length - 2] <= TOLERANCE;
+    }
+
+    /**
+     * Generates the instances scored by the evaluator and by the Python model.
+     *
+     * @return The instances.
+     */
+    private List<SyntheticInstance> generateInstances() {
+        final DatasetSchema schema = this.model.getSchema();
+        final List<FieldSchema> fields = schema.getFieldSchemas();
+        final int targetIndex = getTargetIndex();
+
+        final List<double[]> boundaryValues = new ArrayList<>();
+        for (int feature = 0; feature < fields.size() - 1; feature++) {
+            boundaryValues.add(this.evaluator.getBoundaryValues(feature));
+        }
+
+        final List<SyntheticInstance> instances = new ArrayList<>(NUMBER_INSTANCES);
+        for (int count = 0; count < NUMBER_INSTANCES; count++) {
+            final double[] values = new double[fields.size()];
+            int feature = 0;
+            for (int field = 0; field < fields.size(); field++) {
+                final AbstractValueSchema valueSchema = fields.get(field).getValueSchema();
+                if (valueSchema instanceof CategoricalValueSchema) {
+                    values[field] = this.random.nextInt(((CategoricalValueSchema) valueSchema).getNominalValues().size());
+                } else if (field != targetIndex) {
+                    values[field] = generateValue(boundaryValues.get(feature));
+                }
+                if (field != targetIndex) {
+                    feature++;
+                }
+            }
+            instances.add(new SyntheticInstance(schema, values));
+        }
+        return instances;
+    }
+
+    /**
+     * Gets the features that the predictive fields of an instance are encoded into.
+     *
+     * @param instance The instance.
+     * @return The values of the predictive fields.
+     */
+    private double[] getFeatures(final Instance instance) {
+        final int numberFields = this.model.getSchema().getFieldSchemas().size();
+        final int targetIndex = getTargetIndex();
+        final double[] features = new double[numberFields - 1];
+        int feature = 0;
+        for (int field = 0; field < numberFields; field++) {
+            if (field != targetIndex) {
+                features[feature++] = instance.getValue(field);
+            }
+        }
+        return features;
+    }
+
+    /**
+     * Gets the index of the target field in the schema of the model.
+     *
+     * @return The index of the target field.
+     */
+    private int getTargetIndex() {
+        return this.model.getSchema().getTargetIndex()
+                .orElseThrow(() -> new IllegalArgumentException("Classification models need a target field."));
+    }
+
+    /**
+     * Generates the value of a non-categorical feature.
+     *
+     * @param boundaryValues The values of the feature on the decision boundaries of the evaluator.
+     * @return The value.
+     */
+    private double generateValue(final double[] boundaryValues) {
+        if (boundaryValues.length == 0 || this.random.nextInt(4) == 0) {
+            return this.random.nextGaussian();
+        }
+
+        final double boundary = boundaryValues[this.random.nextInt(boundaryValues.length)];
+        switch (this.random.nextInt(3)) {
+            case 0:
+                return Math.nextDown((float) boundary);
+            case 1:
+                return Math.nextUp((float) boundary);
+            default:
+                return boundary;
+        }
+    }
+}
@@ -0,0 +1,521 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.scikit.evaluator;
+
+import com.feedzai.openml.data.schema.CategoricalValueSchema;
+import com.feedzai.openml.data.schema.DatasetSchema;
+import com.feedzai.openml.data.schema.FieldSchema;
+import com.feedzai.openml.python.ClassificationPythonModel;
+import com.feedzai.openml.python.jep.instance.JepInstance;
+import com.google.common.collect.ImmutableList;
+import jep.Jep;
+import jep.JepException;
+import jep.NDArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Compiles loaded Scikit-learn models into {@link NativeEvaluator evaluators} written in Java.
+ * <p>
+ * The parameters of the model are extracted in one of its Jep instances into flat Numpy arrays, from which the
+ * evaluator is built, and the evaluator is then checked against the Python model on generated instances. These
+ * models are supported:
+ * <ul>
+ * <li>{@code DecisionTreeClassifier}, {@code ExtraTreeClassifier}, {@code RandomForestClassifier} and
+ * {@code ExtraTreesClassifier}, whose trees' class distributions are averaged;</li>
+ * <li>{@code GradientBoostingClassifier} with the log-loss;</li>
+ * <li>{@code XGBClassifier} with the {@code binary:logistic} or {@code multi:softprob} objectives (the former
+ * being switched to the latter by the classifier when there are more than 2 classes);</li>
+ * <li>{@code LogisticRegression}, one-vs-rest or multinomial;</li>
+ * <li>{@code SGDClassifier} with the log-loss or the modified Huber loss;</li>
+ * <li>{@code CalibratedClassifierCV} with the sigmoid method over linear classifiers (e.g. {@code LinearSVC}).</li>
+ * </ul>
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public final class NativeEvaluators {
+
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(NativeEvaluators.class);
+
+    /**
+     * Suffix of the name of the global variable where the parameters of a model (whose variable is the prefix) are
+     * extracted, which is removed along with the other variables of the model when it is closed.
+     */
+    private static final String PARAMETERS_SUFFIX = "_native_parameters";
+
+    /**
+     * Python code that defines a function that extracts the trees of a supported ensemble into a dictionary of flat
+     * arrays, or returns {@code None} for other models.
+     * <p>
+     * The nodes of all the trees are concatenated, with the children pointing to the position of the nodes in the
+     * concatenation and the left child of each leaf pointing to its values as {@code -1 - leafIndex}. The thresholds
+     * of XGBoost, which sends a feature to the left when it is strictly lower than the (float32) threshold, are
+     * replaced by the float32 right below them, so that every node sends a feature to the left when it is lower than
+     * or equal to its threshold like Scikit-learn does. Gradient boosting leaves are scaled by the learning rate.
+     */
+    private static final String TREE_EXTRACTION_FUNCTION = "exec('''\n"
+            + "def _openml_extract_trees(model):\n"
+            + "    import json, math, numpy\n"
+            + "    name = type(model).__name__\n"
+            + "    keys = ('features', 'thresholds', 'missing_left', 'left', 'right', 'leaf_values')\n"
+            + "    parts = dict((key, []) for key in keys)\n"
+            + "    roots = []\n"
+            + "    tree_classes = []\n"
+            + "    counts = [0, 0]\n"
+            + "    def add(feature, threshold, missing_left, left, right, values, tree_class):\n"
+            + "        leaf = left == -1\n"
+            + "        leaf_ids = numpy.cumsum(leaf) - 1 + counts[1]\n"
+            + "        roots.append(counts[0])\n"
+            + "        tree_classes.append(tree_class)\n"
+            + "        parts['features'].append(numpy.where(leaf, -1, feature))\n"
+            + "        parts['thresholds'].append(numpy.where(leaf, 0.0, threshold))\n"
+            + "        parts['missing_left'].append(numpy.where(leaf, False, missing_left))\n"
+            + "        parts['left'].append(numpy.where(leaf, -1 - leaf_ids, left + counts[0]))\n"
+            + "        parts['right'].append(numpy.where(leaf, -1, right + counts[0]))\n"
+            + "        parts['leaf_values'].append(values[leaf])\n"
+            + "        counts[0] += len(left)\n"
+            + "        counts[1] += int(leaf.sum())\n"
+            + "    def add_sklearn(tree, values, tree_class):\n"
+            + "        nodes = tree.__getstate__()['nodes']\n"
+            + "        if 'missing_go_to_left' in nodes.dtype.names:\n"
+            + "            missing_left = nodes['missing_go_to_left'].astype(bool)\n"
+            + "        else:\n"
+            + "            missing_left = numpy.zeros(tree.node_count, dtype=bool)\n"
+            + "        add(tree.feature, tree.threshold, missing_left, tree.children_left, tree.children_right, values, tree_class)\n"
+            + "    def add_xgboost(tree, tree_class, names):\n"
+            + "        order = []\n"
+            + "        stack = [tree]\n"
+            + "        while stack:\n"
+            + "            node = stack.pop()\n"
+            + "            order.append(node)\n"
+            + "            stack.extend(reversed(node.get('children', [])))\n"
+            + "        positions = dict((node['nodeid'], position) for position, node in enumerate(order))\n"
+            + "        size = len(order)\n"
+            + "        feature = numpy.zeros(size, dtype=numpy.int64)\n"
+            + "        threshold = numpy.zeros(size)\n"
+            + "        missing_left = numpy.zeros(size, dtype=bool)\n"
+            + "        left = numpy.full(size, -1, dtype=numpy.int64)\n"
+            + "        right = numpy.full(size, -1, dtype=numpy.int64)\n"
+            + "        values = numpy.zeros((size, 1))\n"
+            + "        for position, node in enumerate(order):\n"
+            + "            if 'leaf' in node:\n"
+            + "                values[position, 0] = node['leaf']\n"
+            + "            else:\n"
+            + "                split = node['split']\n"
+            + "                feature[position] = names.index(split) if names and split in names else int(split[1:])\n"
+            + "                threshold[position] = numpy.nextafter("
+            + "numpy.float32(node['split_condition']), numpy.float32(-numpy.inf))\n"
+            + "                missing_left[position] = node['missing'] == node['yes']\n"
+            + "                left[position] = positions[node['yes']]\n"
+            + "                right[position] = positions[node['no']]\n"
+            + "        add(feature, threshold, missing_left, left, right, values, tree_class)\n"
+            + "    def proba(tree):\n"
+            + "        values = tree.value[:, 0, :].astype(numpy.float64)\n"
+            + "        normalizer = values.sum(axis=1)[:, numpy.newaxis]\n"
+            + "        normalizer[normalizer == 0.0] = 1.0\n"
+            + "        return values / normalizer\n"
+            + "    classes = getattr(model, 'classes_', None)\n"
+            + "    if classes is None or getattr(model, 'n_outputs_', 1) != 1:\n"
+            + "        return None\n"
+            + "    if name in ('DecisionTreeClassifier', 'ExtraTreeClassifier'):\n"
+            + "        aggregation = 'average'\n"
+            + "        add_sklearn(model.tree_, proba(model.tree_), 0)\n"
+            + "        base = []\n"
+            + "    elif name in ('RandomForestClassifier', 'ExtraTreesClassifier'):\n"
+            + "        aggregation = 'average'\n"
+            + "        for estimator in model.estimators_:\n"
+            + "            add_sklearn(estimator.tree_, proba(estimator.tree_), 0)\n"
+            + "        base = []\n"
+            + "    elif name == 'GradientBoostingClassifier':\n"
+            + "        if getattr(model, 'loss', 'deviance') not in ('deviance', 'log_loss'):\n"
+            + "            return None\n"
+            + "        for stage in model.estimators_:\n"
+            + "            for tree_class, regressor in enumerate(stage):\n"
+            + "                add_sklearn(regressor.tree_, regressor.tree_.value[:, 0, :1] * model.learning_rate, tree_class)\n"
+            + "        zeros = numpy.zeros((1, getattr(model, 'n_features_in_', None) or model.n_features_))\n"
+            + "        if hasattr(model, '_raw_predict_init'):\n"
+            + "            base = numpy.ravel(model._raw_predict_init(zeros))\n"
+            + "        else:\n"
+            + "            base = numpy.ravel(model._init_decision_function(zeros))\n"
+            + "        aggregation = 'logistic' if model.estimators_.shape[1] == 1 else 'softmax'\n"
+            + "    elif name == 'XGBClassifier':\n"
+            + "        objective = getattr(model, 'objective', None)\n"
+            + "        if objective == 'binary:logistic' and len(classes) > 2:\n"
+            + "            objective = 'multi:softprob'\n"
+            + "        if objective == 'binary:logistic' and len(classes) == 2:\n"
+            + "            aggregation, outputs = 'logistic', 1\n"
+            + "        elif objective == 'multi:softprob':\n"
+            + "            aggregation, outputs = 'softmax', len(classes)\n"
+            + "        else:\n"
+            + "            return None\n"
+            + "        booster = model.get_booster() if hasattr(model, 'get_booster') else model.booster()\n"
+            + "        base_score = getattr(model, 'base_score', None)\n"
+            + "        if base_score is None:\n"
+            + "            base_score = float(json.loads(booster.save_config())['learner']['learner_model_param']['base_score'])\n"
+            + "        base = [math.log(base_score / (1.0 - base_score))] if outputs == 1 else [base_score] * outputs\n"
+            + "        parallel = getattr(model, 'num_parallel_tree', None) or 1\n"
+            + "        for number, dump in enumerate(booster.get_dump(dump_format='json')):\n"
+            + "            add_xgboost(json.loads(dump), (number // parallel) % outputs, booster.feature_names)\n"
+            + "    else:\n"
+            + "        return None\n"
+            + "    if not roots:\n"
+            + "        return None\n"
+            + "    flat = dict((key, numpy.concatenate(parts[key])) for key in keys)\n"
+            + "    return {\n"
+            + "        'aggregation': aggregation,\n"
+            + "        'classes': [str(label) for label in classes],\n"
+            + "        'roots': numpy.asarray(roots, dtype=numpy.int32),\n"
+            + "        'tree_classes': numpy.asarray(tree_classes, dtype=numpy.int32),\n"
+            + "        'features': flat['features'].astype(numpy.int32),\n"
+            + "        'thresholds': flat['thresholds'].astype(numpy.float64),\n"
+            + "        'missing_left': flat['missing_left'].astype(numpy.int32),\n"
+            + "        'left': flat['left'].astype(numpy.int32),\n"
+            + "        'right': flat['right'].astype(numpy.int32),\n"
+            + "        'leaf_values': flat['leaf_values'].astype(numpy.float64).ravel(),\n"
+            + "        'base_scores': numpy.asarray(base, dtype=numpy.float64),\n"
+            + "    }\n"
+            + "''')";
+
+    /**
+     * Python code that defines a function that extracts the coefficients and intercepts of a supported linear
+     * classifier into a dictionary of flat arrays, or returns {@code None} for other models.
+     * <p>
+     * Calibrated classifiers are extracted as one member per calibrated classifier, each with its own coefficients,
+     * intercepts and sigmoid calibrations, concatenated in that order. The link mirrors how the {@code predict_proba}
+     * of the model turns the decision functions into probabilities in the installed Scikit-learn version.
+     */
+    private static final String LINEAR_EXTRACTION_FUNCTION = "exec('''\n"
+            + "def _openml_extract_linear(model):\n"
+            + "    import numpy\n"
+            + "    linear = ('LogisticRegression', 'SGDClassifier', 'LinearSVC', 'RidgeClassifier', 'Perceptron')\n"
+            + "    name = type(model).__name__\n"
+            + "    classes = getattr(model, 'classes_', None)\n"
+            + "    if classes is None:\n"
+            + "        return None\n"
+            + "    members = [model]\n"
+            + "    slopes = []\n"
+            + "    offsets = []\n"
+            + "    if name == 'LogisticRegression':\n"
+            + "        multi_class = getattr(model, 'multi_class', 'auto')\n"
+            + "        if multi_class in ('ovr', 'warn') or (multi_class in ('auto', 'deprecated')"
+            + " and (len(classes) <= 2 or model.solver == 'liblinear')):\n"
+            + "            link = 'logistic'\n"
+            + "        else:\n"
+            + "            link = 'softmax'\n"
+            + "    elif name == 'SGDClassifier':\n"
+            + "        if model.loss in ('log', 'log_loss'):\n"
+            + "            link = 'logistic'\n"
+            + "        elif model.loss == 'modified_huber':\n"
+            + "            link = 'modified_huber'\n"
+            + "        else:\n"
+            + "            return None\n"
+            + "    elif name == 'CalibratedClassifierCV':\n"
+            + "        link = 'calibrated'\n"
+            + "        members = []\n"
+            + "        for calibrated in model.calibrated_classifiers_:\n"
+            + "            estimator = calibrated.estimator if hasattr(calibrated, 'estimator') else calibrated.base_estimator\n"
+            + "            calibrators = calibrated.calibrators if hasattr(calibrated, 'calibrators') else calibrated.calibrators_\n"
+            + "            if type(estimator).__name__ not in linear or len(estimator.classes_) != len(classes)"
+            + " or any(type(calibrator).__name__ != '_SigmoidCalibration' for calibrator in calibrators):\n"
+            + "                return None\n"
+            + "            members.append(estimator)\n"
+            + "            slopes.extend(float(calibrator.a_) for calibrator in calibrators)\n"
+            + "            offsets.extend(float(calibrator.b_) for calibrator in calibrators)\n"
+            + "    else:\n"
+            + "        return None\n"
+            + "    coefficients = []\n"
+            + "    intercepts = []\n"
+            + "    for member in members:\n"
+            + "        coef = member.coef_.toarray() if hasattr(member.coef_, 'toarray') else member.coef_\n"
+            + "        coef = numpy.atleast_2d(numpy.asarray(coef, dtype=numpy.float64))\n"
+            + "        coefficients.append(coef.ravel())\n"
+            + "        intercepts.append(numpy.broadcast_to(numpy.ravel(member.intercept_), (coef.shape[0],)))\n"
+            + "    return {\n"
+            + "        'link': link,\n"
+            + "        'classes': [str(label) for label in classes],\n"
+            + "        'coefficients': numpy.concatenate(coefficients).astype(numpy.float64),\n"
+            + "        'intercepts': numpy.concatenate(intercepts).astype(numpy.float64),\n"
+            + "        'calibration_slopes': numpy.asarray(slopes, dtype=numpy.float64),\n"
+            + "        'calibration_offsets': numpy.asarray(offsets, dtype=numpy.float64),\n"
+            + "    }\n"
+            + "''')";
+
+    /**
+     * Names of the parameters of a tree ensemble.
+     */
+    private static final List<String> TREE_KEYS = ImmutableList.of(
+            "aggregation", "classes", "roots", "tree_classes", "features", "thresholds", "missing_left", "left", "right",
+            "leaf_values", "base_scores"
+    );
+
+    /**
+     * Names of the parameters of a linear classifier.
+     */
+    private static final List<String> LINEAR_KEYS = ImmutableList.of(
+            "link", "classes", "coefficients", "intercepts", "calibration_slopes", "calibration_offsets"
+    );
+
+    /**
+     * Private constructor of utility class.
+     */
+    private NativeEvaluators() {
+    }
+
+    /**
+     * Compiles a loaded model into an evaluator written in Java, if the model is supported and the evaluator agrees
+     * with it on generated instances.
+     * <p>
+     * Only the parameters of the model are copied in its Jep instance; the evaluator is built and verified in the
+     * calling thread. Failures are logged and never thrown, since the model can still be scored in Python.
+     *
+     * @param jepInstance A Jep instance where the model is loaded.
+     * @param model       The model.
+     * @return The evaluator, or {@link Optional#empty()} if the model must be scored in Python.
+     */
+    public static Optional<NativeEvaluator> compile(final JepInstance jepInstance,
+                                                    final ClassificationPythonModel model) {
+        try {
+            final Optional<ExtractedParameters> parameters = jepInstance.submitEvaluation(jep -> extract(jep, model)).get();
+            final Optional<NativeEvaluator> evaluator = parameters.isPresent()
+                    ? build(parameters.get(), model.getSchema())
+                    : Optional.empty();
+
+            if (!evaluator.isPresent()) {
+                logger.info("The model {} has no Java evaluator, so it is scored in Python.", model.getId());
+                return Optional.empty();
+            }
+
+            if (!new NativeEvaluatorVerifier(model, evaluator.get()).verify()) {
+                return Optional.empty();
+            }
+
+            logger.info("Model {} compiled into {}.", model.getId(), evaluator.get());
+            return evaluator;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Interrupted while compiling the model {}, which is scored in Python.", model.getId());
+            return Optional.empty();
+        } catch (final ExecutionException | RuntimeException e) {
+            logger.warn("Could not compile the model {}, which is scored in Python.", model.getId(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Extracts the parameters of a model and copies them out of Python, without interpreting them.
+     * Must be called in the thread of the Jep instance.
+     *
+     * @param jep   The Jep instance where the model is loaded.
+     * @param model The model.
+     * @return The parameters, or {@link Optional#empty()} if the model is not supported.
+     * @throws JepException If there is a problem extracting the parameters.
+     */
+    private static Optional<ExtractedParameters> extract(final Jep jep,
+                                                         final ClassificationPythonModel model) throws JepException {
+        final String parameters = model.getId() + PARAMETERS_SUFFIX;
+        jep.eval(TREE_EXTRACTION_FUNCTION);
+        jep.eval(LINEAR_EXTRACTION_FUNCTION);
+        jep.eval(String.format(
+                "%s = _openml_extract_trees(%s) or _openml_extract_linear(%s)",
+                parameters,
+                model.getId(),
+                model.getId()
+        ));
+
+        try {
+            if (Boolean.TRUE.equals(jep.getValue(parameters + " is None"))) {
+                return Optional.empty();
+            }
+
+            final boolean linear = Boolean.TRUE.equals(jep.getValue(String.format("'link' in %s", parameters)));
+            final Map<String, Object> values = new HashMap<>();
+            for (final String key : linear ? LINEAR_KEYS : TREE_KEYS) {
+                values.put(key, jep.getValue(String.format("%s['%s']", parameters, key)));
+            }
+            return Optional.of(new ExtractedParameters(linear, values));
+        } finally {
+            jep.eval("del " + parameters);
+        }
+    }
+
+    /**
+     * Builds the evaluator of a model from its extracted parameters.
+     *
+     * @param parameters The parameters of the model.
+     * @param schema     The schema of the model.
+     * @return The evaluator, or {@link Optional#empty()} if the model does not predict the classes of the target field.
+     */
+    private static Optional<NativeEvaluator> build(final ExtractedParameters parameters, final DatasetSchema schema) {
+        final Optional<int[]> classIndexes = getClassIndexes(parameters, schema);
+        if (!classIndexes.isPresent()) {
+            return Optional.empty();
+        }
+
+        final int numberFeatures = schema.getFieldSchemas().size() - 1;
+        if (parameters.linear) {
+            return Optional.of(buildLinearEvaluator(parameters, classIndexes.get(), numberFeatures));
+        }
+        return Optional.of(buildTreeEnsembleEvaluator(parameters, classIndexes.get(), numberFeatures));
+    }
+
+    /**
+     * Builds the evaluator of a tree ensemble from its extracted parameters.
+     *
+     * @param parameters     The parameters of the model.
+     * @param classIndexes   The index in the target field's schema of each class of the model.
+     * @param numberFeatures The number of features of the instances.
+     * @return The evaluator.
+     */
+    private static NativeEvaluator buildTreeEnsembleEvaluator(final ExtractedParameters parameters,
+                                                              final int[] classIndexes,
+                                                              final int numberFeatures) {
+        final int[] missingLeft = parameters.getData("missing_left");
+        final boolean[] missingLeftNodes = new boolean[missingLeft.length];
+        for (int node = 0; node < missingLeft.length; node++) {
+            missingLeftNodes[node] = missingLeft[node] != 0;
+        }
+
+        return new TreeEnsembleEvaluator(
+                classIndexes,
+                TreeEnsembleEvaluator.Aggregation.valueOf(parameters.getName("aggregation")),
+                parameters.getData("roots"),
+                parameters.getData("tree_classes"),
+                parameters.getData("features"),
+                parameters.getData("thresholds"),
+                missingLeftNodes,
+                parameters.getData("left"),
+                parameters.getData("right"),
+                parameters.getData("leaf_values"),
+                parameters.getData("base_scores"),
+                numberFeatures
+        );
+    }
+
+    /**
+     * Builds the evaluator of a linear classifier from its extracted parameters.
+     *
+     * @param parameters     The parameters of the model.
+     * @param classIndexes   The index in the target field's schema of each class of the model.
+     * @param numberFeatures The number of features of the instances.
+     * @return The evaluator.
+     */
+    private static NativeEvaluator buildLinearEvaluator(final ExtractedParameters parameters,
+                                                        final int[] classIndexes,
+                                                        final int numberFeatures) {
+        return new LinearEvaluator(
+                classIndexes,
+                LinearEvaluator.Link.valueOf(parameters.getName("link")),
+                numberFeatures,
+                parameters.getData("coefficients"),
+                parameters.getData("intercepts"),
+                parameters.getData("calibration_slopes"),
+                parameters.getData("calibration_offsets")
+        );
+    }
+
+    /**
+     * Gets the index in the target field's schema of each class of the model.
+     *
+     * @param parameters The parameters of the model.
+     * @param schema     The schema of the model.
+     * @return The index of each class, in the order of the model's classes, or {@link Optional#empty()} if the model
+     * does not predict the classes of the target field.
+     */
+    private static Optional<int[]> getClassIndexes(final ExtractedParameters parameters, final DatasetSchema schema) {
+        final List<String> classValues = schema.getTargetFieldSchema()
+                .map(FieldSchema::getValueSchema)
+                .filter(CategoricalValueSchema.class::isInstance)
+                .map(valueSchema -> (List<String>) ImmutableList.copyOf(((CategoricalValueSchema) valueSchema).getNominalValues()))
+                .orElse(ImmutableList.of());
+        final List<?> classes = (List<?>) parameters.values.get("classes");
+        if (classes.size() != classValues.size()) {
+            logger.info("The model predicts {} classes for a target field with {} classes.", classes.size(), classValues.size());
+            return Optional.empty();
+        }
+
+        final int[] classIndexes = new int[classes.size()];
+        for (int index = 0; index < classIndexes.length; index++) {
+            classIndexes[index] = classValues.indexOf(String.valueOf(classes.get(index)));
+            if (classIndexes[index] < 0) {
+                logger.info("The model predicts the class {}, which is not in the target field.", classes.get(index));
+                return Optional.empty();
+            }
+        }
+        return Optional.of(classIndexes);
+    }
+
+    /**
+     * The parameters of a model as copied out of its Jep instance, which are only interpreted in the calling thread,
+     * so that a malformed parameter fails the compilation instead of the thread of the Jep instance.
+     */
+    private static final class ExtractedParameters {
+
+        /**
+         * Whether the model is a linear classifier, instead of a tree ensemble.
+         */
+        private final boolean linear;
+
+        /**
+         * The value of each parameter, by name: strings, lists or {@link NDArray Numpy arrays}.
+         */
+        private final Map<String, Object> values;
+
+        /**
+         * Constructor.
+         *
+         * @param linear Whether the model is a linear classifier.
+         * @param values The value of each parameter, by name.
+         */
+        private ExtractedParameters(final boolean linear, final Map<String, Object> values) {
+            this.linear = linear;
+            this.values = values;
+        }
+
+        /**
+         * Gets the name of an enum constant from one of the strings of the parameters.
+         *
+         * @param key The name of the string.
+         * @return The string, in upper case.
+         */
+        private String getName(final String key) {
+            return ((String) this.values.get(key)).toUpperCase(Locale.ROOT);
+        }
+
+        /**
+         * Gets the data of one of the Numpy arrays of the parameters.
+         *
+         * @param key The name of the array.
+         * @param <T> The type of Java array of the data.
+         * @return The data of the array.
+         */
+        @SuppressWarnings("unchecked")
+        private <T> T getData(final String key) {
+            return ((NDArray<T>) this.values.get(key)).getData();
+        }
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.scikit.evaluator;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates an ensemble of decision trees compiled into flat arrays: the nodes of every tree are stored one after the
+ * other, and each tree is walked from its root by following the indexes of the children of its nodes.
+ * <p>
+ * An internal node sends an instance to its left child when the value of its feature, as a float (like Scikit-learn
+ * and XGBoost, which cast the features to float32), is less than or equal to its threshold, and missing values to the
+ * child given by the node. The left child of a leaf is {@code -1 - leafIndex}, which points to the values of the leaf,
+ * so walking a tree only needs to test the sign of the left child.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+final class TreeEnsembleEvaluator extends NativeEvaluator {
+
+    /**
+     * How the values of the leaves reached in each tree are turned into a class distribution.
+     */
+    enum Aggregation {
+
+        /**
+         * Each leaf holds a class distribution, and the distributions of all the trees are averaged (e.g. random
+         * forests).
+         */
+        AVERAGE,
+
+        /**
+         * Each leaf holds a score, and the logistic function of the sum of the scores of all the trees is the
+         * probability of the second class (e.g. binary gradient boosting).
+         */
+        LOGISTIC,
+
+        /**
+         * Each leaf holds a score for the class of its tree, and the softmax of the sum of the scores of each class is
+         * the class distribution (e.g. multi-class gradient boosting).
+         */
+        SOFTMAX
+    }
+
+    /**
+     * How the values of the leaves are turned into a class distribution.
+     */
+    private final Aggregation aggregation;
+
+    /**
+     * The node where each tree starts.
+     */
+    private final int[] roots;
+
+    /**
+     * The class whose score each tree adds to, for {@link Aggregation#SOFTMAX}.
+     */
+    private final int[] treeClasses;
+
+    /**
+     * The index of the feature tested by each internal node.
+     */
+    private final int[] features;
+
+    /**
+     * The threshold of each internal node, to which the feature is compared.
+     */
+    private final double[] thresholds;
+
+    /**
+     * Whether each internal node sends missing values to its left child.
+     */
+    private final boolean[] missingLeft;
+
+    /**
+     * The left child of each node, {@code -1 - leafIndex} for leaves.
+     */
+    private final int[] leftChildren;
+
+    /**
+     * The right child of each internal node.
+     */
+    private final int[] rightChildren;
+
+    /**
+     * The values of each leaf, {@link #leafWidth} per leaf.
+     */
+    private final double[] leafValues;
+
+    /**
+     * The number of values of each leaf: the number of classes for {@link Aggregation#AVERAGE}, 1 otherwise.
+     */
+    private final int leafWidth;
+
+    /**
+     * The initial score of each class (a single one for {@link Aggregation#LOGISTIC}), to which the scores of the
+     * trees are added.
+     */
+    private final double[] baseScores;
+
+    /**
+     * Constructor.
+     *
+     * @param classIndexes   The index in the target field's schema of each class of the model.
+     * @param aggregation    How the values of the leaves are turned into a class distribution.
+     * @param roots          The node where each tree starts.
+     * @param treeClasses    The class whose score each tree adds to.
+     * @param features       The index of the feature tested by each internal node.
+     * @param thresholds     The threshold of each internal node.
+     * @param missingLeft    Whether each internal node sends missing values to its left child.
+     * @param leftChildren   The left child of each node, {@code -1 - leafIndex} for leaves.
+     * @param rightChildren  The right child of each internal node.
+     * @param leafValues     The values of each leaf.
+     * @param baseScores     The initial score of each class.
+     * @param numberFeatures The number of features of the instances.
+     */
+    TreeEnsembleEvaluator(final int[] classIndexes,
+                          final Aggregation aggregation,
+                          final int[] roots,
+                          final int[] treeClasses,
+                          final int[] features,
+                          final double[] thresholds,
+                          final boolean[] missingLeft,
+                          final int[] leftChildren,
+                          final int[] rightChildren,
+                          final double[] leafValues,
+                          final double[] baseScores,
+                          final int numberFeatures) {
+        super(classIndexes);
+        final int numberClasses = classIndexes.length;
+        final int numberNodes = features.length;
+        Preconditions.checkArgument(roots.length > 0, "A tree ensemble needs at least one tree.");
+        Preconditions.checkArgument(treeClasses.length == roots.length, "Each tree needs a class.");
+        Preconditions.checkArgument(
+                thresholds.length == numberNodes && missingLeft.length == numberNodes
+                        && leftChildren.length == numberNodes && rightChildren.length == numberNodes,
+                "Every node needs a feature, a threshold, a missing value direction and two children."
+        );
+
+        this.leafWidth = aggregation == Aggregation.AVERAGE ? numberClasses : 1;
+        final int numberLeaves = leafValues.length / this.leafWidth;
+        Preconditions.checkArgument(leafValues.length == numberLeaves * this.leafWidth, "Every leaf needs %s values.", this.leafWidth);
+        Preconditions.checkArgument(
+                baseScores.length == (aggregation == Aggregation.SOFTMAX ? numberClasses : aggregation == Aggregation.LOGISTIC ? 1 : 0),
+                "Wrong number of base scores for %s aggregation: %s",
+                aggregation,
+                baseScores.length
+        );
+        Preconditions.checkArgument(
+                aggregation != Aggregation.LOGISTIC || numberClasses == 2,
+                "Logistic aggregation needs 2 classes. Got %s",
+                numberClasses
+        );
+
+        for (final int root : roots) {
+            checkNode(root, numberNodes);
+        }
+        for (final int treeClass : treeClasses) {
+            Preconditions.checkArgument(treeClass >= 0 && treeClass < numberClasses, "Invalid tree class %s.", treeClass);
+        }
+        for (int node = 0; node < numberNodes; node++) {
+            if (leftChildren[node] < 0) {
+                Preconditions.checkArgument(-1 - leftChildren[node] < numberLeaves, "Invalid leaf %s.", -1 - leftChildren[node]);
+            } else {
+                checkNode(leftChildren[node], numberNodes);
+                checkNode(rightChildren[node], numberNodes);
+                Preconditions.checkArgument(
+                        features[node] >= 0 && features[node] < numberFeatures,
+                        "Node %s tests the feature %s of instances with %s features.",
+                        node,
+                        features[node],
+                        numberFeatures
+                );
+            }
+        }
+
+        this.aggregation = aggregation;
+        this.roots = roots;
+        this.treeClasses = treeClasses;
+        this.features = features;
+        this.thresholds = thresholds;
+        this.missingLeft = missingLeft;
+        this.leftChildren = leftChildren;
+        this.rightChildren = rightChildren;
+        this.leafValues = leafValues;
+        this.baseScores = baseScores;
+    }
+
+    @Override
+    public void getClassDistribution(final double[] features, final double[] distribution) {
+        final int numberClasses = getNumberClasses();
+        switch (this.aggregation) {
+            case AVERAGE:
+                Arrays.fill(distribution, 0, numberClasses, 0.0);
+                for (final int root : this.roots) {
+                    final int offset = findLeaf(root, features) * numberClasses;
+                    for (int index = 0; index < numberClasses; index++) {
+                        distribution[index] += this.leafValues[offset + index];
+                    }
+                }
+                for (int index = 0; index < numberClasses; index++) {
+                    distribution[index] /= this.roots.length;
+                }
+                break;
+
+            case LOGISTIC:
+                double score = this.baseScores[0];
+                for (final int root : this.roots) {
+                    score += this.leafValues[findLeaf(root, features)];
+                }
+                final double probability = expit(score);
+                distribution[0] = 1.0 - probability;
+                distribution[1] = probability;
+                break;
+
+            case SOFTMAX:
+                System.arraycopy(this.baseScores, 0, distribution, 0, numberClasses);
+                for (int tree = 0; tree < this.roots.length; tree++) {
+                    distribution[this.treeClasses[tree]] += this.leafValues[findLeaf(this.roots[tree], features)];
+                }
+                softmax(distribution, numberClasses);
+                break;
+
+            default:
+                throw new IllegalStateException("Unknown aggregation " + this.aggregation);
+        }
+    }
+
+    @Override
+    double[] getBoundaryValues(final int feature) {
+        return Arrays.stream(indexesOfInternalNodes())
+                .filter(node -> this.features[node] == feature)
+                .mapToDouble(node -> this.thresholds[node])
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * Walks a tree with the features of an instance.
+     *
+     * @param root     The node where the tree starts.
+     * @param features The features of the instance.
+     * @return The index of the leaf reached.
+     */
+    private int findLeaf(final int root, final double[] features) {
+        int node = root;
+        int left;
+        while ((left = this.leftChildren[node]) >= 0) {
+            final double value = features[this.features[node]];
+            final boolean goesLeft = Double.isNaN(value)
+                    ? this.missingLeft[node]
+                    : (float) value <= this.thresholds[node];
+            node = goesLeft ? left : this.rightChildren[node];
+        }
+        return -1 - left;
+    }
+
+    /**
+     * Gets the indexes of the internal nodes of all the trees.
+     *
+     * @return The indexes of the nodes that are not leaves.
+     */
+    private int[] indexesOfInternalNodes() {
+        final int[] nodes = new int[this.leftChildren.length];
+        int count = 0;
+        for (int node = 0; node < this.leftChildren.length; node++) {
+            if (this.leftChildren[node] >= 0) {
+                nodes[count++] = node;
+            }
+        }
+        return Arrays.copyOf(nodes, count);
+    }
+
+    /**
+     * Checks that a node exists.
+     *
+     * @param node        The index of the node.
+     * @param numberNodes The number of nodes.
+     */
+    private static void checkNode(final int node, final int numberNodes) {
+        Preconditions.checkArgument(node >= 0 && node < numberNodes, "Invalid node %s.", node);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("aggregation", this.aggregation)
+                .add("trees", this.roots.length)
+                .add("nodes", this.features.length)
+                .add("classes", getNumberClasses())
+                .toString();
+    }
+}
@@ -22,18 +22,24 @@ import com.feedzai.openml.mocks.MockDataset;
 import com.feedzai.openml.model.ClassificationMLModel;
 import com.feedzai.openml.provider.exception.ModelLoadingException;
 import com.feedzai.openml.python.ClassificationPythonModel;
+import com.feedzai.openml.python.PythonModelConfig;
 import com.feedzai.openml.util.algorithm.MLAlgorithmEnum;
 import com.feedzai.openml.util.provider.AbstractProviderModelLoadTest;
 import com.google.common.collect.ImmutableSet;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 
+import java.nio.file.Paths;
 import java.util.Iterator;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
 /**
  * Tests for the {@link ScikitModelProvider}.
  *
@@ -96,6 +102,12 @@ public class ScikitModelProviderTest extends AbstractProviderModelLoadTest<Class
     @Rule
     public final ExpectedException exception = ExpectedException.none();
 
+    /**
+     * Folder for the uncompressed copies of the models in tests.
+     */
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     /**
      * Verifies that the {@link ClassificationMLModel#classify(Instance)} " returns the index of the greatest value in
      * the class probability distribution produced by the calling
@@ -129,6 +141,107 @@ public class ScikitModelProviderTest extends AbstractProviderModelLoadTest<Class
         loadModel(getValidAlgorithm(), NO_PROBABILITY_MODEL_FILE, TARGET_VALUES);
     }
 
+    /**
+     * Tests that a model loaded with its arrays memory-mapped from disk scores the same as when it is copied into its
+     * Jep instances. Uses the SVM, whose support vectors are numpy arrays that are actually mapped (unlike the nodes of
+     * the trees of a Random Forest, which are copied when unpickled).
+     *
+     * @throws Exception If the model cannot be loaded.
+     */
+    @Test
+    public void canLoadMemoryMappedModels() throws Exception {
+        final PythonModelConfig config = PythonModelConfig.builder().withInterpreterPoolSize(2).build();
+        final ClassificationScikitModelLoader loader = new ClassificationScikitModelLoader(
+                config,
+                this.temporaryFolder.getRoot().toPath()
+        );
+        assertThat(loader.isMemoryMappingEnabled()).isTrue();
+
+        final ClassificationPythonModel copied = getFirstModel();
+        final ClassificationScikitModel mapped = (ClassificationScikitModel) loader.loadModel(
+                Paths.get(this.getClass().getResource("/" + SVM_MODEL_FILE).getPath()),
+                TEST_SCHEMA
+        );
+        try {
+            final Instance instance = getDummyInstance();
+            assertThat(mapped.getClassDistribution(instance)).containsExactly(copied.getClassDistribution(instance));
+            assertThat(mapped.classify(instance)).isEqualTo(copied.classify(instance));
+            assertThat(mapped.getMemoryMappedBytes())
+                    .as("The size of the mapped support vectors")
+                    .isPositive();
+            // each of the 2 Jep instances would otherwise have its own copy of the mapped arrays
+            assertThat(mapped.getMemorySavedBytes()).isEqualTo(mapped.getMemoryMappedBytes());
+        } finally {
+            mapped.close();
+            copied.close();
+        }
+    }
+
+    /**
+     * Tests that a Random Forest loaded with native evaluation is scored by a Java evaluator that agrees with the
+     * Python model.
+     *
+     * @throws Exception If the model cannot be loaded.
+     */
+    @Test
+    public void canEvaluateTreesNatively() throws Exception {
+        final ClassificationScikitModelLoader loader = new ClassificationScikitModelLoader(
+                PythonModelConfig.builder().withNativeEvaluation().build()
+        );
+
+        final ClassificationPythonModel python = getSecondModel();
+        final ClassificationScikitModel compiled = (ClassificationScikitModel) loader.loadModel(
+                Paths.get(this.getClass().getResource("/" + RF_MODEL_FILE).getPath()),
+                TEST_SCHEMA
+        );
+        try {
+            assertThat(compiled.getNativeEvaluator()).isPresent();
+
+            final Iterator<Instance> instances = TEST_DATA_SET.getInstances();
+            while (instances.hasNext()) {
+                final Instance instance = instances.next();
+                assertThat(compiled.getClassDistribution(instance))
+                        .containsExactly(python.getClassDistribution(instance), within(1e-9));
+                assertThat(compiled.classify(instance)).isEqualTo(python.classify(instance));
+            }
+        } finally {
+            compiled.close();
+            python.close();
+        }
+    }
+
+    /**
+     * Tests that a kernel SVM, which has no Java evaluator, is still scored in Python when loaded with native
+     * evaluation.
+     *
+     * @throws Exception If the model cannot be loaded.
+     */
+    @Test
+    public void unsupportedModelsAreEvaluatedInPython() throws Exception {
+        final ClassificationScikitModelLoader loader = new ClassificationScikitModelLoader(
+                PythonModelConfig.builder().withNativeEvaluation().build()
+        );
+
+        final ClassificationPythonModel python = getFirstModel();
+        final ClassificationScikitModel model = (ClassificationScikitModel) loader.loadModel(
+                Paths.get(this.getClass().getResource("/" + SVM_MODEL_FILE).getPath()),
+                TEST_SCHEMA
+        );
+        try {
+            assertThat(model.getNativeEvaluator()).isEmpty();
+
+            final Iterator<Instance> instances = TEST_DATA_SET.getInstances();
+            while (instances.hasNext()) {
+                final Instance instance = instances.next();
+                assertThat(model.getClassDistribution(instance)).containsExactly(python.getClassDistribution(instance));
+                assertThat(model.classify(instance)).isEqualTo(python.classify(instance));
+            }
+        } finally {
+            model.close();
+            python.close();
+        }
+    }
+
     @Override
     public ClassificationPythonModel getFirstModel() throws ModelLoadingException {
         return loadModel(getValidAlgorithm(), getValidModelDirName(), TARGET_VALUES);
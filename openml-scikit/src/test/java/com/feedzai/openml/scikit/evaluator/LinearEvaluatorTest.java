@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.scikit.evaluator;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Contains the tests for the {@link LinearEvaluator}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class LinearEvaluatorTest {
+
+    /**
+     * The maximum difference between the expected and the actual probabilities.
+     */
+    private static final double TOLERANCE = 1e-12;
+
+    /**
+     * Tests that a binary model turns its single decision function into the probability of the second class with the
+     * logistic function, and that the classes are mapped to the target field's indexes.
+     */
+    @Test
+    public void testBinaryLogistic() {
+        final LinearEvaluator evaluator = new LinearEvaluator(
+                new int[]{1, 0},
+                LinearEvaluator.Link.LOGISTIC,
+                2,
+                new double[]{1.0, -2.0},
+                new double[]{0.5},
+                new double[0],
+                new double[0]
+        );
+
+        // 0.5 + 1.0 * 3.0 - 2.0 * 1.0 = 1.5
+        final double[] distribution = distribution(evaluator, 3.0, 1.0);
+        final double probability = 1.0 / (1.0 + Math.exp(-1.5));
+        assertThat(distribution).containsExactly(new double[]{1.0 - probability, probability}, within(TOLERANCE));
+        assertThat(evaluator.getClassIndex(distribution)).isEqualTo(0);
+    }
+
+    /**
+     * Tests that a one-vs-rest model normalizes the logistic function of each decision function to sum 1.
+     */
+    @Test
+    public void testOneVsRestLogistic() {
+        final LinearEvaluator evaluator = new LinearEvaluator(
+                new int[]{0, 1, 2},
+                LinearEvaluator.Link.LOGISTIC,
+                1,
+                new double[]{1.0, 0.0, -1.0},
+                new double[]{0.0, 1.0, 0.0},
+                new double[0],
+                new double[0]
+        );
+
+        final double[] expit = {1.0 / (1.0 + Math.exp(-2.0)), 1.0 / (1.0 + Math.exp(-1.0)), 1.0 / (1.0 + Math.exp(2.0))};
+        final double sum = expit[0] + expit[1] + expit[2];
+        final double[] distribution = distribution(evaluator, 2.0);
+        assertThat(distribution).containsExactly(
+                new double[]{expit[0] / sum, expit[1] / sum, expit[2] / sum},
+                within(TOLERANCE)
+        );
+        assertThat(evaluator.getClassIndex(distribution)).isEqualTo(0);
+    }
+
+    /**
+     * Tests that a multinomial model turns its decision functions into probabilities with the softmax function, and
+     * that a binary multinomial model uses the decision functions {@code -d} and {@code d}.
+     */
+    @Test
+    public void testSoftmax() {
+        final LinearEvaluator multiClass = new LinearEvaluator(
+                new int[]{0, 1, 2},
+                LinearEvaluator.Link.SOFTMAX,
+                1,
+                new double[]{0.0, 1.0, 2.0},
+                new double[]{0.0, 0.0, 0.0},
+                new double[0],
+                new double[0]
+        );
+
+        final double sum = 1.0 + Math.exp(1.0) + Math.exp(2.0);
+        assertThat(distribution(multiClass, 1.0)).containsExactly(
+                new double[]{1.0 / sum, Math.exp(1.0) / sum, Math.exp(2.0) / sum},
+                within(TOLERANCE)
+        );
+
+        final LinearEvaluator binary = new LinearEvaluator(
+                new int[]{0, 1},
+                LinearEvaluator.Link.SOFTMAX,
+                1,
+                new double[]{1.0},
+                new double[]{0.0},
+                new double[0],
+                new double[0]
+        );
+
+        final double probability = 1.0 / (1.0 + Math.exp(-1.0));
+        assertThat(distribution(binary, 0.5)).containsExactly(new double[]{1.0 - probability, probability}, within(TOLERANCE));
+    }
+
+    /**
+     * Tests that the modified Huber loss clips the decision functions to [-1, 1], and that a multi-class model falls
+     * back to a uniform distribution when every decision function is at most -1.
+     */
+    @Test
+    public void testModifiedHuber() {
+        final LinearEvaluator binary = new LinearEvaluator(
+                new int[]{0, 1},
+                LinearEvaluator.Link.MODIFIED_HUBER,
+                1,
+                new double[]{1.0},
+                new double[]{0.0},
+                new double[0],
+                new double[0]
+        );
+
+        assertThat(distribution(binary, 0.5)).containsExactly(new double[]{0.25, 0.75}, within(TOLERANCE));
+        assertThat(distribution(binary, 5.0)).containsExactly(new double[]{0.0, 1.0}, within(TOLERANCE));
+
+        final LinearEvaluator multiClass = new LinearEvaluator(
+                new int[]{0, 1, 2},
+                LinearEvaluator.Link.MODIFIED_HUBER,
+                1,
+                new double[]{1.0, 0.0, -1.0},
+                new double[]{0.0, -1.0, 0.0},
+                new double[0],
+                new double[0]
+        );
+
+        // Decision functions 0.5, -1.0 and -0.5 are mapped to 1.5, 0.0 and 0.5
+        assertThat(distribution(multiClass, 0.5)).containsExactly(new double[]{0.75, 0.0, 0.25}, within(TOLERANCE));
+
+        final LinearEvaluator allNegative = new LinearEvaluator(
+                new int[]{0, 1, 2},
+                LinearEvaluator.Link.MODIFIED_HUBER,
+                1,
+                new double[]{0.0, 0.0, 0.0},
+                new double[]{-2.0, -1.0, -3.0},
+                new double[0],
+                new double[0]
+        );
+
+        assertThat(distribution(allNegative, 0.0)).containsExactly(new double[]{1.0 / 3, 1.0 / 3, 1.0 / 3}, within(TOLERANCE));
+    }
+
+    /**
+     * Tests that calibrated models apply the sigmoid calibration of each member and average their distributions.
+     */
+    @Test
+    public void testCalibrated() {
+        final LinearEvaluator evaluator = new LinearEvaluator(
+                new int[]{0, 1},
+                LinearEvaluator.Link.CALIBRATED,
+                1,
+                new double[]{1.0, 2.0},
+                new double[]{0.0, 1.0},
+                new double[]{-1.0, -0.5},
+                new double[]{0.0, 0.5}
+        );
+
+        // Member 0: d = 1.0, p = 1 / (1 + exp(-1.0)); member 1: d = 3.0, p = 1 / (1 + exp(-1.5 + 0.5))
+        final double first = 1.0 / (1.0 + Math.exp(-1.0));
+        final double second = 1.0 / (1.0 + Math.exp(-1.0));
+        final double probability = (first + second) / 2.0;
+        final double[] distribution = distribution(evaluator, 1.0);
+        assertThat(distribution).containsExactly(new double[]{1.0 - probability, probability}, within(TOLERANCE));
+        assertThat(evaluator.getClassIndex(distribution)).isEqualTo(1);
+    }
+
+    /**
+     * Tests that parameters with the wrong number of coefficients or calibrations are rejected.
+     */
+    @Test
+    public void testInvalidParameters() {
+        assertThatThrownBy(() -> new LinearEvaluator(
+                new int[]{0, 1, 2},
+                LinearEvaluator.Link.SOFTMAX,
+                2,
+                new double[]{1.0, 2.0, 3.0},
+                new double[]{0.0, 0.0, 0.0},
+                new double[0],
+                new double[0]
+        )).isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> new LinearEvaluator(
+                new int[]{0, 1},
+                LinearEvaluator.Link.CALIBRATED,
+                1,
+                new double[]{1.0},
+                new double[]{0.0},
+                new double[0],
+                new double[0]
+        )).isInstanceOf(IllegalArgumentException.class);
+
+        assertThatThrownBy(() -> new LinearEvaluator(
+                new int[]{0, 1},
+                LinearEvaluator.Link.LOGISTIC,
+                1,
+                new double[]{1.0, 2.0},
+                new double[]{0.0, 0.0},
+                new double[0],
+                new double[0]
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Gets the class distribution of the given features.
+     *
+     * @param evaluator The evaluator.
+     * @param features  The features.
+     * @return The class distribution.
+     */
+    private static double[] distribution(final LinearEvaluator evaluator, final double... features) {
+        final double[] distribution = new double[evaluator.getNumberClasses()];
+        evaluator.getClassDistribution(features, distribution);
+        return distribution;
+    }
+}
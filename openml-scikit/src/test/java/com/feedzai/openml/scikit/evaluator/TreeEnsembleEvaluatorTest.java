@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Feedzai
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.feedzai.openml.scikit.evaluator;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Contains the tests for the {@link TreeEnsembleEvaluator}.
+ *
+ * @author Feedzai OpenML Cluster
+ * @since @@@feedzai.next.release@@@
+ */
+public class TreeEnsembleEvaluatorTest {
+
+    /**
+     * The maximum difference between the expected and the actual probabilities.
+     */
+    private static final double TOLERANCE = 1e-12;
+
+    /**
+     * Tests that the class distributions of the trees are averaged, and that each node sends a feature to the left
+     * when its float value is lower than or equal to the threshold and missing values to the side given by the node.
+     */
+    @Test
+    public void testAverage() {
+        // Tree 0 splits the feature 0 at 0.5, tree 1 splits the feature 1 at 2.0 and sends missing values to the left
+        final TreeEnsembleEvaluator evaluator = new TreeEnsembleEvaluator(
+                new int[]{0, 1},
+                TreeEnsembleEvaluator.Aggregation.AVERAGE,
+                new int[]{0, 3},
+                new int[]{0, 0},
+                new int[]{0, -1, -1, 1, -1, -1},
+                new double[]{0.5, 0, 0, 2.0, 0, 0},
+                new boolean[]{false, false, false, true, false, false},
+                new int[]{1, -1, -2, 4, -3, -4},
+                new int[]{2, -1, -1, 5, -1, -1},
+                new double[]{1.0, 0.0, 0.25, 0.75, 0.5, 0.5, 0.0, 1.0},
+                new double[0],
+                2
+        );
+
+        assertThat(distribution(evaluator, 0.5, 2.0)).containsExactly(new double[]{0.75, 0.25}, within(TOLERANCE));
+        assertThat(distribution(evaluator, Math.nextUp(0.5f), 3.0)).containsExactly(new double[]{0.125, 0.875}, within(TOLERANCE));
+        assertThat(distribution(evaluator, Double.NaN, Double.NaN)).containsExactly(new double[]{0.375, 0.625}, within(TOLERANCE));
+        // 0.50000001 is rounded to the float 0.5, which goes to the left
+        assertThat(distribution(evaluator, 0.50000001, 2.0)).containsExactly(new double[]{0.75, 0.25}, within(TOLERANCE));
+
+        assertThat(evaluator.getClassIndex(new double[]{0.75, 0.25})).isEqualTo(0);
+        assertThat(evaluator.getClassIndex(new double[]{0.5, 0.5})).isEqualTo(0);
+        assertThat(evaluator.getBoundaryValues(0)).containsExactly(0.5);
+        assertThat(evaluator.getBoundaryValues(1)).containsExactly(2.0);
+    }
+
+    /**
+     * Tests that the scores of the trees are added to the base score and turned into the probability of the second
+     * class with the logistic function, and that the classes are mapped to the target field's indexes.
+     */
+    @Test
+    public void testLogistic() {
+        final TreeEnsembleEvaluator evaluator = new TreeEnsembleEvaluator(
+                new int[]{1, 0},
+                TreeEnsembleEvaluator.Aggregation.LOGISTIC,
+                new int[]{0},
+                new int[]{0},
+                new int[]{0, -1, -1},
+                new double[]{0.0, 0, 0},
+                new boolean[3],
+                new int[]{1, -1, -2},
+                new int[]{2, -1, -1},
+                new double[]{-1.0, 2.0},
+                new double[]{0.5},
+                1
+        );
+
+        final double[] left = distribution(evaluator, -1.0);
+        final double probability = 1.0 / (1.0 + Math.exp(0.5));
+        assertThat(left).containsExactly(new double[]{1.0 - probability, probability}, within(TOLERANCE));
+        assertThat(evaluator.getClassIndex(left)).isEqualTo(1);
+
+        final double[] right = distribution(evaluator, 1.0);
+        assertThat(right[1]).isCloseTo(1.0 / (1.0 + Math.exp(-2.5)), within(TOLERANCE));
+        assertThat(evaluator.getClassIndex(right)).isEqualTo(0);
+    }
+
+    /**
+     * Tests that each tree adds its score to its class, and that the scores are turned into probabilities with the
+     * softmax function.
+     */
+    @Test
+    public void testSoftmax() {
+        // A single leaf tree per class
+        final TreeEnsembleEvaluator evaluator = new TreeEnsembleEvaluator(
+                new int[]{0, 1, 2},
+                TreeEnsembleEvaluator.Aggregation.SOFTMAX,
+                new int[]{0, 1, 2},
+                new int[]{0, 1, 2},
+                new int[]{-1, -1, -1},
+                new double[3],
+                new boolean[3],
+                new int[]{-1, -2, -3},
+                new int[]{-1, -1, -1},
+                new double[]{1.0, 2.0, 3.0},
+                new double[]{0.0, 0.0, 1000.0},
+                1
+        );
+
+        final double[] distribution = distribution(evaluator, 0.0);
+        final double sum = Math.exp(-1002.0) + Math.exp(-1001.0) + 1.0;
+        assertThat(distribution).containsExactly(
+                new double[]{Math.exp(-1002.0) / sum, Math.exp(-1001.0) / sum, 1.0 / sum},
+                within(TOLERANCE)
+        );
+        assertThat(evaluator.getClassIndex(distribution)).isEqualTo(2);
+    }
+
+    /**
+     * Tests that trees with nodes that test features the instances do not have are rejected.
+     */
+    @Test
+    public void testInvalidFeature() {
+        assertThatThrownBy(() -> new TreeEnsembleEvaluator(
+                new int[]{0, 1},
+                TreeEnsembleEvaluator.Aggregation.AVERAGE,
+                new int[]{0},
+                new int[]{0},
+                new int[]{3, -1, -1},
+                new double[3],
+                new boolean[3],
+                new int[]{1, -1, -2},
+                new int[]{2, -1, -1},
+                new double[]{1.0, 0.0, 0.0, 1.0},
+                new double[0],
+                2
+        )).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Gets the class distribution of the given features.
+     *
+     * @param evaluator The evaluator.
+     * @param features  The features.
+     * @return The class distribution.
+     */
+    private static double[] distribution(final TreeEnsembleEvaluator evaluator, final double... features) {
+        final double[] distribution = new double[evaluator.getNumberClasses()];
+        evaluator.getClassDistribution(features, distribution);
+        return distribution;
+    }
+}